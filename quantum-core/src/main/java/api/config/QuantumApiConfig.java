@@ -20,6 +20,17 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.context.annotation.Bean;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import model.quantumModel.quantumState.stateVector.FloatStateVector;
+import model.quantumModel.quantumState.stateVector.KernelExecutor;
+import model.quantumModel.quantumState.stateVector.MappedStateVector;
+import model.quantumModel.quantumState.stateVector.MemoryBudget;
+import model.quantumModel.quantumState.stateVector.SparseStateVector;
+import model.quantumModel.quantumState.stateVector.StateVectors;
+import model.quantumModel.quantumState.stateVector.StorageMode;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
 
 @Configuration
 public class QuantumApiConfig implements WebMvcConfigurer {
@@ -39,4 +50,38 @@ public class QuantumApiConfig implements WebMvcConfigurer {
         mapper.registerModule(new JavaTimeModule());
         return mapper;
     }
-}
\ No newline at end of file
+
+    @Bean
+    public KernelExecutor kernelExecutor(@Value("${quantum.kernel.parallelism:0}") int parallelism,
+                                         @Value("${quantum.kernel.parallel-threshold-qubits:" + KernelExecutor.DEFAULT_THRESHOLD_QUBITS + "}") int thresholdQubits,
+                                         @Value("${quantum.kernel.vectorized:false}") boolean vectorized) {
+        StateVectors.setVectorizedKernels(vectorized);
+        KernelExecutor executor = parallelism > 0
+                ? KernelExecutor.parallel(parallelism, thresholdQubits)
+                : new KernelExecutor(ForkJoinPool.commonPool(), thresholdQubits);
+        KernelExecutor.setDefault(executor);
+        return executor;
+    }
+
+    @Bean
+    public MemoryBudget memoryBudget(@Value("${quantum.memory.budget-bytes:0}") long budgetBytes,
+                                     @Value("${quantum.memory.off-heap-budget-bytes:0}") long offHeapBudgetBytes,
+                                     @Value("${quantum.memory.disk-budget-bytes:0}") long diskBudgetBytes,
+                                     @Value("${quantum.memory.heap-fraction:" + MemoryBudget.DEFAULT_HEAP_FRACTION + "}") double heapFraction,
+                                     @Value("${quantum.state.storage:DENSE}") StorageMode storageMode,
+                                     @Value("${quantum.state.mapped.directory:${java.io.tmpdir}}") String mappedDirectory,
+                                     @Value("${quantum.state.mapped.chunk-qubits:" + MappedStateVector.DEFAULT_CHUNK_QUBITS + "}") int chunkQubits,
+                                     @Value("${quantum.state.float32.drift-tolerance:" + FloatStateVector.DEFAULT_DRIFT_TOLERANCE + "}") double driftTolerance,
+                                     @Value("${quantum.state.sparse.fill-threshold:" + SparseStateVector.DEFAULT_FILL_THRESHOLD + "}") double fillThreshold) {
+        MemoryBudget derived = MemoryBudget.ofHeapFraction(heapFraction);
+        MemoryBudget budget = new MemoryBudget(budgetBytes > 0 ? budgetBytes : derived.getBudgetBytes(),
+                offHeapBudgetBytes > 0 ? offHeapBudgetBytes : derived.getOffHeapBudgetBytes(),
+                diskBudgetBytes > 0 ? diskBudgetBytes : derived.getDiskBudgetBytes());
+        MemoryBudget.setDefault(budget);
+        StateVectors.setStorageMode(storageMode);
+        StateVectors.setMappedStorage(Path.of(mappedDirectory), chunkQubits);
+        StateVectors.setFloatDriftTolerance(driftTolerance);
+        StateVectors.setSparseFillThreshold(fillThreshold);
+        return budget;
+    }
+}
@@ -23,9 +23,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 @RestController
@@ -41,6 +44,36 @@ public class MeasurementController {
         this.quantumController = controllerService.getController(); // Shared instance
     }
 
+    @PostMapping
+    @Operation(summary = "Sample repeated measurements of all qubits or of a subset")
+    public ResponseEntity<Map<String, Object>> sampleShots(@RequestParam(defaultValue = "1024") int shots,
+                                                           @RequestParam(required = false) Long seed,
+                                                           @RequestParam(required = false) int[] qubits) {
+        try {
+            long usedSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+            Map<Integer, Integer> counts = qubits == null
+                    ? quantumController.sampleShots(shots, usedSeed)
+                    : quantumController.sampleShots(qubits, shots, usedSeed);
+            int qubitCount = quantumController.getQubitCount();
+            int width = qubits == null ? qubitCount : qubits.length;
+            Map<String, Integer> histogram = new TreeMap<>();
+            counts.forEach((outcome, count) -> histogram.put(toBitString(outcome, width), count));
+            Map<String, Object> response = new HashMap<>();
+            response.put("counts", histogram);
+            response.put("shots", shots);
+            response.put("seed", usedSeed);
+            if (qubits != null) response.put("qubits", Arrays.stream(qubits).sorted().toArray());
+            response.put("qubitCount", qubitCount);
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            errorResponse.put("success", false);
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
     @PostMapping("/qubit")
     @Operation(summary = "Measure a specific qubit")
     public ResponseEntity<Map<String, Object>> measureQubit(@RequestParam int qubit) {
@@ -172,4 +205,9 @@ public class MeasurementController {
             return ResponseEntity.badRequest().body(errorResponse);
         }
     }
+
+    private static String toBitString(int outcome, int qubitCount) {
+        String bits = Integer.toBinaryString(outcome);
+        return "0".repeat(Math.max(0, qubitCount - bits.length())) + bits;
+    }
 }
\ No newline at end of file
@@ -17,9 +17,11 @@ package api.control;
 import api.dto.*;
 import api.service.CircuitService;
 import api.service.QuantumControllerService;
+import api.utils.CapacityErrors;
 import api.utils.CircuitSummary;
 import api.utils.QuantumCircuitDtoUtils;
 import control.Controller;
+import model.quantumModel.quantumState.stateVector.InsufficientCapacityException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -47,12 +49,14 @@ public class QuantumCircuitController {
 
     @PostMapping("/create")
     @Operation(summary = "Create a new quantum circuit")
-    public ResponseEntity<QuantumCircuitDto> createCircuit(
+    public ResponseEntity<?> createCircuit(
             @Parameter(description = "Number of qubits") @RequestParam int qubits) {
         try {
             quantumController.createNewCircuit(qubits);
             QuantumCircuitDto dto = CircuitService.toDto(quantumController.getCircuit());
             return ResponseEntity.ok(dto);
+        } catch (InsufficientCapacityException e) {
+            return CapacityErrors.insufficientCapacity(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -19,11 +19,18 @@ import api.service.QuantumControllerService;
 import control.Controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import model.quantumModel.quantumOperator.Hamiltonian;
+import model.quantumModel.quantumOperator.HamiltonianBuilder;
+import model.quantumModel.quantumOperator.TrotterEvolution;
+import model.quantumModel.quantumState.QuantumState;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -65,4 +72,90 @@ class QuantumStateController {
         response.put("qubits", quantumController.getQubitCount());
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/marginal")
+    @Operation(summary = "Get the marginal probabilities of a subset of qubits")
+    public ResponseEntity<Map<String, Object>> getMarginal(@RequestParam int[] qubits) {
+        try {
+            double[] marginal = quantumController.getCurrentState().getMarginalProbabilities(qubits);
+            Map<String, Object> response = new HashMap<>();
+            response.put("marginal", marginal);
+            response.put("selectedQubits", Arrays.stream(qubits).sorted().toArray());
+            response.put("qubits", quantumController.getQubitCount());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            errorResponse.put("success", false);
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    @GetMapping("/expectation")
+    @Operation(summary = "Get the expectation value of a weighted sum of Pauli strings")
+    public ResponseEntity<Map<String, Object>> getExpectation(@RequestParam String[] paulis,
+                                                              @RequestParam(required = false) double[] coefficients) {
+        try {
+            Hamiltonian hamiltonian = buildHamiltonian(paulis, coefficients);
+            QuantumState state = quantumController.getCurrentState();
+            double[] values = hamiltonian.termExpectations(state);
+            List<Map<String, Object>> terms = new ArrayList<>();
+            double expectation = 0.0;
+            for (int t = 0; t < values.length; t++) {
+                Map<String, Object> term = new HashMap<>();
+                term.put("pauli", hamiltonian.getTerm(t).toString());
+                term.put("coefficient", hamiltonian.getCoefficient(t));
+                term.put("expectation", values[t]);
+                terms.add(term);
+                expectation += hamiltonian.getCoefficient(t) * values[t];
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("expectation", expectation);
+            response.put("terms", terms);
+            response.put("passes", hamiltonian.getGroupCount());
+            response.put("qubits", quantumController.getQubitCount());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            errorResponse.put("success", false);
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    // Evolves a copy, so the circuit and its undo history keep describing the current state.
+    @GetMapping("/evolution")
+    @Operation(summary = "Get the state after Trotterized time evolution under a weighted sum of Pauli strings")
+    public ResponseEntity<Map<String, Object>> getEvolution(@RequestParam String[] paulis,
+                                                            @RequestParam(required = false) double[] coefficients,
+                                                            @RequestParam double time,
+                                                            @RequestParam(defaultValue = "2") int order,
+                                                            @RequestParam(defaultValue = "1") int steps) {
+        try {
+            Hamiltonian hamiltonian = buildHamiltonian(paulis, coefficients);
+            TrotterEvolution evolution = new TrotterEvolution(hamiltonian, order, steps);
+            QuantumState state = quantumController.getCurrentState().clone();
+            double initialEnergy = hamiltonian.expectation(state);
+            evolution.evolve(state, time);
+            Map<String, Object> response = new HashMap<>();
+            response.put("probabilities", state.getProbabilities());
+            response.put("initialEnergy", initialEnergy);
+            response.put("finalEnergy", hamiltonian.expectation(state));
+            response.put("rotations", evolution.getRotationCount());
+            response.put("qubits", quantumController.getQubitCount());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            errorResponse.put("success", false);
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    private static Hamiltonian buildHamiltonian(String[] paulis, double[] coefficients) {
+        if (coefficients != null && coefficients.length != paulis.length) throw new IllegalArgumentException("Expected " + paulis.length + " coefficients, got: " + coefficients.length);
+        HamiltonianBuilder builder = Hamiltonian.builder();
+        for (int t = 0; t < paulis.length; t++) builder.term(coefficients != null ? coefficients[t] : 1.0, paulis[t]);
+        return builder.build();
+    }
+}
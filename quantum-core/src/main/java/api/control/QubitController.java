@@ -15,7 +15,9 @@
 package api.control;
 
 import api.service.QuantumControllerService;
+import api.utils.CapacityErrors;
 import control.Controller;
+import model.quantumModel.quantumState.stateVector.InsufficientCapacityException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,6 +51,8 @@ public class QubitController {
             response.put("totalGates", quantumController.getTotalGateCount());
             response.put("success", true);
             return ResponseEntity.ok(response);
+        } catch (InsufficientCapacityException e) {
+            return CapacityErrors.insufficientCapacity(e);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
@@ -93,6 +97,8 @@ public class QubitController {
             response.put("totalGates", quantumController.getTotalGateCount());
             response.put("success", true);
             return ResponseEntity.ok(response);
+        } catch (InsufficientCapacityException e) {
+            return CapacityErrors.insufficientCapacity(e);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
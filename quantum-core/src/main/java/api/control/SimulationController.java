@@ -16,8 +16,19 @@ package api.control;
 
 import api.dto.QuantumStateDto;
 import api.service.QuantumControllerService;
+import api.utils.CapacityErrors;
 import control.Controller;
 import control.command.simulate.SimulateCommand;
+import control.command.simulate.SimulationOptions;
+import model.quantumModel.quantumCircuit.circuitOptimizer.OptimizationReport;
+import model.quantumModel.quantumNoise.NoiseModel;
+import model.quantumModel.quantumNoise.TrajectoryResult;
+import model.quantumModel.quantumState.QuantumState;
+import model.quantumModel.quantumState.densityMatrix.DensityMatrix;
+import model.quantumModel.quantumState.mps.MatrixProductState;
+import model.quantumModel.quantumState.sampling.ShotBranchingResult;
+import model.quantumModel.quantumState.stateVector.InsufficientCapacityException;
+import model.quantumModel.quantumState.stateVector.StateVector;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +37,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -33,6 +45,9 @@ import java.util.Map;
 @Tag(name = "Quantum Simulation", description = "Quantum circuit simulation")
 @CrossOrigin(origins = "*")
 public class SimulationController {
+    private static final int FULL_STATE_QUBITS = 12;
+    private static final int REPORTED_OUTCOMES = 16;
+
     private final Controller quantumController;
 
     @Autowired
@@ -54,15 +69,93 @@ public class SimulationController {
 
     @PostMapping("/run")
     @Operation(summary = "Run full simulation")
-    public ResponseEntity<Map<String, Object>> runSimulation() {
+    public ResponseEntity<Map<String, Object>> runSimulation(
+            @RequestParam(defaultValue = "false") boolean fuseSingleQubitGates,
+            @RequestParam(defaultValue = "false") boolean fuseTwoQubitBlocks,
+            @RequestParam(defaultValue = "false") boolean accumulateDiagonalGates,
+            @RequestParam(defaultValue = "0") int tileQubits,
+            @RequestParam(defaultValue = "false") boolean strictCompilation,
+            @RequestParam(defaultValue = "true") boolean stabilizerSimulation,
+            @RequestParam(defaultValue = "false") boolean matrixProductState,
+            @RequestParam(defaultValue = "64") int maxBondDimension,
+            @RequestParam(defaultValue = "1e-10") double truncationError,
+            @RequestParam(defaultValue = "false") boolean densityMatrix,
+            @RequestParam(defaultValue = "0") double depolarizingRate,
+            @RequestParam(defaultValue = "0") double amplitudeDampingRate,
+            @RequestParam(defaultValue = "0") double bitFlipRate,
+            @RequestParam(defaultValue = "0") double phaseFlipRate,
+            @RequestParam(defaultValue = "0") int trajectories,
+            @RequestParam(required = false) Long seed,
+            @RequestParam(defaultValue = "0") int shots,
+            @RequestParam(defaultValue = "false") boolean includeAmplitudes) {
         try {
-            SimulateCommand simulation = quantumController.simulate();
-            QuantumStateDto finalState = QuantumStateDto.from(simulation.getFinalState());
+            if (includeAmplitudes && quantumController.getQubitCount() > QuantumStateDto.MAX_QUBITS) {
+                throw new IllegalArgumentException("Amplitude output covers at most " + QuantumStateDto.MAX_QUBITS + " qubits, got: " + quantumController.getQubitCount());
+            }
+            SimulationOptions options = SimulationOptions.builder()
+                    .fuseSingleQubitGates(fuseSingleQubitGates)
+                    .fuseTwoQubitBlocks(fuseTwoQubitBlocks)
+                    .accumulateDiagonalGates(accumulateDiagonalGates)
+                    .tileQubits(tileQubits)
+                    .strictCompilation(strictCompilation)
+                    .stabilizerSimulation(stabilizerSimulation)
+                    .matrixProductState(matrixProductState)
+                    .maxBondDimension(maxBondDimension)
+                    .truncationError(truncationError)
+                    .densityMatrix(densityMatrix)
+                    .noiseModel(NoiseModel.builder()
+                            .depolarizing(depolarizingRate)
+                            .amplitudeDamping(amplitudeDampingRate)
+                            .bitFlip(bitFlipRate)
+                            .phaseFlip(phaseFlipRate)
+                            .build())
+                    .trajectories(trajectories)
+                    .seed(seed)
+                    .shots(shots)
+                    .build();
+            SimulateCommand simulation = quantumController.simulate(options);
+            QuantumState finalState = simulation.getFinalState();
             Map<String, Object> response = new HashMap<>();
-            response.put("finalState", finalState);
+            // Past a few qubits the amplitudes outweigh the simulation itself, so they are opt-in.
+            if (finalState == null || includeAmplitudes || finalState.getNumQubits() <= FULL_STATE_QUBITS) {
+                response.put("finalState", QuantumStateDto.from(finalState));
+            } else {
+                response.put("mostLikelyOutcomes", mostLikelyOutcomes(finalState.getStateVector()));
+            }
+            response.put("backend", simulation.getBackend());
+            MatrixProductState mps = simulation.getMatrixProductState();
+            if (mps != null) {
+                response.put("largestBondDimension", mps.getLargestBondDimension());
+                response.put("fidelityEstimate", mps.getFidelityEstimate());
+            }
+            DensityMatrix rho = simulation.getDensityMatrix();
+            if (rho != null) {
+                response.put("purity", rho.purity());
+                response.put("probabilities", rho.probabilities());
+            }
+            TrajectoryResult trajectoryResult = simulation.getTrajectoryResult();
+            if (trajectoryResult != null) {
+                response.put("counts", trajectoryResult.counts());
+                response.put("trajectories", trajectoryResult.trajectories());
+                response.put("trajectoriesPerSecond", trajectoryResult.trajectoriesPerSecond());
+            }
+            ShotBranchingResult shotBranchingResult = simulation.getShotBranchingResult();
+            if (shotBranchingResult != null) {
+                response.put("counts", shotBranchingResult.counts());
+                response.put("measurementRecords", shotBranchingResult.records());
+                response.put("shots", shotBranchingResult.shots());
+                response.put("branches", shotBranchingResult.branches());
+            }
+            OptimizationReport report = simulation.getOptimizationReport();
+            if (report != null) {
+                response.put("sweepsSaved", report.getSweepsSaved());
+                response.put("sweepsSavedByPass", report.getSweepsSavedByPass());
+            }
             response.put("success", true);
             response.put("message", "Simulation completed successfully");
             return ResponseEntity.ok(response);
+        } catch (InsufficientCapacityException e) {
+            return CapacityErrors.insufficientCapacity(e);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -70,4 +163,13 @@ public class SimulationController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
         }
     }
+
+    private static Map<String, Double> mostLikelyOutcomes(StateVector vector) {
+        Map<String, Double> outcomes = new LinkedHashMap<>();
+        for (long outcome : vector.mostLikely(REPORTED_OUTCOMES)) {
+            String bits = String.format("%" + vector.getNumQubits() + "s", Long.toBinaryString(outcome)).replace(' ', '0');
+            outcomes.put(bits, vector.probability(outcome));
+        }
+        return outcomes;
+    }
 }
\ No newline at end of file
@@ -25,6 +25,8 @@ import java.util.Objects;
 
 public class QuantumStateDto implements Serializable {
     private static final long serialVersionUID = 1L;
+    // Every amplitude becomes two objects and JSON text, so wider states are refused rather than expanded.
+    public static final int MAX_QUBITS = 20;
     @JsonProperty("amplitudes")
     private final ComplexDto[] amplitudes;
     @JsonProperty("numQubits")
@@ -50,6 +52,7 @@ public class QuantumStateDto implements Serializable {
 
     public static QuantumStateDto from(QuantumState quantumState) {
         if (quantumState == null) return new QuantumStateDto();
+        if (quantumState.getNumQubits() > MAX_QUBITS) throw new IllegalArgumentException("Amplitude output covers at most " + MAX_QUBITS + " qubits, got: " + quantumState.getNumQubits());
         Complex[] sourceAmplitudes = quantumState.getAmplitudes();
         ComplexDto[] dtoAmplitudes = new ComplexDto[sourceAmplitudes.length];
         for (int i = 0; i < sourceAmplitudes.length; i++) dtoAmplitudes[i] = ComplexDto.from(sourceAmplitudes[i]);
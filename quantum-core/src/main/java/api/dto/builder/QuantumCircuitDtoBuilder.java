@@ -17,6 +17,7 @@ package api.dto.builder;
 import api.dto.CircuitLayerDto;
 import api.dto.QuantumCircuitDto;
 import model.quantumModel.quantumCircuit.QuantumCircuit;
+import model.quantumModel.quantumState.stateVector.StateVector;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -34,7 +35,7 @@ public class QuantumCircuitDtoBuilder {
     }
 
     public QuantumCircuitDtoBuilder nQubit(int nQubit) {
-        if (nQubit < 1 || nQubit > 10) throw new IllegalArgumentException("nQubit must be between 1 and 10");
+        if (nQubit < 1 || nQubit > StateVector.MAX_QUBITS) throw new IllegalArgumentException("nQubit must be between 1 and " + StateVector.MAX_QUBITS);
         this.nQubit = nQubit;
         return this;
     }
@@ -22,6 +22,8 @@ import api.mapper.GateOperationMapper;
 import model.quantumModel.quantumCircuit.QuantumCircuit;
 import model.quantumModel.quantumCircuit.circuitModel.CircuitLayer;
 import model.quantumModel.quantumGate.GateOperation;
+import model.quantumModel.quantumState.stateVector.MemoryBudget;
+import model.quantumModel.quantumState.stateVector.StateVectors;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -66,7 +68,7 @@ public class CircuitService {
 
     public boolean validateCircuit(QuantumCircuit circuit) {
         if (circuit == null) throw new IllegalArgumentException("Circuit cannot be null");
-        if (circuit.getNQubits() < 1 || circuit.getNQubits() > 10) throw new IllegalStateException("Circuit must have between 1 and 10 qubits");
+        MemoryBudget.getDefault().checkAdmission(circuit.getNQubits(), StateVectors.getStorageMode(circuit.getNQubits()));
         for (CircuitLayer layer : circuit.getLayers()) {
             for (GateOperation operation : layer.getOperations()) {
                 for (int qubit : operation.getTargetQubits()) {
@@ -0,0 +1,37 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package api.utils;
+
+import model.quantumModel.quantumState.stateVector.InsufficientCapacityException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class CapacityErrors {
+
+    public static ResponseEntity<Map<String, Object>> insufficientCapacity(InsufficientCapacityException e) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("error", "insufficient capacity");
+        error.put("message", e.getMessage());
+        error.put("requestedQubits", e.getNumQubits());
+        error.put("maxQubits", e.getMaxQubits());
+        error.put("requiredBytes", e.getRequiredBytes());
+        error.put("budgetBytes", e.getBudgetBytes());
+        return ResponseEntity.status(HttpStatus.INSUFFICIENT_STORAGE).body(error);
+    }
+}
@@ -18,6 +18,8 @@ import api.dto.CircuitLayerDto;
 import api.dto.GateOperationDto;
 import api.dto.QuantumCircuitDto;
 import api.dto.builder.QuantumCircuitDtoBuilder;
+import model.quantumModel.quantumState.stateVector.MemoryBudget;
+import model.quantumModel.quantumState.stateVector.StateVectors;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,7 +28,7 @@ public class QuantumCircuitDtoUtils {
 
     public static boolean isValid(QuantumCircuitDto dto) {
         if (dto == null) return false;
-        if (dto.getNQubit() < 1 || dto.getNQubit() > 10) return false;
+        if (dto.getNQubit() < 1 || !MemoryBudget.getDefault().admits(dto.getNQubit(), StateVectors.getStorageMode(dto.getNQubit()))) return false;
         if (dto.getDepth() != dto.getLayers().size()) return false;
         int calculatedGateCount = dto.getLayers().stream()
                 .mapToInt(CircuitLayerDto::getOperationCount)
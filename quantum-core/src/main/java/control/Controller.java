@@ -25,6 +25,7 @@ import control.command.remover.RemoveGateCommand;
 import control.command.remover.RemoveQubitCommand;
 import control.command.gate.GateType;
 import control.command.simulate.SimulateCommand;
+import control.command.simulate.SimulationOptions;
 import model.mathModel.Matrix;
 import model.quantumModel.quantumCircuit.QuantumCircuit;
 import model.quantumModel.quantumGate.GateOperation;
@@ -32,13 +33,16 @@ import model.quantumModel.quantumGate.MeasurementOperation;
 import model.quantumModel.quantumGate.QuantumGate;
 import model.quantumModel.quantumState.QuantumState;
 import model.quantumModel.quantumState.quantumStateUtils.MeasurementResult;
+import model.quantumModel.quantumState.stateVector.MemoryBudget;
+import model.quantumModel.quantumState.stateVector.StateVector;
+import model.quantumModel.quantumState.stateVector.StateVectors;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class Controller {
     private static final int MIN_QUBITS = 1;
-    private static final int MAX_QUBITS = 10;
 
     private QuantumCircuit circuit;
     private QuantumState currentState;
@@ -195,6 +199,15 @@ public class Controller {
         return result;
     }
 
+    // Repeated shots on the current state; the state itself is not collapsed.
+    public Map<Integer, Integer> sampleShots(int shots, long seed) {
+        return currentState.measureMultiple(shots, seed);
+    }
+
+    public Map<Integer, Integer> sampleShots(int[] qubits, int shots, long seed) {
+        return currentState.measureMultiple(qubits, shots, seed);
+    }
+
     public List<MeasurementResult> getMeasurementResults() {
         return new ArrayList<>(measurementResults);
     }
@@ -237,15 +250,17 @@ public class Controller {
 
     public void createNewCircuit(int numQubits) {
         validateQubitCount(numQubits);
+        this.commandHistory.clear();
+        releaseCurrentState();
         this.circuit = new QuantumCircuit(numQubits);
         this.currentState = QuantumState.zero(numQubits);
-        this.commandHistory.clear();
     }
 
     public void clearCircuit() {
+        this.commandHistory.clear();
+        releaseCurrentState();
         this.circuit = new QuantumCircuit(circuit.getNQubits());
         this.currentState = QuantumState.zero(circuit.getNQubits());
-        this.commandHistory.clear();
     }
 
     public void clearCommandHistory() {
@@ -254,7 +269,16 @@ public class Controller {
 
     public void executeCircuit() {circuit.executeOn(currentState);}
 
-    public void resetState() {this.currentState = QuantumState.zero(circuit.getNQubits());}
+    public void resetState() {
+        releaseCurrentState();
+        this.currentState = QuantumState.zero(circuit.getNQubits());
+    }
+
+    // Off-heap states hold native memory the GC does not see, so a replaced state is freed right
+    // away unless undo or redo can still bring it back.
+    private void releaseCurrentState() {
+        if (currentState != null && !commandHistory.retains(currentState)) currentState.release();
+    }
 
     public void setInitialState(QuantumState state) {
         if (state.getNumQubits() != circuit.getNQubits()) {
@@ -263,15 +287,21 @@ public class Controller {
                             "Expected: " + circuit.getNQubits() + ", Got: " + state.getNumQubits()
             );
         }
+        if (state != currentState) releaseCurrentState();
         this.currentState = state;
     }
 
-    public SimulateCommand simulate() {
-        SimulateCommand simulateCommand = new SimulateCommand(circuit, currentState.clone());
+    public SimulateCommand simulate() {return simulate(SimulationOptions.defaults());}
+
+    public SimulateCommand simulate(SimulationOptions options) {
+        SimulateCommand simulateCommand = new SimulateCommand(circuit, currentState.clone(), options);
         simulateCommand.execute();
         simulateCommand.waitForCompletion();
         QuantumState finalState = simulateCommand.getFinalState();
-        if (finalState != null) this.currentState = finalState;
+        if (finalState != null) {
+            releaseCurrentState();
+            this.currentState = finalState;
+        }
         return simulateCommand;
     }
 
@@ -330,12 +360,13 @@ public class Controller {
     }
 
     private void validateQubitCount(int numQubits) {
-        if (numQubits < MIN_QUBITS || numQubits > MAX_QUBITS) {
+        if (numQubits < MIN_QUBITS || numQubits > StateVector.MAX_QUBITS) {
             throw new IllegalArgumentException(
-                    "Number of qubits must be between " + MIN_QUBITS + " and " + MAX_QUBITS +
+                    "Number of qubits must be between " + MIN_QUBITS + " and " + StateVector.MAX_QUBITS +
                             ", got: " + numQubits
             );
         }
+        MemoryBudget.getDefault().checkAdmission(numQubits, StateVectors.getStorageMode(numQubits));
     }
     private void validateQubitIndex(int qubit) {
         if (qubit < 0 || qubit >= getQubitCount()) throw new IllegalArgumentException("Invalid qubit index. Must be between 0 and " + (getQubitCount() - 1));
@@ -18,6 +18,7 @@ import control.command.add.AddQubitCommand;
 import control.command.ports.UndoableCommand;
 import control.command.remover.RemoveQubitCommand;
 
+import java.util.List;
 import java.util.Stack;
 import java.util.function.BiConsumer;
 
@@ -67,6 +68,25 @@ public class CommandHistory {
         redoStack.clear();
     }
 
+    // True if undoing or redoing a command could make the given state current again.
+    public boolean retains(Object state) {
+        for (Stack<UndoableCommand> stack : List.of(undoStack, redoStack)) {
+            for (UndoableCommand command : stack) {
+                switch (command) {
+                    case AddQubitCommand addCmd -> {
+                        if (addCmd.getOriginalState() == state || addCmd.getNewState() == state) return true;
+                    }
+                    case RemoveQubitCommand removeCmd -> {
+                        if (removeCmd.getOriginalState() == state || removeCmd.getNewState() == state) return true;
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
     public int getUndoStackSize() {return undoStack.size();}
 
     public int getRedoStackSize() {return redoStack.size();}
@@ -69,12 +69,12 @@ public class QasmParser implements ImportParser, ExportParser {
                 case "rz": circuit.addRZ(indices.get(0)); break;
                 case "sx": circuit.addXRoot(indices.get(0)); break;
                 case "u": circuit.addU(indices.get(0)); break;
-                case "cp": circuit.addControlled(QuantumGates.phase(), indices.get(0)); break;
-                case "crx": circuit.addControlled(QuantumGates.rx(), indices.get(0)); break;
-                case "cry": circuit.addControlled(QuantumGates.ry(), indices.get(0)); break;
-                case "crz": circuit.addControlled(QuantumGates.rz(), indices.get(0)); break;
-                case "csx": circuit.addControlled(QuantumGates.xRoot(), indices.get(0)); break;
-                case "cu": circuit.addControlled(QuantumGates.u(), indices.get(0)); break;
+                case "cp": circuit.addControlled(QuantumGates.phase(), indices.get(0), indices.get(1)); break;
+                case "crx": circuit.addControlled(QuantumGates.rx(), indices.get(0), indices.get(1)); break;
+                case "cry": circuit.addControlled(QuantumGates.ry(), indices.get(0), indices.get(1)); break;
+                case "crz": circuit.addControlled(QuantumGates.rz(), indices.get(0), indices.get(1)); break;
+                case "csx": circuit.addControlled(QuantumGates.xRoot(), indices.get(0), indices.get(1)); break;
+                case "cu": circuit.addControlled(QuantumGates.u(), indices.get(0), indices.get(1)); break;
                 case "cx": circuit.addCNOT(indices.get(0), indices.get(1)); break;
                 case "cy": circuit.addControlled(QuantumGates.y(), indices.get(0), indices.get(1)); break;
                 case "cz": circuit.addControlled(QuantumGates.z(), indices.get(0), indices.get(1)); break;
@@ -86,7 +86,7 @@ public class QasmParser implements ImportParser, ExportParser {
                 case "c4x":
                     int target = indices.get(indices.size() - 1);
                     int[] controls = indices.subList(0, indices.size() - 1).stream().mapToInt(i -> i).toArray();
-                    circuit.addControlled(QuantumGates.not(), target, controls);
+                    circuit.addMultiControlled(QuantumGates.not(), controls, target);
                     break;
                 case "measure":
                     int[] i = new int[indices.size()];
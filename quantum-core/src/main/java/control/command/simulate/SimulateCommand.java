@@ -16,27 +16,91 @@ package control.command.simulate;
 
 import model.mathModel.Complex;
 import model.quantumModel.quantumCircuit.QuantumCircuit;
+import model.quantumModel.quantumCircuit.circuitOptimizer.OptimizationReport;
+import model.quantumModel.quantumCircuit.circuitProgram.CircuitProgram;
+import model.quantumModel.quantumCircuit.circuitProgram.CliffordProgram;
+import model.quantumModel.quantumCircuit.circuitProgram.MatrixProductProgram;
+import model.quantumModel.quantumNoise.TrajectoryResult;
+import model.quantumModel.quantumNoise.TrajectorySimulator;
 import model.quantumModel.quantumState.QuantumState;
+import model.quantumModel.quantumState.densityMatrix.DensityMatrix;
+import model.quantumModel.quantumState.mps.MatrixProductState;
 import model.quantumModel.quantumState.quantumStateUtils.MeasurementResult;
+import model.quantumModel.quantumState.sampling.ShotBranchingResult;
+import model.quantumModel.quantumState.sampling.ShotBranchingSimulator;
+import model.quantumModel.quantumState.stabilizer.StabilizerSampler;
+import model.quantumModel.quantumState.stabilizer.StabilizerState;
+import model.quantumModel.quantumState.stateVector.SparseStateVector;
+import model.quantumModel.quantumState.stateVector.StateVector;
+import model.quantumModel.quantumState.stateVector.StateVectors;
+import model.quantumModel.quantumState.stateVector.StorageMode;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 
 public class SimulateCommand implements SimulationCommand {
+    private static final int LOGGED_OUTCOMES = 8;
+
     private final QuantumCircuit circuit;
     private final QuantumState initialState;
+    private final SimulationOptions options;
+    private final AtomicReference<OptimizationReport> optimizationReport;
+    private final AtomicReference<CircuitProgram> program;
     private final AtomicReference<QuantumState> finalState;
+    private final AtomicReference<StabilizerState> stabilizerState;
+    private final AtomicReference<StabilizerSampler> stabilizerSampler;
+    private final AtomicReference<MatrixProductState> matrixProductState;
+    private final AtomicReference<DensityMatrix> densityMatrix;
+    private final AtomicReference<TrajectorySimulator> trajectorySimulator;
+    private final AtomicReference<TrajectoryResult> trajectoryResult;
+    private final AtomicReference<ShotBranchingSimulator> shotBranchingSimulator;
+    private final AtomicReference<ShotBranchingResult> shotBranchingResult;
+    private final boolean stabilizerEligible;
+    private final boolean matrixProductEligible;
+    private final long initialBasis;
     private final AtomicBoolean isRunning;
     private final AtomicBoolean isPaused;
     private CompletableFuture<Void> simulationFuture;
 
     public SimulateCommand(QuantumCircuit circuit, QuantumState initialState) {
+        this(circuit, initialState, SimulationOptions.defaults());
+    }
+
+    public SimulateCommand(QuantumCircuit circuit, QuantumState initialState, SimulationOptions options) {
         this.circuit = validateCircuit(circuit);
-        this.initialState = validateInitialState(initialState, circuit);
+        this.options = options != null ? options : SimulationOptions.defaults();
+        // Without a given state a Clifford circuit starts from |0...0> on the tableau, or any circuit
+        // on a matrix product state, which is how circuits wider than any state vector get simulated.
+        // Noise and shot branching need a state vector or density matrix, so the basis-state backends stand aside.
+        boolean stateBackend = this.options.isNoiseSimulation() || this.options.isShotBranching();
+        boolean clifford = !stateBackend && this.options.usesStabilizer(circuit);
+        boolean basisBackend = clifford || (!stateBackend && this.options.isMatrixProductState());
+        if (!basisBackend && circuit.getNQubits() > StateVector.MAX_QUBITS) {
+            throw new IllegalArgumentException("Circuits wider than " + StateVector.MAX_QUBITS + " qubits need the stabilizer backend (Clifford gates only) "
+                    + "or the matrix product state backend, got: " + circuit.getNQubits() + " qubits");
+        }
+        this.initialState = basisBackend && initialState == null ? null : validateInitialState(initialState, circuit);
+        this.initialBasis = this.initialState == null ? 0 : basisBackend ? this.initialState.getStateVector().basisIndex() : -1;
+        this.stabilizerEligible = clifford && initialBasis >= 0;
+        this.matrixProductEligible = !stabilizerEligible && !stateBackend && this.options.isMatrixProductState() && initialBasis >= 0;
+        this.optimizationReport = new AtomicReference<>();
+        this.program = new AtomicReference<>();
         this.finalState = new AtomicReference<>();
+        this.stabilizerState = new AtomicReference<>();
+        this.stabilizerSampler = new AtomicReference<>();
+        this.matrixProductState = new AtomicReference<>();
+        this.densityMatrix = new AtomicReference<>();
+        this.trajectorySimulator = new AtomicReference<>();
+        this.trajectoryResult = new AtomicReference<>();
+        this.shotBranchingSimulator = new AtomicReference<>();
+        this.shotBranchingResult = new AtomicReference<>();
         this.isRunning = new AtomicBoolean(false);
         this.isPaused = new AtomicBoolean(false);
     }
@@ -83,44 +147,268 @@ public class SimulateCommand implements SimulationCommand {
 
     public QuantumState getFinalState() {return finalState.get();}
 
+    public OptimizationReport getOptimizationReport() {return optimizationReport.get();}
+
+    public CircuitProgram getProgram() {return program.get();}
+
+    public SimulationOptions getOptions() {return options;}
+
+    // The tableau the circuit ran on, or null when it ran on a state vector.
+    public StabilizerState getStabilizerState() {return stabilizerState.get();}
+
+    public boolean usesStabilizer() {return stabilizerEligible;}
+
+    // The matrix product state the circuit ran on, or null when it ran on another backend.
+    public MatrixProductState getMatrixProductState() {return matrixProductState.get();}
+
+    public boolean usesMatrixProductState() {return matrixProductEligible;}
+
+    // The mixed state the circuit ran on; the final state stays null, as the result is not pure in general.
+    public DensityMatrix getDensityMatrix() {return densityMatrix.get();}
+
+    public boolean usesDensityMatrix() {return options.isDensityMatrix();}
+
+    // Counts and throughput of the trajectories run by the simulation, or null on other backends.
+    public TrajectoryResult getTrajectoryResult() {return trajectoryResult.get();}
+
+    // Counts and measurement records of the branched shots, or null on other backends.
+    public ShotBranchingResult getShotBranchingResult() {return shotBranchingResult.get();}
+
+    public String getBackend() {
+        if (stabilizerEligible) return "stabilizer";
+        if (matrixProductEligible) return "matrix-product-state";
+        if (options.isDensityMatrix()) return "density-matrix";
+        if (options.isTrajectorySimulation()) return "trajectories";
+        return options.isShotBranching() ? "shot-branching" : "state-vector";
+    }
+
     public MeasurementResult measure() {
+        StabilizerSampler sampler = stabilizerSampler.get();
+        if (sampler != null) {
+            checkIntegerOutcomes();
+            int outcome = (int) sampler.sample(ThreadLocalRandom.current())[0];
+            return new MeasurementResult(outcome, basisState(outcome), sampler.getOutcomeProbability());
+        }
+        MatrixProductState mps = matrixProductState.get();
+        if (mps != null) {
+            checkIntegerOutcomes();
+            synchronized (mps) {
+                long[] outcome = mps.sample(ThreadLocalRandom.current());
+                return new MeasurementResult((int) outcome[0], basisState((int) outcome[0]), Math.min(1.0, mps.probability(outcome)));
+            }
+        }
+        DensityMatrix rho = densityMatrix.get();
+        if (rho != null) {
+            int outcome = rho.sampleCounts(1, ThreadLocalRandom.current()).keySet().iterator().next();
+            return new MeasurementResult(outcome, basisState(outcome), rho.probability(outcome));
+        }
+        TrajectorySimulator simulator = trajectorySimulator.get();
+        if (simulator != null) {
+            int outcome = simulator.run(initialState, 1, ThreadLocalRandom.current().nextLong()).counts().keySet().iterator().next();
+            TrajectoryResult result = trajectoryResult.get();
+            return new MeasurementResult(outcome, basisState(outcome), result.counts().getOrDefault(outcome, 0) / (double) result.trajectories());
+        }
+        ShotBranchingSimulator branching = shotBranchingSimulator.get();
+        if (branching != null) {
+            int outcome = branching.run(initialState, 1, ThreadLocalRandom.current().nextLong()).counts().keySet().iterator().next();
+            ShotBranchingResult result = shotBranchingResult.get();
+            return new MeasurementResult(outcome, basisState(outcome), result.counts().getOrDefault(outcome, 0) / (double) result.shots());
+        }
         QuantumState state = finalState.get();
         if (state == null) throw new IllegalStateException("No simulation results available for measurement");
         return state.measure();
     }
 
     public Map<Integer, Integer> measureMultiple(int numMeasurements) {
+        StabilizerSampler sampler = stabilizerSampler.get();
+        if (sampler != null) {
+            checkIntegerOutcomes();
+            return sampler.sampleCounts(numMeasurements, ThreadLocalRandom.current());
+        }
+        MatrixProductState mps = matrixProductState.get();
+        if (mps != null) {
+            checkIntegerOutcomes();
+            synchronized (mps) {
+                return mps.sampleCounts(numMeasurements, ThreadLocalRandom.current());
+            }
+        }
+        DensityMatrix rho = densityMatrix.get();
+        if (rho != null) return rho.sampleCounts(numMeasurements, ThreadLocalRandom.current());
+        // Every noisy shot is a trajectory of its own.
+        TrajectorySimulator simulator = trajectorySimulator.get();
+        if (simulator != null) return simulator.run(initialState, numMeasurements, ThreadLocalRandom.current().nextLong()).counts();
+        ShotBranchingSimulator branching = shotBranchingSimulator.get();
+        if (branching != null) return branching.run(initialState, numMeasurements, ThreadLocalRandom.current().nextLong()).counts();
         QuantumState state = finalState.get();
         if (state == null) throw new IllegalStateException("No simulation results available for measurement");
         return state.measureMultiple(numMeasurements);
     }
 
+    // Outcome counts keyed by bit string, qubit 0 rightmost; unlike measureMultiple any width works.
+    public Map<String, Integer> measureBitStrings(int numMeasurements) {
+        StabilizerSampler sampler = stabilizerSampler.get();
+        if (sampler != null) return sampler.sampleBitStrings(numMeasurements, ThreadLocalRandom.current());
+        MatrixProductState mps = matrixProductState.get();
+        if (mps != null) {
+            synchronized (mps) {
+                return mps.sampleBitStrings(numMeasurements, ThreadLocalRandom.current());
+            }
+        }
+        Map<String, Integer> counts = new HashMap<>();
+        measureMultiple(numMeasurements).forEach((outcome, count) -> counts.put(toBitString(outcome), count));
+        return counts;
+    }
+
+    private void checkIntegerOutcomes() {
+        if (circuit.getNQubits() > 31) throw new IllegalStateException("Integer outcomes cover at most 31 qubits, got: " + circuit.getNQubits() + "; use measureBitStrings");
+    }
+
+    private QuantumState basisState(int outcome) {
+        StateVector vector = StateVectors.zero(circuit.getNQubits(), StorageMode.SPARSE);
+        vector.set(0, 0.0, 0.0);
+        vector.set(outcome, 1.0, 0.0);
+        return new QuantumState(vector);
+    }
+
     private void runSimulation() {
         try {
+            if (stabilizerEligible) {
+                runStabilizer();
+                return;
+            }
+            if (matrixProductEligible) {
+                runMatrixProductState();
+                return;
+            }
+            if (options.isDensityMatrix()) {
+                runDensityMatrix();
+                return;
+            }
+            if (options.isTrajectorySimulation()) {
+                runTrajectories();
+                return;
+            }
+            if (options.isShotBranching()) {
+                runShotBranching();
+                return;
+            }
             QuantumState state = initialState.clone();
-            circuit.executeOn(state);
+            CircuitProgram compiled = program.get();
+            if (compiled == null) {
+                OptimizationReport report = new OptimizationReport();
+                QuantumCircuit executable = options.createOptimizer().optimize(circuit, report);
+                optimizationReport.set(report);
+                compiled = options.compile(executable);
+                program.set(compiled);
+            }
+            compiled.executeOn(state, options.getTileQubits());
             finalState.set(state);
             logSimulationResults(state);
-        } catch (Exception e) {
-            System.err.println("Simulation error: " + e.getMessage());
-            e.printStackTrace();
         } finally {
             isRunning.set(false);
             isPaused.set(false);
         }
     }
 
-    private void logSimulationResults(QuantumState state) {
+    // Clifford circuits skip the optimizer: fused gates are no longer recognizable as Clifford.
+    private void runStabilizer() {
+        int numQubits = circuit.getNQubits();
+        StabilizerState tableau = StabilizerState.basis(numQubits, new long[]{initialBasis});
+        optimizationReport.set(new OptimizationReport());
+        CliffordProgram.compile(circuit).executeOn(tableau);
+        StabilizerSampler sampler = tableau.sampler();
+        stabilizerState.set(tableau);
+        stabilizerSampler.set(sampler);
+        if (initialState == null) {
+            System.out.println("Simulation completed successfully");
+            System.out.printf("Stabilizer state over %d qubits spread evenly across 2^%d basis states%n", numQubits, sampler.getRank());
+            return;
+        }
+        // Equal to the state-vector result up to a global phase, which a tableau does not track.
+        QuantumState state = tableau.toQuantumState();
+        finalState.set(state);
+        logSimulationResults(state);
+    }
+
+    private void runMatrixProductState() {
+        int numQubits = circuit.getNQubits();
+        MatrixProductState mps = MatrixProductState.basis(numQubits, new long[]{initialBasis}, options.getMaxBondDimension(), options.getTruncationError());
+        optimizationReport.set(new OptimizationReport());
+        MatrixProductProgram.compile(circuit).executeOn(mps);
+        matrixProductState.set(mps);
+        if (initialState == null) {
+            System.out.println("Simulation completed successfully");
+            System.out.printf("Matrix product state over %d qubits, largest bond dimension %d, fidelity estimate %.6f%n",
+                    numQubits, mps.getLargestBondDimension(), mps.getFidelityEstimate());
+            return;
+        }
+        QuantumState state = mps.toQuantumState();
+        finalState.set(state);
+        logSimulationResults(state);
+    }
+
+    // Fusing gates would also merge the noise that follows them, so the optimizer only runs on noiseless circuits.
+    private void runDensityMatrix() {
+        DensityMatrix rho = DensityMatrix.of(initialState);
+        OptimizationReport report = new OptimizationReport();
+        QuantumCircuit executable = options.getNoiseModel().isNoiseless() ? options.createOptimizer().optimize(circuit, report) : circuit;
+        optimizationReport.set(report);
+        CircuitProgram compiled = options.compile(DensityMatrix.vectorize(executable, options.getNoiseModel()));
+        program.set(compiled);
+        rho.run(compiled, options.getTileQubits());
+        densityMatrix.set(rho);
         System.out.println("Simulation completed successfully");
-        System.out.println("Final state: " + state.toString());
-        double[] probabilities = state.getProbabilities();
+        System.out.printf("Density matrix over %d qubits, trace %.6f, purity %.6f%n", rho.getNumQubits(), rho.trace(), rho.purity());
+        double[] probabilities = rho.probabilities();
         System.out.println("Measurement probabilities:");
         for (int i = 0; i < probabilities.length; i++) {
-            if (probabilities[i] > Complex.EPSILON) {
-                String binaryState = String.format("%" + circuit.getNQubits() + "s",
-                        Integer.toBinaryString(i)).replace(' ', '0');
-                System.out.printf("|%s⟩: %.2f%%\n", binaryState, probabilities[i] * 100);
-            }
+            if (probabilities[i] > Complex.EPSILON) System.out.printf("|%s⟩: %.2f%%\n", toBitString(i), probabilities[i] * 100);
+        }
+    }
+
+    private void runTrajectories() {
+        OptimizationReport report = new OptimizationReport();
+        QuantumCircuit executable = options.getNoiseModel().isNoiseless() ? options.createOptimizer().optimize(circuit, report) : circuit;
+        optimizationReport.set(report);
+        TrajectorySimulator simulator = new TrajectorySimulator(executable, options.getNoiseModel());
+        long seed = options.getSeed() != null ? options.getSeed() : ThreadLocalRandom.current().nextLong();
+        TrajectoryResult result = simulator.run(initialState, options.getTrajectories(), seed);
+        trajectorySimulator.set(simulator);
+        trajectoryResult.set(result);
+        System.out.println("Simulation completed successfully");
+        System.out.printf("%d trajectories on %d workers, %.1f trajectories/s%n", result.trajectories(), result.workers(), result.trajectoriesPerSecond());
+        result.counts().forEach((outcome, count) -> System.out.printf("|%s⟩: %d%n", toBitString(outcome), count));
+    }
+
+    // Measurements are barriers to every fusion pass, so the optimizer cannot move gates across them.
+    private void runShotBranching() {
+        OptimizationReport report = new OptimizationReport();
+        QuantumCircuit executable = options.createOptimizer().optimize(circuit, report);
+        optimizationReport.set(report);
+        ShotBranchingSimulator simulator = new ShotBranchingSimulator(executable);
+        long seed = options.getSeed() != null ? options.getSeed() : ThreadLocalRandom.current().nextLong();
+        ShotBranchingResult result = simulator.run(initialState, options.getShots(), seed);
+        shotBranchingSimulator.set(simulator);
+        shotBranchingResult.set(result);
+        System.out.println("Simulation completed successfully");
+        System.out.printf("%d shots over %d branches at %d measurement layers, %d state buffers%n",
+                result.shots(), result.branches(), simulator.getLayerCount(), result.buffersAllocated());
+        result.counts().forEach((outcome, count) -> System.out.printf("|%s⟩: %d%n", toBitString(outcome), count));
+    }
+
+    private String toBitString(long outcome) {
+        return String.format("%" + circuit.getNQubits() + "s", Long.toBinaryString(outcome)).replace(' ', '0');
+    }
+
+    // A bounded summary: the full state of a wide register is too large to print, or even to expand.
+    private void logSimulationResults(QuantumState state) {
+        StateVector vector = state.getStateVector();
+        long stored = vector instanceof SparseStateVector sparse ? sparse.getNonZeroCount() : vector.getDimension();
+        System.out.println("Simulation completed successfully");
+        System.out.printf("Final state: %d qubits in %s, %d stored amplitudes%n", state.getNumQubits(), vector.getClass().getSimpleName(), stored);
+        System.out.println("Most likely outcomes:");
+        for (long outcome : vector.mostLikely(LOGGED_OUTCOMES)) {
+            if (vector.probability(outcome) > Complex.EPSILON) System.out.printf("|%s⟩: %.2f%%\n", toBitString(outcome), vector.probability(outcome) * 100);
         }
     }
 
@@ -140,13 +428,17 @@ public class SimulateCommand implements SimulationCommand {
         return validatedState;
     }
 
+    // Rethrows whatever failed the run, so callers can tell a capacity error from a result.
     public void waitForCompletion() {
-        if (simulationFuture != null) {
-            try {
-                simulationFuture.get();
-            } catch (Exception e) {
-                System.err.println("Error waiting for simulation: " + e.getMessage());
-            }
+        if (simulationFuture == null) return;
+        try {
+            simulationFuture.join();
+        } catch (CancellationException e) {
+            // Aborted runs finish without a final state.
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package control.command.simulate;
+
+import model.quantumModel.quantumCircuit.QuantumCircuit;
+import model.quantumModel.quantumCircuit.circuitOptimizer.CircuitOptimizer;
+import model.quantumModel.quantumCircuit.circuitOptimizer.CircuitPass;
+import model.quantumModel.quantumCircuit.circuitOptimizer.DiagonalAccumulationPass;
+import model.quantumModel.quantumCircuit.circuitOptimizer.SingleQubitFusionPass;
+import model.quantumModel.quantumCircuit.circuitOptimizer.TwoQubitFusionPass;
+import model.quantumModel.quantumCircuit.circuitProgram.CircuitProgram;
+import model.quantumModel.quantumCircuit.circuitProgram.CliffordProgram;
+import model.quantumModel.quantumNoise.NoiseModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SimulationOptions {
+    private final boolean fuseSingleQubitGates;
+    private final boolean fuseTwoQubitBlocks;
+    private final boolean accumulateDiagonalGates;
+    private final int tileQubits;
+    private final boolean strictCompilation;
+    private final boolean stabilizerSimulation;
+    private final boolean matrixProductState;
+    private final int maxBondDimension;
+    private final double truncationError;
+    private final boolean densityMatrix;
+    private final NoiseModel noiseModel;
+    private final int trajectories;
+    private final Long seed;
+    private final int shots;
+
+    SimulationOptions(boolean fuseSingleQubitGates, boolean fuseTwoQubitBlocks, boolean accumulateDiagonalGates,
+                      int tileQubits, boolean strictCompilation, boolean stabilizerSimulation, boolean matrixProductState,
+                      int maxBondDimension, double truncationError, boolean densityMatrix, NoiseModel noiseModel,
+                      int trajectories, Long seed, int shots) {
+        this.fuseSingleQubitGates = fuseSingleQubitGates;
+        this.fuseTwoQubitBlocks = fuseTwoQubitBlocks;
+        this.accumulateDiagonalGates = accumulateDiagonalGates;
+        this.tileQubits = tileQubits;
+        this.strictCompilation = strictCompilation;
+        this.stabilizerSimulation = stabilizerSimulation;
+        this.matrixProductState = matrixProductState;
+        this.maxBondDimension = maxBondDimension;
+        this.truncationError = truncationError;
+        this.densityMatrix = densityMatrix;
+        this.noiseModel = noiseModel;
+        this.trajectories = trajectories;
+        this.seed = seed;
+        this.shots = shots;
+    }
+
+    public static SimulationOptions defaults() {return builder().build();}
+
+    public static SimulationOptionsBuilder builder() {return new SimulationOptionsBuilder();}
+
+    public CircuitOptimizer createOptimizer() {
+        List<CircuitPass> passes = new ArrayList<>();
+        if (fuseSingleQubitGates) passes.add(new SingleQubitFusionPass());
+        if (accumulateDiagonalGates) passes.add(new DiagonalAccumulationPass());
+        if (fuseTwoQubitBlocks) passes.add(new TwoQubitFusionPass());
+        return new CircuitOptimizer(passes);
+    }
+
+    public boolean isFuseSingleQubitGates() {return fuseSingleQubitGates;}
+
+    public boolean isFuseTwoQubitBlocks() {return fuseTwoQubitBlocks;}
+
+    public boolean isAccumulateDiagonalGates() {return accumulateDiagonalGates;}
+
+    public int getTileQubits() {return tileQubits;}
+
+    public boolean isBlockedExecution() {return tileQubits > 0;}
+
+    public boolean isStrictCompilation() {return strictCompilation;}
+
+    // Clifford-only circuits starting from a basis state run on a stabilizer tableau instead of a state vector.
+    public boolean isStabilizerSimulation() {return stabilizerSimulation;}
+
+    public boolean usesStabilizer(QuantumCircuit circuit) {return stabilizerSimulation && CliffordProgram.supports(circuit);}
+
+    // Circuits starting from a basis state run on a matrix product state truncated to these limits.
+    public boolean isMatrixProductState() {return matrixProductState;}
+
+    public int getMaxBondDimension() {return maxBondDimension;}
+
+    public double getTruncationError() {return truncationError;}
+
+    // Circuits run on a density matrix, the only backend that applies the noise model exactly.
+    public boolean isDensityMatrix() {return densityMatrix;}
+
+    public NoiseModel getNoiseModel() {return noiseModel;}
+
+    // Circuits run as this many noise trajectories on state vectors, one measured shot each; 0 turns them off.
+    public int getTrajectories() {return trajectories;}
+
+    public boolean isTrajectorySimulation() {return trajectories > 0 && !densityMatrix;}
+
+    // Noise needs a density matrix or state-vector trajectories, so the basis-state backends stand aside.
+    public boolean isNoiseSimulation() {return densityMatrix || trajectories > 0;}
+
+    // Seed for reproducible sampling, or null to draw a fresh one.
+    public Long getSeed() {return seed;}
+
+    // Noiseless circuits run this many shots, branching at mid-circuit measurements; 0 turns it off.
+    public int getShots() {return shots;}
+
+    public boolean isShotBranching() {return shots > 0 && !isNoiseSimulation();}
+
+    public CircuitProgram compile(QuantumCircuit circuit) {
+        return strictCompilation ? CircuitProgram.compileStrict(circuit) : CircuitProgram.compile(circuit);
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationOptions{fuseSingleQubitGates=" + fuseSingleQubitGates + ", fuseTwoQubitBlocks=" + fuseTwoQubitBlocks +
+                ", accumulateDiagonalGates=" + accumulateDiagonalGates + ", tileQubits=" + tileQubits +
+                ", strictCompilation=" + strictCompilation + ", stabilizerSimulation=" + stabilizerSimulation +
+                ", matrixProductState=" + matrixProductState + ", maxBondDimension=" + maxBondDimension + ", truncationError=" + truncationError +
+                ", densityMatrix=" + densityMatrix + ", noiseModel=" + noiseModel +
+                ", trajectories=" + trajectories + ", seed=" + seed + ", shots=" + shots + "}";
+    }
+}
@@ -0,0 +1,135 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package control.command.simulate;
+
+import model.quantumModel.quantumNoise.NoiseModel;
+import model.quantumModel.quantumState.mps.MatrixProductState;
+
+public class SimulationOptionsBuilder {
+    private boolean fuseSingleQubitGates;
+    private boolean fuseTwoQubitBlocks;
+    private boolean accumulateDiagonalGates;
+    private int tileQubits;
+    private boolean strictCompilation;
+    private boolean stabilizerSimulation;
+    private boolean matrixProductState;
+    private int maxBondDimension;
+    private double truncationError;
+    private boolean densityMatrix;
+    private NoiseModel noiseModel;
+    private int trajectories;
+    private Long seed;
+    private int shots;
+
+    public SimulationOptionsBuilder() {
+        this.fuseSingleQubitGates = false;
+        this.fuseTwoQubitBlocks = false;
+        this.accumulateDiagonalGates = false;
+        this.tileQubits = 0;
+        this.strictCompilation = false;
+        this.stabilizerSimulation = true;
+        this.matrixProductState = false;
+        this.maxBondDimension = MatrixProductState.DEFAULT_MAX_BOND_DIMENSION;
+        this.truncationError = MatrixProductState.DEFAULT_TRUNCATION_ERROR;
+        this.densityMatrix = false;
+        this.noiseModel = NoiseModel.none();
+        this.trajectories = 0;
+        this.seed = null;
+        this.shots = 0;
+    }
+
+    public SimulationOptionsBuilder fuseSingleQubitGates(boolean fuseSingleQubitGates) {
+        this.fuseSingleQubitGates = fuseSingleQubitGates;
+        return this;
+    }
+
+    public SimulationOptionsBuilder fuseTwoQubitBlocks(boolean fuseTwoQubitBlocks) {
+        this.fuseTwoQubitBlocks = fuseTwoQubitBlocks;
+        return this;
+    }
+
+    public SimulationOptionsBuilder accumulateDiagonalGates(boolean accumulateDiagonalGates) {
+        this.accumulateDiagonalGates = accumulateDiagonalGates;
+        return this;
+    }
+
+    public SimulationOptionsBuilder tileQubits(int tileQubits) {
+        if (tileQubits < 0) throw new IllegalArgumentException("Tile qubits cannot be negative, got: " + tileQubits);
+        if (tileQubits == 1) throw new IllegalArgumentException("A tile must span at least 2 qubits; use 0 to turn tiling off");
+        this.tileQubits = tileQubits;
+        return this;
+    }
+
+    public SimulationOptionsBuilder strictCompilation(boolean strictCompilation) {
+        this.strictCompilation = strictCompilation;
+        return this;
+    }
+
+    public SimulationOptionsBuilder stabilizerSimulation(boolean stabilizerSimulation) {
+        this.stabilizerSimulation = stabilizerSimulation;
+        return this;
+    }
+
+    public SimulationOptionsBuilder matrixProductState(boolean matrixProductState) {
+        this.matrixProductState = matrixProductState;
+        return this;
+    }
+
+    public SimulationOptionsBuilder maxBondDimension(int maxBondDimension) {
+        if (maxBondDimension < 1) throw new IllegalArgumentException("Bond dimension must be positive, got: " + maxBondDimension);
+        this.maxBondDimension = maxBondDimension;
+        return this;
+    }
+
+    public SimulationOptionsBuilder truncationError(double truncationError) {
+        if (truncationError < 0 || truncationError >= 1) throw new IllegalArgumentException("Truncation error must be in [0, 1), got: " + truncationError);
+        this.truncationError = truncationError;
+        return this;
+    }
+
+    public SimulationOptionsBuilder densityMatrix(boolean densityMatrix) {
+        this.densityMatrix = densityMatrix;
+        return this;
+    }
+
+    public SimulationOptionsBuilder noiseModel(NoiseModel noiseModel) {
+        this.noiseModel = noiseModel != null ? noiseModel : NoiseModel.none();
+        return this;
+    }
+
+    public SimulationOptionsBuilder trajectories(int trajectories) {
+        if (trajectories < 0) throw new IllegalArgumentException("Number of trajectories cannot be negative, got: " + trajectories);
+        this.trajectories = trajectories;
+        return this;
+    }
+
+    public SimulationOptionsBuilder seed(Long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public SimulationOptionsBuilder shots(int shots) {
+        if (shots < 0) throw new IllegalArgumentException("Number of shots cannot be negative, got: " + shots);
+        this.shots = shots;
+        return this;
+    }
+
+    public SimulationOptions build() {
+        return new SimulationOptions(fuseSingleQubitGates, fuseTwoQubitBlocks, accumulateDiagonalGates, tileQubits, strictCompilation,
+                stabilizerSimulation, matrixProductState, maxBondDimension, truncationError, densityMatrix, noiseModel,
+                trajectories, seed, shots);
+    }
+}
@@ -52,6 +52,17 @@ public class Matrix {
         data[row][col] = newValue;
     }
 
+    public double[] toInterleavedArray() {
+        double[] values = new double[2 * rows * cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                values[2 * (i * cols + j)] = data[i][j].getRealPart();
+                values[2 * (i * cols + j) + 1] = data[i][j].getImaginaryPart();
+            }
+        }
+        return values;
+    }
+
     public Complex get(int row, int col){
         if (row < 0 || row >= rows || col < 0 || col>= cols){throw new IndexOutOfBoundsException("Index out of bounds");}
         return data[row][col];
@@ -15,10 +15,12 @@
 package model.quantumModel.quantumCircuit;
 
 import model.quantumModel.quantumCircuit.circuitModel.CircuitLayer;
+import model.quantumModel.quantumCircuit.circuitProgram.CircuitProgram;
 import model.quantumModel.quantumGate.GateOperation;
 import model.quantumModel.quantumGate.QuantumGate;
 import model.quantumModel.quantumGate.QuantumGates;
 import model.quantumModel.quantumState.QuantumState;
+import model.quantumModel.quantumState.stabilizer.StabilizerState;
 import java.util.*;
 
 public class QuantumCircuit {
@@ -26,7 +28,9 @@ public class QuantumCircuit {
     private List<CircuitLayer> layers;
 
     public QuantumCircuit(int nQubit) {
-        if (nQubit < 1 || nQubit > 10) throw new IllegalArgumentException("Circuit max number of qubits: 8, given: "+nQubit);
+        // The widest any backend takes; SimulateCommand checks the width against the backend it picks,
+        // so only Clifford or matrix product state runs get past StateVector.MAX_QUBITS.
+        if (nQubit < 1 || nQubit > StabilizerState.MAX_QUBITS) throw new IllegalArgumentException("Circuit must have between 1 and " + StabilizerState.MAX_QUBITS + " qubits, given: " + nQubit);
         this.nQubit = nQubit;
         this.layers = new ArrayList<>();
     }
@@ -88,10 +92,26 @@ public class QuantumCircuit {
         addGate(controlledGate, allQubits);
     }
 
+    public void addMultiControlled(QuantumGate gate, int[] controls, int... targets) {
+        QuantumGate controlledGate = QuantumGates.controlled(gate, controls.length);
+        int[] allQubits = new int[controls.length + targets.length];
+        System.arraycopy(controls, 0, allQubits, 0, controls.length);
+        System.arraycopy(targets, 0, allQubits, controls.length, targets.length);
+        addGate(controlledGate, allQubits);
+    }
+
     public void addMeasurement(int... targets) {
         addGate(QuantumGates.measurement(), targets);
     }
 
+    public void appendOperation(GateOperation operation) {
+        int[] targets = operation.getTargetQubits();
+        int layerIndex = layers.size();
+        while (layerIndex > 0 && !layers.get(layerIndex - 1).hasConflictWith(targets)) layerIndex--;
+        if (layerIndex == layers.size()) layers.add(new CircuitLayer());
+        layers.get(layerIndex).addOperation(operation);
+    }
+
     public void executeOn(QuantumState state) {
         if (state.getNumQubits() != this.nQubit) throw new IllegalArgumentException("State must have " + nQubit + " qubits");
         for (CircuitLayer layer : layers) {
@@ -99,11 +119,21 @@ public class QuantumCircuit {
         }
     }
 
+    /**
+     * Blocked variant of {@link #executeOn(QuantumState)}: consecutive gates that stay below
+     * {@code tileQubits} are applied tile by tile while the tile is cache resident, and only a gate
+     * with a higher stride, or a measurement, falls back to a full sweep.
+     */
+    public void executeOn(QuantumState state, int tileQubits) {compile().executeOn(state, tileQubits);}
+
+    public CircuitProgram compile() {return CircuitProgram.compile(this);}
+
     public int getDepth() {return layers.size();}
     public int getTotalGateCount() {return layers.stream().mapToInt(CircuitLayer::getOperationCount).sum();}
     public int getNQubits() {return nQubit;}
     public void setNQubits(int nQubits) {this.nQubit = nQubits;}
     public List<CircuitLayer> getLayers() {return layers;}
+    public List<GateOperation> getOperations() {return layers.stream().flatMap(layer -> layer.getOperations().stream()).toList();}
     public void setLayers(List<CircuitLayer> layers) {this.layers = layers;}
 
     public void replaceWith(QuantumCircuit newCircuit) {
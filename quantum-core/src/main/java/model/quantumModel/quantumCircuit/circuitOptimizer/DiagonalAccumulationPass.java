@@ -0,0 +1,151 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumCircuit.circuitOptimizer;
+
+import model.mathModel.Complex;
+import model.mathModel.Matrix;
+import model.quantumModel.quantumCircuit.QuantumCircuit;
+import model.quantumModel.quantumGate.ControlledGate;
+import model.quantumModel.quantumGate.DiagonalGate;
+import model.quantumModel.quantumGate.GateOperation;
+import model.quantumModel.quantumGate.MeasurementGate;
+import model.quantumModel.quantumGate.MeasurementOperation;
+import model.quantumModel.quantumGate.QuantumGate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects runs of diagonal gates (Z, S, T, RZ, P, controlled phases, ...) into one
+ * {@link DiagonalGate}. Diagonal gates commute with each other, so a run keeps growing across
+ * gates on other wires until a non-diagonal gate touches one of its qubits or the phase table
+ * would exceed {@code maxQubits} qubits.
+ */
+public class DiagonalAccumulationPass implements CircuitPass {
+    public static final int DEFAULT_MAX_QUBITS = 12;
+    private static final int MAX_INSPECTED_QUBITS = 3;
+
+    private final int maxQubits;
+
+    public DiagonalAccumulationPass() {
+        this(DEFAULT_MAX_QUBITS);
+    }
+
+    public DiagonalAccumulationPass(int maxQubits) {
+        if (maxQubits < 1 || maxQubits > 20) throw new IllegalArgumentException("Phase table width must be between 1 and 20 qubits, got: " + maxQubits);
+        this.maxQubits = maxQubits;
+    }
+
+    @Override
+    public String getName() {return "diagonal-accumulation";}
+
+    @Override
+    public QuantumCircuit apply(QuantumCircuit circuit) {
+        QuantumCircuit accumulated = new QuantumCircuit(circuit.getNQubits());
+        List<GateOperation> run = new ArrayList<>();
+        long runMask = 0;
+        for (GateOperation operation : circuit.getOperations()) {
+            long mask = maskOf(operation.getTargetQubits());
+            if (isDiagonal(operation)) {
+                if (Long.bitCount(runMask | mask) > maxQubits) {
+                    flush(run, runMask, accumulated);
+                    runMask = 0;
+                }
+                run.add(operation);
+                runMask |= mask;
+                continue;
+            }
+            if ((runMask & mask) != 0) {
+                flush(run, runMask, accumulated);
+                runMask = 0;
+            }
+            accumulated.appendOperation(operation);
+        }
+        flush(run, runMask, accumulated);
+        return accumulated;
+    }
+
+    static boolean isDiagonal(GateOperation operation) {
+        QuantumGate gate = operation.getGate();
+        if (gate instanceof DiagonalGate) return true;
+        if (gate instanceof MeasurementGate || operation instanceof MeasurementOperation) return false;
+        if (gate instanceof ControlledGate controlled) gate = controlled.getBaseGate();
+        if (gate.getNumQubits() > MAX_INSPECTED_QUBITS) return false;
+        Matrix matrix = gate.getMatrix();
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int j = 0; j < matrix.getCols(); j++) {
+                if (i != j && matrix.get(i, j).magnitude() > Complex.EPSILON) return false;
+            }
+        }
+        return true;
+    }
+
+    private static long maskOf(int[] qubits) {
+        long mask = 0;
+        for (int qubit : qubits) mask |= 1L << qubit;
+        return mask;
+    }
+
+    private void flush(List<GateOperation> run, long runMask, QuantumCircuit accumulated) {
+        if (run.size() == 1) accumulated.appendOperation(run.get(0));
+        else if (run.size() > 1) {
+            List<String> names = new ArrayList<>();
+            for (GateOperation operation : run) names.add(operation.getGate().getName());
+            DiagonalGate gate = new DiagonalGate(runMask, buildPhaseTable(run, runMask), names);
+            accumulated.appendOperation(new GateOperation(gate, gate.getQubits()));
+        }
+        run.clear();
+    }
+
+    private double[] buildPhaseTable(List<GateOperation> run, long runMask) {
+        int size = 1 << Long.bitCount(runMask);
+        double[] phases = new double[2 * size];
+        for (int j = 0; j < size; j++) phases[2 * j] = 1.0;
+        for (GateOperation operation : run) {
+            double[] diagonal = diagonalOf(operation.getGate());
+            int[] targets = operation.getTargetQubits();
+            for (int j = 0; j < size; j++) {
+                long basis = Long.expand(j, runMask);
+                int local = 0;
+                for (int qubit : targets) local = (local << 1) | (int) ((basis >>> qubit) & 1);
+                double re = phases[2 * j], im = phases[2 * j + 1];
+                double pr = diagonal[2 * local], pi = diagonal[2 * local + 1];
+                phases[2 * j] = re * pr - im * pi;
+                phases[2 * j + 1] = re * pi + im * pr;
+            }
+        }
+        return phases;
+    }
+
+    // Diagonal entries in matrix order, where the first target qubit is the most significant bit.
+    private double[] diagonalOf(QuantumGate gate) {
+        if (gate instanceof DiagonalGate diagonal) return diagonal.getPhases();
+        if (gate instanceof ControlledGate controlled) {
+            double[] base = diagonalOf(controlled.getBaseGate());
+            double[] diagonal = new double[base.length << controlled.getNumControls()];
+            for (int i = 0; i < diagonal.length; i += 2) diagonal[i] = 1.0;
+            System.arraycopy(base, 0, diagonal, diagonal.length - base.length, base.length);
+            return diagonal;
+        }
+        Matrix matrix = gate.getMatrix();
+        double[] diagonal = new double[2 * matrix.getRows()];
+        for (int i = 0; i < matrix.getRows(); i++) {
+            diagonal[2 * i] = matrix.get(i, i).getRealPart();
+            diagonal[2 * i + 1] = matrix.get(i, i).getImaginaryPart();
+        }
+        return diagonal;
+    }
+}
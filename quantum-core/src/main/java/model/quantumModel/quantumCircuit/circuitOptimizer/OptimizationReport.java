@@ -0,0 +1,52 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumCircuit.circuitOptimizer;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class OptimizationReport {
+    private final Map<String, Integer> sweepsSavedByPass;
+    private int originalSweeps;
+    private int optimizedSweeps;
+
+    public OptimizationReport() {
+        this.sweepsSavedByPass = new LinkedHashMap<>();
+    }
+
+    public void start(int sweeps) {
+        this.originalSweeps = sweeps;
+        this.optimizedSweeps = sweeps;
+        this.sweepsSavedByPass.clear();
+    }
+
+    public void record(String passName, int sweepsBefore, int sweepsAfter) {
+        optimizedSweeps = sweepsAfter;
+        sweepsSavedByPass.merge(passName, sweepsBefore - sweepsAfter, Integer::sum);
+    }
+
+    public int getSweepsSaved() {return originalSweeps - optimizedSweeps;}
+    public int getOriginalSweeps() {return originalSweeps;}
+    public int getOptimizedSweeps() {return optimizedSweeps;}
+    public Map<String, Integer> getSweepsSavedByPass() {return Collections.unmodifiableMap(sweepsSavedByPass);}
+
+    @Override
+    public String toString() {
+        return String.format("OptimizationReport{originalSweeps=%d, optimizedSweeps=%d, sweepsSaved=%d, byPass=%s}",
+                originalSweeps, optimizedSweeps, getSweepsSaved(), sweepsSavedByPass);
+    }
+}
@@ -0,0 +1,74 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumCircuit.circuitOptimizer;
+
+import model.mathModel.Matrix;
+import model.quantumModel.quantumCircuit.QuantumCircuit;
+import model.quantumModel.quantumGate.FusedGate;
+import model.quantumModel.quantumGate.GateOperation;
+import model.quantumModel.quantumGate.MeasurementGate;
+import model.quantumModel.quantumGate.MeasurementOperation;
+import model.quantumModel.quantumGate.QuantumGate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SingleQubitFusionPass implements CircuitPass {
+
+    @Override
+    public String getName() {return "single-qubit-fusion";}
+
+    @Override
+    public QuantumCircuit apply(QuantumCircuit circuit) {
+        QuantumCircuit fused = new QuantumCircuit(circuit.getNQubits());
+        List<List<GateOperation>> pending = new ArrayList<>();
+        for (int qubit = 0; qubit < circuit.getNQubits(); qubit++) pending.add(new ArrayList<>());
+        for (GateOperation operation : circuit.getOperations()) {
+            int[] targets = operation.getTargetQubits();
+            if (isFusable(operation)) {
+                pending.get(targets[0]).add(operation);
+                continue;
+            }
+            for (int qubit : targets) flush(pending.get(qubit), fused);
+            fused.appendOperation(operation);
+        }
+        for (List<GateOperation> wire : pending) flush(wire, fused);
+        return fused;
+    }
+
+    static boolean isFusable(GateOperation operation) {
+        QuantumGate gate = operation.getGate();
+        return gate.getNumQubits() == 1 && !(gate instanceof MeasurementGate) && !(operation instanceof MeasurementOperation);
+    }
+
+    private void flush(List<GateOperation> wire, QuantumCircuit fused) {
+        if (wire.size() == 1) fused.appendOperation(wire.get(0));
+        else if (wire.size() > 1) fused.appendOperation(fuse(wire));
+        wire.clear();
+    }
+
+    private GateOperation fuse(List<GateOperation> wire) {
+        Matrix product = wire.get(0).getGate().getMatrix();
+        List<String> names = new ArrayList<>();
+        names.add(wire.get(0).getGate().getName());
+        for (int i = 1; i < wire.size(); i++) {
+            QuantumGate gate = wire.get(i).getGate();
+            product = gate.getMatrix().multiply(product);
+            names.add(gate.getName());
+        }
+        return new GateOperation(new FusedGate(product, 1, names), wire.get(0).getTargetQubits());
+    }
+}
@@ -0,0 +1,136 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumCircuit.circuitOptimizer;
+
+import model.mathModel.Matrix;
+import model.quantumModel.quantumCircuit.QuantumCircuit;
+import model.quantumModel.quantumGate.FusedGate;
+import model.quantumModel.quantumGate.GateOperation;
+import model.quantumModel.quantumGate.MeasurementGate;
+import model.quantumModel.quantumGate.MeasurementOperation;
+import model.quantumModel.quantumGate.QuantumGate;
+import model.quantumModel.quantumGate.QuantumGates;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Folds every gate acting on one pair of wires, between interactions with other wires, into a
+ * single dense 4x4 {@link FusedGate}. Single-qubit gates waiting in front of a two-qubit gate are
+ * pulled into its block; the block closes as soon as either wire meets another pair, a wider gate
+ * or a measurement.
+ */
+public class TwoQubitFusionPass implements CircuitPass {
+    private static final Matrix IDENTITY = Matrix.createIdentityMatrix(2);
+    private static final Matrix SWAP = QuantumGates.swap().getMatrix();
+
+    @Override
+    public String getName() {return "two-qubit-fusion";}
+
+    @Override
+    public QuantumCircuit apply(QuantumCircuit circuit) {
+        int nQubits = circuit.getNQubits();
+        QuantumCircuit fused = new QuantumCircuit(nQubits);
+        Block[] blocks = new Block[nQubits];
+        List<List<GateOperation>> pending = new ArrayList<>();
+        for (int qubit = 0; qubit < nQubits; qubit++) pending.add(new ArrayList<>());
+        for (GateOperation operation : circuit.getOperations()) {
+            int[] targets = operation.getTargetQubits();
+            if (SingleQubitFusionPass.isFusable(operation)) {
+                Block block = blocks[targets[0]];
+                if (block != null) block.operations.add(operation);
+                else pending.get(targets[0]).add(operation);
+            } else if (isPairGate(operation)) {
+                int high = targets[0], low = targets[1];
+                Block block = blocks[high];
+                if (block != null && block == blocks[low]) {
+                    block.operations.add(operation);
+                    continue;
+                }
+                close(blocks, high, fused);
+                close(blocks, low, fused);
+                block = new Block(high, low);
+                block.operations.addAll(pending.get(high));
+                block.operations.addAll(pending.get(low));
+                block.operations.add(operation);
+                pending.get(high).clear();
+                pending.get(low).clear();
+                blocks[high] = block;
+                blocks[low] = block;
+            } else {
+                for (int qubit : targets) {
+                    close(blocks, qubit, fused);
+                    flush(pending.get(qubit), fused);
+                }
+                fused.appendOperation(operation);
+            }
+        }
+        for (int qubit = 0; qubit < nQubits; qubit++) {
+            close(blocks, qubit, fused);
+            flush(pending.get(qubit), fused);
+        }
+        return fused;
+    }
+
+    private static boolean isPairGate(GateOperation operation) {
+        QuantumGate gate = operation.getGate();
+        return gate.getNumQubits() == 2 && !(gate instanceof MeasurementGate) && !(operation instanceof MeasurementOperation);
+    }
+
+    private void close(Block[] blocks, int qubit, QuantumCircuit fused) {
+        Block block = blocks[qubit];
+        if (block == null) return;
+        blocks[block.high] = null;
+        blocks[block.low] = null;
+        if (block.operations.size() == 1) fused.appendOperation(block.operations.get(0));
+        else fused.appendOperation(block.fuse());
+    }
+
+    private void flush(List<GateOperation> wire, QuantumCircuit fused) {
+        for (GateOperation operation : wire) fused.appendOperation(operation);
+        wire.clear();
+    }
+
+    private static final class Block {
+        private final int high;
+        private final int low;
+        private final List<GateOperation> operations = new ArrayList<>();
+
+        private Block(int high, int low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        private GateOperation fuse() {
+            Matrix product = Matrix.createIdentityMatrix(4);
+            List<String> names = new ArrayList<>();
+            for (GateOperation operation : operations) {
+                product = embed(operation).multiply(product);
+                names.add(operation.getGate().getName());
+            }
+            return new GateOperation(new FusedGate(product, 2, names), high, low);
+        }
+
+        // Lifts an operation of the block onto the (high, low) basis, with high as the matrix MSB.
+        private Matrix embed(GateOperation operation) {
+            Matrix matrix = operation.getGate().getMatrix();
+            int[] targets = operation.getTargetQubits();
+            if (targets.length == 1) return targets[0] == high ? matrix.tensorProduct(IDENTITY) : IDENTITY.tensorProduct(matrix);
+            if (targets[0] == high) return matrix;
+            return SWAP.multiply(matrix).multiply(SWAP);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumCircuit.circuitProgram;
+
+import model.mathModel.Complex;
+import model.mathModel.Matrix;
+import model.quantumModel.quantumCircuit.QuantumCircuit;
+import model.quantumModel.quantumGate.ControlledGate;
+import model.quantumModel.quantumGate.DiagonalGate;
+import model.quantumModel.quantumGate.FusedGate;
+import model.quantumModel.quantumGate.GateOperation;
+import model.quantumModel.quantumGate.MeasurementGate;
+import model.quantumModel.quantumGate.MeasurementOperation;
+import model.quantumModel.quantumGate.QuantumGate;
+import model.quantumModel.quantumState.stateVector.StateVector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static model.quantumModel.quantumCircuit.circuitProgram.CircuitProgram.*;
+
+/**
+ * Translates the operations of a circuit into {@link CircuitProgram} instructions. Gate names are
+ * matched and angles parsed here, once, with the same meaning {@link GateOperation} gives them at
+ * run time. Dense gates on up to {@value #MAX_DENSE_TARGETS} qubits use the k-qubit kernel; wider
+ * gates become generic instructions or, when the fallback is not allowed, a compile error listing
+ * them.
+ */
+final class CircuitCompiler {
+    private static final double HALF_SQRT2 = 1.0 / Math.sqrt(2.0);
+    private static final long ALL_QUBITS = -1L;
+    static final int MAX_DENSE_TARGETS = 5;
+
+    private final boolean allowGenericFallback;
+    private final List<Instruction> instructions = new ArrayList<>();
+    private final List<String> genericOperations = new ArrayList<>();
+
+    CircuitCompiler(boolean allowGenericFallback) {
+        this.allowGenericFallback = allowGenericFallback;
+    }
+
+    CircuitProgram compile(QuantumCircuit circuit) {
+        int nQubits = circuit.getNQubits();
+        if (nQubits > StateVector.MAX_QUBITS) throw new IllegalArgumentException("A state vector program covers at most " + StateVector.MAX_QUBITS + " qubits, got: " + nQubits);
+        for (GateOperation operation : circuit.getOperations()) {
+            for (int qubit : operation.getTargetQubits()) {
+                if (qubit < 0 || qubit >= nQubits) throw new IllegalArgumentException("Operation " + operation + " targets qubit outside the circuit");
+            }
+            instructions.add(decode(operation));
+        }
+        if (!allowGenericFallback && !genericOperations.isEmpty()) {
+            throw new IllegalArgumentException("Gates without a dedicated kernel would run on the generic path: " + genericOperations);
+        }
+        return pack(nQubits);
+    }
+
+    private Instruction decode(GateOperation operation) {
+        QuantumGate gate = operation.getGate();
+        int[] targets = operation.getTargetQubits();
+        if (gate instanceof MeasurementGate || operation instanceof MeasurementOperation) return fallback(OP_MEASURE, operation);
+        if (gate instanceof DiagonalGate diagonal) {
+            return new Instruction(OP_DIAGONAL_TABLE, targets[0], 0, diagonal.getQubitMask(), 0L, null, diagonal.getPhases(), null);
+        }
+        if (gate instanceof ControlledGate controlled) return decodeControlled(controlled, operation, targets);
+        String name = gate.getName();
+        if (gate.getNumQubits() == 1) return decodeSingleQubit(gate, name, targets[0]);
+        if (gate.getNumQubits() == 2) {
+            if (name.equals("CNOT")) return not(targets[1], 1L << targets[0]);
+            if (name.equals("SWAP") || name.equals("Swap")) {
+                return new Instruction(OP_SWAP, targets[0], targets[1], 0L, (1L << targets[0]) | (1L << targets[1]), null, null, null);
+            }
+            double[] matrix = gate instanceof FusedGate fused ? fused.getInterleavedMatrix() : gate.getMatrix().toInterleavedArray();
+            return new Instruction(OP_TWO_QUBIT, targets[0], targets[1], 0L, (1L << targets[0]) | (1L << targets[1]), null, matrix, null);
+        }
+        if (gate.getNumQubits() == 3 && name.equals("Toffoli")) return not(targets[2], (1L << targets[0]) | (1L << targets[1]));
+        if (gate.getNumQubits() <= MAX_DENSE_TARGETS) {
+            long moved = 0;
+            for (int target : targets) moved |= 1L << target;
+            return new Instruction(OP_MULTI_QUBIT, targets[0], 0, 0L, moved, null, gate.getMatrix().toInterleavedArray(), null, targets);
+        }
+        genericOperations.add(operation.toString());
+        return fallback(OP_GENERIC, operation);
+    }
+
+    // Controls stay a mask; only the base gate is decoded, so the expanded matrix is never built.
+    private Instruction decodeControlled(ControlledGate controlled, GateOperation operation, int[] targets) {
+        int numControls = controlled.getNumControls();
+        long controlMask = 0;
+        for (int i = 0; i < numControls; i++) controlMask |= 1L << targets[i];
+        int[] baseTargets = Arrays.copyOfRange(targets, numControls, targets.length);
+        QuantumGate base = controlled.getBaseGate();
+        if (controlled.isMultiControlledNot()) return not(baseTargets[0], controlMask);
+        long moved = controlMask;
+        for (int target : baseTargets) moved |= 1L << target;
+        if (base.getNumQubits() == 1) {
+            Matrix matrix = base.getMatrix();
+            Complex g00 = matrix.get(0, 0), g01 = matrix.get(0, 1), g10 = matrix.get(1, 0), g11 = matrix.get(1, 1);
+            return new Instruction(OP_CONTROLLED_MATRIX, baseTargets[0], 0, controlMask, moved, new double[]{
+                    g00.getRealPart(), g00.getImaginaryPart(), g01.getRealPart(), g01.getImaginaryPart(),
+                    g10.getRealPart(), g10.getImaginaryPart(), g11.getRealPart(), g11.getImaginaryPart()}, null, null);
+        }
+        if (base.getNumQubits() <= MAX_DENSE_TARGETS) {
+            return new Instruction(OP_MULTI_QUBIT, baseTargets[0], 0, controlMask, moved, null, base.getMatrix().toInterleavedArray(), null, baseTargets);
+        }
+        genericOperations.add(operation.toString());
+        return fallback(OP_GENERIC, operation);
+    }
+
+    private Instruction decodeSingleQubit(QuantumGate gate, String name, int qubit) {
+        switch (name) {
+            case "Hadamard" -> {return matrix(qubit, HALF_SQRT2, 0, HALF_SQRT2, 0, HALF_SQRT2, 0, -HALF_SQRT2, 0);}
+            case "NOT (Pauli-X)" -> {return not(qubit, 0L);}
+            case "Pauli-Y" -> {return matrix(qubit, 0, 0, 0, -1, 0, 1, 0, 0);}
+            case "Pauli-Z" -> {return diagonal(qubit, 1, 0, -1, 0);}
+            case "T (π/8)" -> {return phase(qubit, Math.PI / 4);}
+            case "S" -> {return diagonal(qubit, 1, 0, 0, 1);}
+            case "T Dagger" -> {return phase(qubit, -Math.PI / 4);}
+            case "S Dagger" -> {return diagonal(qubit, 1, 0, 0, -1);}
+            case "√X" -> {return matrix(qubit, 0.5, 0.5, 0.5, -0.5, 0.5, -0.5, 0.5, 0.5);}
+            default -> {}
+        }
+        if (name.startsWith("U(")) {
+            String[] values = name.substring(2, name.length() - 1).split(",");
+            if (values.length == 3) {
+                double theta = Double.parseDouble(values[0]);
+                double phi = Double.parseDouble(values[1]);
+                double lambda = Double.parseDouble(values[2]);
+                double cosHalfTheta = Math.cos(theta / 2);
+                double sinHalfTheta = Math.sin(theta / 2);
+                return matrix(qubit, cosHalfTheta, 0,
+                        -sinHalfTheta * Math.cos(lambda), -sinHalfTheta * Math.sin(lambda),
+                        sinHalfTheta * Math.cos(phi), sinHalfTheta * Math.sin(phi),
+                        cosHalfTheta * Math.cos(phi + lambda), cosHalfTheta * Math.sin(phi + lambda));
+            }
+        } else if (name.startsWith("RZ(")) {
+            double phi = Double.parseDouble(name.substring(3, name.length() - 1));
+            return diagonal(qubit, Math.cos(phi / 2), -Math.sin(phi / 2), Math.cos(phi / 2), Math.sin(phi / 2));
+        } else if (name.startsWith("RY(")) {
+            double theta = Double.parseDouble(name.substring(3, name.length() - 1));
+            double cosHalfTheta = Math.cos(theta / 2);
+            double sinHalfTheta = Math.sin(theta / 2);
+            return matrix(qubit, cosHalfTheta, 0, -sinHalfTheta, 0, sinHalfTheta, 0, cosHalfTheta, 0);
+        } else if (name.startsWith("RX(")) {
+            double theta = Double.parseDouble(name.substring(3, name.length() - 1));
+            double cosHalfTheta = Math.cos(theta / 2);
+            double sinHalfTheta = Math.sin(theta / 2);
+            return matrix(qubit, cosHalfTheta, 0, 0, -sinHalfTheta, 0, -sinHalfTheta, cosHalfTheta, 0);
+        } else if (name.startsWith("P(")) {
+            return phase(qubit, Double.parseDouble(name.substring(2, name.length() - 1)));
+        }
+        Matrix matrix = gate.getMatrix();
+        Complex g00 = matrix.get(0, 0), g01 = matrix.get(0, 1), g10 = matrix.get(1, 0), g11 = matrix.get(1, 1);
+        return matrix(qubit, g00.getRealPart(), g00.getImaginaryPart(), g01.getRealPart(), g01.getImaginaryPart(),
+                g10.getRealPart(), g10.getImaginaryPart(), g11.getRealPart(), g11.getImaginaryPart());
+    }
+
+    private Instruction matrix(int qubit, double... coefficients) {
+        return new Instruction(OP_MATRIX, qubit, 0, 0L, 1L << qubit, coefficients, null, null);
+    }
+
+    private Instruction diagonal(int qubit, double... coefficients) {
+        return new Instruction(OP_DIAGONAL, qubit, 0, 0L, 1L << qubit, coefficients, null, null);
+    }
+
+    private Instruction phase(int qubit, double phi) {return diagonal(qubit, 1, 0, Math.cos(phi), Math.sin(phi));}
+
+    private Instruction not(int target, long controlMask) {
+        return new Instruction(OP_NOT, target, 0, controlMask, 1L << target, null, null, null);
+    }
+
+    private Instruction fallback(int opcode, GateOperation operation) {
+        return new Instruction(opcode, 0, 0, 0L, ALL_QUBITS, null, null, operation);
+    }
+
+    private CircuitProgram pack(int nQubits) {
+        int size = instructions.size();
+        int[] opcodes = new int[size];
+        int[] firstQubits = new int[size];
+        int[] secondQubits = new int[size];
+        long[] masks = new long[size];
+        long[] movedQubits = new long[size];
+        int[] paramOffsets = new int[size];
+        double[][] tables = new double[size][];
+        int[][] qubitLists = new int[size][];
+        GateOperation[] fallbacks = new GateOperation[size];
+        int paramCount = 0;
+        for (Instruction instruction : instructions) if (instruction.params != null) paramCount += instruction.params.length;
+        double[] params = new double[paramCount];
+        int offset = 0;
+        for (int pc = 0; pc < size; pc++) {
+            Instruction instruction = instructions.get(pc);
+            opcodes[pc] = instruction.opcode;
+            firstQubits[pc] = instruction.first;
+            secondQubits[pc] = instruction.second;
+            masks[pc] = instruction.mask;
+            movedQubits[pc] = instruction.moved;
+            tables[pc] = instruction.table;
+            qubitLists[pc] = instruction.qubits;
+            fallbacks[pc] = instruction.fallback;
+            paramOffsets[pc] = offset;
+            if (instruction.params != null) {
+                System.arraycopy(instruction.params, 0, params, offset, instruction.params.length);
+                offset += instruction.params.length;
+            }
+        }
+        return new CircuitProgram(nQubits, opcodes, firstQubits, secondQubits, masks, movedQubits, paramOffsets, params, tables, qubitLists, fallbacks);
+    }
+
+    private record Instruction(int opcode, int first, int second, long mask, long moved,
+                               double[] params, double[] table, GateOperation fallback, int[] qubits) {
+        private Instruction(int opcode, int first, int second, long mask, long moved,
+                            double[] params, double[] table, GateOperation fallback) {
+            this(opcode, first, second, mask, moved, params, table, fallback, null);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumCircuit.circuitProgram;
+
+import model.quantumModel.quantumCircuit.QuantumCircuit;
+import model.quantumModel.quantumGate.GateOperation;
+import model.quantumModel.quantumState.QuantumState;
+import model.quantumModel.quantumState.stateVector.MappedStateVector;
+import model.quantumModel.quantumState.stateVector.StateVector;
+
+/**
+ * Immutable, pre-decoded form of a {@link QuantumCircuit}. Instruction {@code pc} is the opcode
+ * {@code opcodes[pc]} with its qubits, control or table mask and either an offset into the shared
+ * parameter pool or a ready-made interleaved table. The interpreter hands them straight to the
+ * {@link StateVector} kernels, so no gate names are looked at or parsed while the program runs.
+ * One program can be executed on any number of states, e.g. once per shot. On a
+ * {@link MappedStateVector} the instructions are regrouped into streamed passes instead.
+ */
+public final class CircuitProgram {
+    static final int OP_MATRIX = 0;
+    static final int OP_DIAGONAL = 1;
+    static final int OP_NOT = 2;
+    static final int OP_SWAP = 3;
+    static final int OP_TWO_QUBIT = 4;
+    static final int OP_DIAGONAL_TABLE = 5;
+    static final int OP_MULTI_QUBIT = 6;
+    static final int OP_CONTROLLED_MATRIX = 7;
+    static final int OP_MEASURE = 8;
+    static final int OP_GENERIC = 9;
+
+    private final int numQubits;
+    private final int[] opcodes;
+    private final int[] firstQubits;
+    private final int[] secondQubits;
+    private final long[] masks;
+    private final long[] movedQubits;
+    private final int[] paramOffsets;
+    private final double[] params;
+    private final double[][] tables;
+    private final int[][] qubitLists;
+    private final GateOperation[] fallbacks;
+    private final int genericCount;
+    private volatile StreamSchedule streamSchedule;
+
+    CircuitProgram(int numQubits, int[] opcodes, int[] firstQubits, int[] secondQubits, long[] masks,
+                   long[] movedQubits, int[] paramOffsets, double[] params, double[][] tables, int[][] qubitLists,
+                   GateOperation[] fallbacks) {
+        this.numQubits = numQubits;
+        this.opcodes = opcodes;
+        this.firstQubits = firstQubits;
+        this.secondQubits = secondQubits;
+        this.masks = masks;
+        this.movedQubits = movedQubits;
+        this.paramOffsets = paramOffsets;
+        this.params = params;
+        this.tables = tables;
+        this.qubitLists = qubitLists;
+        this.fallbacks = fallbacks;
+        int generic = 0;
+        for (int opcode : opcodes) if (opcode == OP_GENERIC) generic++;
+        this.genericCount = generic;
+    }
+
+    public static CircuitProgram compile(QuantumCircuit circuit) {return new CircuitCompiler(true).compile(circuit);}
+
+    public static CircuitProgram compileStrict(QuantumCircuit circuit) {return new CircuitCompiler(false).compile(circuit);}
+
+    public void executeOn(QuantumState state) {
+        validateState(state);
+        if (state.getStateVector() instanceof MappedStateVector mapped) runStreamed(state, mapped);
+        else run(state, 0, opcodes.length);
+    }
+
+    /**
+     * Same as {@link #executeOn(QuantumState)}, but runs of instructions that only move amplitudes
+     * along qubits below {@code tileQubits} are applied tile by tile. Tiles narrower than two
+     * qubits run untiled.
+     */
+    public void executeOn(QuantumState state, int tileQubits) {
+        if (tileQubits < 2 || tileQubits >= numQubits || state.getStateVector() instanceof MappedStateVector) {
+            executeOn(state);
+            return;
+        }
+        validateState(state);
+        int segmentStart = 0;
+        for (int pc = 0; pc < opcodes.length; pc++) {
+            if ((movedQubits[pc] >>> tileQubits) == 0) continue;
+            runTiled(state, segmentStart, pc, tileQubits);
+            run(state, pc, pc + 1);
+            segmentStart = pc + 1;
+        }
+        runTiled(state, segmentStart, opcodes.length, tileQubits);
+    }
+
+    private void runTiled(QuantumState state, int from, int to, int tileQubits) {
+        if (to - from == 1) run(state, from, to);
+        else if (to - from > 1) state.applyTiled(tileQubits, () -> run(state, from, to));
+    }
+
+    // Out-of-core states cost a full read and write per pass, so the instructions run in the
+    // passes of a StreamSchedule rather than in program order.
+    private void runStreamed(QuantumState state, MappedStateVector vector) {
+        for (StreamSchedule.Pass pass : scheduleFor(vector.getChunkQubits()).getPasses()) {
+            int[] instructions = pass.instructions();
+            if (pass.barrier()) run(state, instructions[0], instructions[0] + 1);
+            else vector.applyStreamed(pass.highQubits(), () -> {
+                for (int pc : instructions) run(state, pc, pc + 1);
+            });
+        }
+    }
+
+    private StreamSchedule scheduleFor(int chunkQubits) {
+        StreamSchedule schedule = streamSchedule;
+        if (schedule == null || schedule.getChunkQubits() != chunkQubits) {
+            schedule = new StreamSchedule(this, chunkQubits);
+            streamSchedule = schedule;
+        }
+        return schedule;
+    }
+
+    private void run(QuantumState state, int from, int to) {
+        StateVector vector = state.getStateVector();
+        final double[] p = params;
+        for (int pc = from; pc < to; pc++) {
+            int o = paramOffsets[pc];
+            switch (opcodes[pc]) {
+                case OP_MATRIX -> vector.applyMatrix(firstQubits[pc], p[o], p[o + 1], p[o + 2], p[o + 3], p[o + 4], p[o + 5], p[o + 6], p[o + 7]);
+                case OP_DIAGONAL -> vector.applyDiagonal(firstQubits[pc], p[o], p[o + 1], p[o + 2], p[o + 3]);
+                case OP_NOT -> vector.applyNot(firstQubits[pc], masks[pc]);
+                case OP_SWAP -> vector.applySwap(firstQubits[pc], secondQubits[pc]);
+                case OP_TWO_QUBIT -> vector.applyTwoQubitMatrix(firstQubits[pc], secondQubits[pc], tables[pc]);
+                case OP_DIAGONAL_TABLE -> vector.applyDiagonalTable(masks[pc], tables[pc]);
+                case OP_MULTI_QUBIT -> vector.applyMultiQubitMatrix(qubitLists[pc], masks[pc], tables[pc]);
+                case OP_CONTROLLED_MATRIX -> vector.applyControlledMatrix(firstQubits[pc], masks[pc], p[o], p[o + 1], p[o + 2], p[o + 3], p[o + 4], p[o + 5], p[o + 6], p[o + 7]);
+                default -> fallbacks[pc].applyTo(state);
+            }
+        }
+    }
+
+    boolean isBarrier(int pc) {return opcodes[pc] == OP_MEASURE || opcodes[pc] == OP_GENERIC;}
+
+    // Every qubit an instruction reads, including controls and phase-table qubits.
+    long supportOf(int pc) {
+        return switch (opcodes[pc]) {
+            case OP_MATRIX, OP_DIAGONAL -> 1L << firstQubits[pc];
+            case OP_NOT, OP_CONTROLLED_MATRIX -> (1L << firstQubits[pc]) | masks[pc];
+            case OP_SWAP, OP_TWO_QUBIT -> (1L << firstQubits[pc]) | (1L << secondQubits[pc]);
+            case OP_DIAGONAL_TABLE -> masks[pc];
+            case OP_MULTI_QUBIT -> maskOf(qubitLists[pc]) | masks[pc];
+            default -> -1L;
+        };
+    }
+
+    // The qubits along which an instruction combines amplitudes; controls and phases only select.
+    long mixedQubitsOf(int pc) {
+        return switch (opcodes[pc]) {
+            case OP_MATRIX, OP_NOT, OP_CONTROLLED_MATRIX -> 1L << firstQubits[pc];
+            case OP_DIAGONAL, OP_DIAGONAL_TABLE -> 0L;
+            case OP_SWAP, OP_TWO_QUBIT -> (1L << firstQubits[pc]) | (1L << secondQubits[pc]);
+            case OP_MULTI_QUBIT -> maskOf(qubitLists[pc]);
+            default -> -1L;
+        };
+    }
+
+    private static long maskOf(int[] qubits) {
+        long mask = 0;
+        for (int qubit : qubits) mask |= 1L << qubit;
+        return mask;
+    }
+
+    private void validateState(QuantumState state) {
+        if (state.getNumQubits() != numQubits) throw new IllegalArgumentException("State must have " + numQubits + " qubits, got: " + state.getNumQubits());
+    }
+
+    public int getNumQubits() {return numQubits;}
+
+    public int getInstructionCount() {return opcodes.length;}
+
+    public int getGenericFallbackCount() {return genericCount;}
+
+    // Passes over an out-of-core state with chunks of 2^chunkQubits amplitudes, barriers included.
+    public int getStreamedPassCount(int chunkQubits) {return scheduleFor(chunkQubits).getPasses().size();}
+}
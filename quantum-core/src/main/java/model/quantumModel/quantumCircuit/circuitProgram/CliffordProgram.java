@@ -0,0 +1,143 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumCircuit.circuitProgram;
+
+import model.quantumModel.quantumCircuit.QuantumCircuit;
+import model.quantumModel.quantumGate.ControlledGate;
+import model.quantumModel.quantumGate.GateOperation;
+import model.quantumModel.quantumGate.MeasurementGate;
+import model.quantumModel.quantumGate.QuantumGate;
+import model.quantumModel.quantumState.stabilizer.StabilizerState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clifford-only counterpart of {@link CircuitProgram}: the operations of a circuit made of H, S,
+ * S†, X, Y, Z, √X, CNOT, CY, CZ, SWAP and measurements, decoded once into opcodes that drive a
+ * {@link StabilizerState} tableau. A measurement inside the circuit samples the state without
+ * collapsing it on the state-vector path, so here it leaves the tableau unchanged as well.
+ */
+public final class CliffordProgram {
+    private static final int OP_H = 0;
+    private static final int OP_S = 1;
+    private static final int OP_S_DAGGER = 2;
+    private static final int OP_X = 3;
+    private static final int OP_Y = 4;
+    private static final int OP_Z = 5;
+    private static final int OP_X_ROOT = 6;
+    private static final int OP_CNOT = 7;
+    private static final int OP_CY = 8;
+    private static final int OP_CZ = 9;
+    private static final int OP_SWAP = 10;
+    private static final int NOT_CLIFFORD = -1;
+
+    private final int numQubits;
+    private final int[] opcodes;
+    private final int[] firstQubits;
+    private final int[] secondQubits;
+
+    private CliffordProgram(int numQubits, int[] opcodes, int[] firstQubits, int[] secondQubits) {
+        this.numQubits = numQubits;
+        this.opcodes = opcodes;
+        this.firstQubits = firstQubits;
+        this.secondQubits = secondQubits;
+    }
+
+    public static boolean supports(QuantumCircuit circuit) {
+        for (GateOperation operation : circuit.getOperations()) {
+            if (!isMeasurement(operation) && opcodeOf(operation.getGate()) == NOT_CLIFFORD) return false;
+        }
+        return true;
+    }
+
+    public static CliffordProgram compile(QuantumCircuit circuit) {
+        List<int[]> instructions = new ArrayList<>();
+        List<String> unsupported = new ArrayList<>();
+        for (GateOperation operation : circuit.getOperations()) {
+            if (isMeasurement(operation)) continue;
+            int[] targets = operation.getTargetQubits();
+            for (int qubit : targets) {
+                if (qubit < 0 || qubit >= circuit.getNQubits()) throw new IllegalArgumentException("Operation " + operation + " targets qubit outside the circuit");
+            }
+            int opcode = opcodeOf(operation.getGate());
+            if (opcode == NOT_CLIFFORD) unsupported.add(operation.toString());
+            else instructions.add(new int[]{opcode, targets[0], targets.length > 1 ? targets[1] : 0});
+        }
+        if (!unsupported.isEmpty()) throw new IllegalArgumentException("Gates outside the Clifford group cannot run on a stabilizer tableau: " + unsupported);
+        int[] opcodes = new int[instructions.size()];
+        int[] firstQubits = new int[opcodes.length];
+        int[] secondQubits = new int[opcodes.length];
+        for (int pc = 0; pc < opcodes.length; pc++) {
+            int[] instruction = instructions.get(pc);
+            opcodes[pc] = instruction[0];
+            firstQubits[pc] = instruction[1];
+            secondQubits[pc] = instruction[2];
+        }
+        return new CliffordProgram(circuit.getNQubits(), opcodes, firstQubits, secondQubits);
+    }
+
+    private static boolean isMeasurement(GateOperation operation) {return operation.getGate() instanceof MeasurementGate;}
+
+    // Same gate names CircuitCompiler decodes; controlled gates qualify with one control on X, Y or Z.
+    private static int opcodeOf(QuantumGate gate) {
+        if (gate instanceof ControlledGate controlled) {
+            if (controlled.getNumControls() != 1) return NOT_CLIFFORD;
+            return switch (controlled.getBaseGate().getName()) {
+                case "NOT (Pauli-X)" -> OP_CNOT;
+                case "Pauli-Y" -> OP_CY;
+                case "Pauli-Z" -> OP_CZ;
+                default -> NOT_CLIFFORD;
+            };
+        }
+        return switch (gate.getName()) {
+            case "Hadamard" -> OP_H;
+            case "S" -> OP_S;
+            case "S Dagger" -> OP_S_DAGGER;
+            case "NOT (Pauli-X)" -> OP_X;
+            case "Pauli-Y" -> OP_Y;
+            case "Pauli-Z" -> OP_Z;
+            case "√X" -> OP_X_ROOT;
+            case "CNOT" -> gate.getNumQubits() == 2 ? OP_CNOT : NOT_CLIFFORD;
+            case "SWAP", "Swap" -> gate.getNumQubits() == 2 ? OP_SWAP : NOT_CLIFFORD;
+            default -> NOT_CLIFFORD;
+        };
+    }
+
+    public void executeOn(StabilizerState state) {
+        if (state.getNumQubits() != numQubits) throw new IllegalArgumentException("State must have " + numQubits + " qubits, got: " + state.getNumQubits());
+        for (int pc = 0; pc < opcodes.length; pc++) {
+            int a = firstQubits[pc], b = secondQubits[pc];
+            switch (opcodes[pc]) {
+                case OP_H -> state.applyHadamard(a);
+                case OP_S -> state.applyS(a);
+                case OP_S_DAGGER -> state.applySDagger(a);
+                case OP_X -> state.applyX(a);
+                case OP_Y -> state.applyY(a);
+                case OP_Z -> state.applyZ(a);
+                case OP_X_ROOT -> state.applyXRoot(a);
+                case OP_CNOT -> state.applyCNOT(a, b);
+                case OP_CY -> state.applyCY(a, b);
+                case OP_CZ -> state.applyCZ(a, b);
+                default -> state.applySwap(a, b);
+            }
+        }
+    }
+
+    public int getNumQubits() {return numQubits;}
+
+    public int getInstructionCount() {return opcodes.length;}
+}
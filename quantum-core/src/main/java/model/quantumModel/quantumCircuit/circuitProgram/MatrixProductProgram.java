@@ -0,0 +1,66 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumCircuit.circuitProgram;
+
+import model.quantumModel.quantumCircuit.QuantumCircuit;
+import model.quantumModel.quantumGate.GateOperation;
+import model.quantumModel.quantumGate.MeasurementGate;
+import model.quantumModel.quantumState.mps.MatrixProductState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The layers of a circuit decoded once into target lists and interleaved matrices for a
+ * {@link MatrixProductState}. Single-qubit gates stay local to their site; wider gates are
+ * contracted and split again by the state. As on the other paths, measurement gates inside the
+ * circuit do not collapse the state and are skipped.
+ */
+public final class MatrixProductProgram {
+    private final int numQubits;
+    private final int[][] targets;
+    private final double[][] matrices;
+
+    private MatrixProductProgram(int numQubits, int[][] targets, double[][] matrices) {
+        this.numQubits = numQubits;
+        this.targets = targets;
+        this.matrices = matrices;
+    }
+
+    public static MatrixProductProgram compile(QuantumCircuit circuit) {
+        List<int[]> targetList = new ArrayList<>();
+        List<double[]> matrixList = new ArrayList<>();
+        for (GateOperation operation : circuit.getOperations()) {
+            if (operation.getGate() instanceof MeasurementGate) continue;
+            int[] qubits = operation.getTargetQubits();
+            for (int qubit : qubits) {
+                if (qubit < 0 || qubit >= circuit.getNQubits()) throw new IllegalArgumentException("Operation " + operation + " targets qubit outside the circuit");
+            }
+            targetList.add(qubits.clone());
+            matrixList.add(operation.getGate().getMatrix().toInterleavedArray());
+        }
+        return new MatrixProductProgram(circuit.getNQubits(), targetList.toArray(new int[0][]), matrixList.toArray(new double[0][]));
+    }
+
+    public void executeOn(MatrixProductState state) {
+        if (state.getNumQubits() != numQubits) throw new IllegalArgumentException("State must have " + numQubits + " qubits, got: " + state.getNumQubits());
+        for (int pc = 0; pc < targets.length; pc++) state.applyGate(targets[pc], matrices[pc]);
+    }
+
+    public int getNumQubits() {return numQubits;}
+
+    public int getInstructionCount() {return targets.length;}
+}
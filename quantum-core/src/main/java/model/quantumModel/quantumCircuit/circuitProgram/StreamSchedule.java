@@ -0,0 +1,84 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumCircuit.circuitProgram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Groups the instructions of a {@link CircuitProgram} into streamed passes for an out-of-core
+ * state whose chunks span {@code chunkQubits} qubits. Every pass costs one read and one write of
+ * the whole state, so instructions are packed greedily: an instruction joins the current pass if
+ * it shares no qubit with any instruction left behind so far (then the two commute and may swap
+ * places) and the pass still streams chunk pairs, i.e. mixes at most one high qubit. A wider gate
+ * gets the chunk groups it needs. Measurements and generic fallbacks stay in place as barriers.
+ */
+final class StreamSchedule {
+    private static final int PAIRED_QUBITS = 1;
+
+    record Pass(long highQubits, int[] instructions, boolean barrier) {}
+
+    private final int chunkQubits;
+    private final List<Pass> passes;
+
+    StreamSchedule(CircuitProgram program, int chunkQubits) {
+        this.chunkQubits = chunkQubits;
+        this.passes = schedule(program, ~((1L << chunkQubits) - 1));
+    }
+
+    private static List<Pass> schedule(CircuitProgram program, long highMask) {
+        List<Pass> passes = new ArrayList<>();
+        List<Integer> remaining = new ArrayList<>();
+        for (int pc = 0; pc < program.getInstructionCount(); pc++) remaining.add(pc);
+        while (!remaining.isEmpty()) {
+            int head = remaining.get(0);
+            if (program.isBarrier(head)) {
+                passes.add(new Pass(0L, new int[]{head}, true));
+                remaining.remove(0);
+                continue;
+            }
+            List<Integer> taken = new ArrayList<>();
+            List<Integer> left = new ArrayList<>();
+            long high = 0;
+            long blocked = 0;
+            for (int pc : remaining) {
+                if (program.isBarrier(pc)) {
+                    blocked = -1L;
+                    left.add(pc);
+                    continue;
+                }
+                long support = program.supportOf(pc);
+                long needed = program.mixedQubitsOf(pc) & highMask;
+                long merged = high | needed;
+                boolean fits = Long.bitCount(merged) <= PAIRED_QUBITS || merged == high || merged == needed;
+                if ((support & blocked) == 0 && fits) {
+                    taken.add(pc);
+                    high = merged;
+                } else {
+                    blocked |= support;
+                    left.add(pc);
+                }
+            }
+            passes.add(new Pass(high, taken.stream().mapToInt(Integer::intValue).toArray(), false));
+            remaining = left;
+        }
+        return passes;
+    }
+
+    int getChunkQubits() {return chunkQubits;}
+
+    List<Pass> getPasses() {return passes;}
+}
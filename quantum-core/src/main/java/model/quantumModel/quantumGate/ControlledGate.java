@@ -0,0 +1,67 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumGate;
+
+import model.mathModel.Complex;
+import model.mathModel.Matrix;
+
+/**
+ * A base gate applied only where all control qubits are |1⟩. The first {@code numControls} qubits of
+ * an operation are the controls, the rest are handed to the base gate. Kernels only need the
+ * control mask and the base matrix, so the expanded 2^(c+k) matrix is built solely when someone
+ * asks for it through {@link #getMatrix()}.
+ */
+public class ControlledGate extends QuantumGate {
+    private final QuantumGate baseGate;
+    private final int numControls;
+
+    public ControlledGate(QuantumGate baseGate, int numControls) {
+        super(numControls + baseGate.getNumQubits(), "C-" + baseOf(baseGate).getName());
+        if (numControls < 1) throw new IllegalArgumentException("Controlled gate needs at least one control, got: " + numControls);
+        this.baseGate = baseOf(baseGate);
+        this.numControls = numControls + (baseGate instanceof ControlledGate nested ? nested.numControls : 0);
+    }
+
+    private static QuantumGate baseOf(QuantumGate gate) {
+        return gate instanceof ControlledGate nested ? nested.baseGate : gate;
+    }
+
+    @Override
+    public Matrix getMatrix() {
+        Matrix matrix = super.getMatrix();
+        if (matrix == null) {
+            Matrix base = baseGate.getMatrix();
+            int baseSize = base.getRows();
+            int size = baseSize << numControls;
+            int offset = size - baseSize;
+            matrix = new Matrix(size, size);
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    Complex value = i == j ? Complex.ONE : Complex.ZERO;
+                    if (i >= offset && j >= offset) value = base.get(i - offset, j - offset);
+                    matrix.set(i, j, value);
+                }
+            }
+            setUpdatedMatrix(matrix);
+        }
+        return matrix;
+    }
+
+    public boolean isMultiControlledNot() {return baseGate.getNumQubits() == 1 && baseGate.getName().equals("NOT (Pauli-X)");}
+
+    public QuantumGate getBaseGate() {return baseGate;}
+
+    public int getNumControls() {return numControls;}
+}
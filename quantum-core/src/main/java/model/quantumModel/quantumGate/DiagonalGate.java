@@ -0,0 +1,71 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumGate;
+
+import model.mathModel.Complex;
+import model.mathModel.Matrix;
+
+import java.util.List;
+
+/**
+ * Product of commuting diagonal gates kept as a phase table instead of a dense matrix. Entry
+ * {@code j} of the interleaved table is the phase of the basis state whose selected qubits, in
+ * ascending order, spell {@code j}; {@link #getQubits()} lists them highest first, matching the
+ * matrix convention where the first target is the most significant bit.
+ */
+public class DiagonalGate extends QuantumGate {
+    private final long qubitMask;
+    private final double[] phases;
+    private final List<String> accumulatedGateNames;
+
+    public DiagonalGate(long qubitMask, double[] phases, List<String> accumulatedGateNames) {
+        super(Long.bitCount(qubitMask), "Diagonal[" + String.join(", ", accumulatedGateNames) + "]");
+        if (phases.length != 2 << Long.bitCount(qubitMask)) throw new IllegalArgumentException("Phase table must hold " + (1 << Long.bitCount(qubitMask)) + " interleaved entries");
+        this.qubitMask = qubitMask;
+        this.phases = phases;
+        this.accumulatedGateNames = List.copyOf(accumulatedGateNames);
+    }
+
+    @Override
+    public Matrix getMatrix() {
+        Matrix matrix = super.getMatrix();
+        if (matrix == null) {
+            int size = phases.length >> 1;
+            matrix = new Matrix(size, size);
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) matrix.set(i, j, Complex.ZERO);
+                matrix.set(i, i, new Complex(phases[2 * i], phases[2 * i + 1]));
+            }
+            setUpdatedMatrix(matrix);
+        }
+        return matrix;
+    }
+
+    public int[] getQubits() {
+        int[] qubits = new int[Long.bitCount(qubitMask)];
+        long remaining = qubitMask;
+        for (int k = qubits.length - 1; k >= 0; k--) {
+            qubits[k] = Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+        }
+        return qubits;
+    }
+
+    public long getQubitMask() {return qubitMask;}
+
+    public double[] getPhases() {return phases;}
+
+    public List<String> getAccumulatedGateNames() {return accumulatedGateNames;}
+}
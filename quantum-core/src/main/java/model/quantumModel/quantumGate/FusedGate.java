@@ -0,0 +1,37 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumGate;
+
+import model.mathModel.Matrix;
+
+import java.util.List;
+
+public class FusedGate extends QuantumGate {
+    private final List<String> fusedGateNames;
+    private final double[] interleavedMatrix;
+
+    public FusedGate(Matrix matrix, int numQubits, List<String> fusedGateNames) {
+        super(matrix, numQubits, "Fused[" + String.join(", ", fusedGateNames) + "]");
+        this.fusedGateNames = List.copyOf(fusedGateNames);
+        this.interleavedMatrix = matrix.toInterleavedArray();
+    }
+
+    public double[] getInterleavedMatrix() {return interleavedMatrix;}
+
+    public List<String> getFusedGateNames() {return fusedGateNames;}
+
+    public int getFusedGateCount() {return fusedGateNames.size();}
+}
@@ -14,7 +14,6 @@
 
 package model.quantumModel.quantumGate;
 
-import model.mathModel.Complex;
 import model.mathModel.Matrix;
 import model.quantumModel.quantumState.QuantumState;
 
@@ -22,6 +21,9 @@ import java.util.Arrays;
 import java.util.Set;
 
 public class GateOperation {
+    private static final Set<String> OPTIMIZED_GATES = Set.of("Hadamard", "NOT (Pauli-X)", "Pauli-Y", "Pauli-Z", "T (π/8)", "S",
+            "T Dagger", "S Dagger", "CNOT", "SWAP", "Toffoli", "√X");
+
     private QuantumGate gate;
     private int[] targetQubits;
 
@@ -37,55 +39,40 @@ public class GateOperation {
     }
 
     private void applyGeneralGate(QuantumState state) {
+        if (gate instanceof DiagonalGate diagonal) {
+            state.applyDiagonalTable(diagonal.getQubitMask(), diagonal.getPhases());
+            return;
+        }
+        if (gate instanceof ControlledGate controlled) {
+            applyControlledGate(state, controlled);
+            return;
+        }
         Matrix gateMatrix = gate.getMatrix();
-        Complex[] amplitudes = state.getAmplitudes();
-        Complex[] newAmplitudes = new Complex[amplitudes.length];
-        Arrays.fill(newAmplitudes, Complex.ZERO);
         if (gate.getNumQubits() == 1) {
-            int targetQubit = targetQubits[0];
-            applySingleQubitMatrix(amplitudes, newAmplitudes, gateMatrix, targetQubit);
-        } else applyMultiQubitMatrix(amplitudes, newAmplitudes, gateMatrix, targetQubits);
-        System.arraycopy(newAmplitudes, 0, amplitudes, 0, amplitudes.length);
-    }
-
-    private void applySingleQubitMatrix(Complex[] amplitudes, Complex[] newAmplitudes, Matrix gate, int targetQubit) {
-        Complex g00 = gate.get(0, 0);
-        Complex g01 = gate.get(0, 1);
-        Complex g10 = gate.get(1, 0);
-        Complex g11 = gate.get(1, 1);
-        int mask = 1 << targetQubit;
-        for (int i = 0; i < amplitudes.length; i += 2 * mask) {
-            for (int j = 0; j < mask; j++) {
-                Complex a0 = amplitudes[i + j];
-                Complex a1 = amplitudes[i + j + mask];
-                newAmplitudes[i + j] = g00.multiply(a0).add(g01.multiply(a1));
-                newAmplitudes[i + j + mask] = g10.multiply(a0).add(g11.multiply(a1));
-            }
+            state.applyMatrix(targetQubits[0], gateMatrix);
+            return;
+        }
+        if (gate.getNumQubits() == 2) {
+            double[] matrix = gate instanceof FusedGate fused ? fused.getInterleavedMatrix() : gateMatrix.toInterleavedArray();
+            state.applyTwoQubitMatrix(targetQubits[0], targetQubits[1], matrix);
+            return;
         }
+        state.applyMultiQubitMatrix(targetQubits, gateMatrix.toInterleavedArray());
     }
 
-    private void applyMultiQubitMatrix(Complex[] amplitudes, Complex[] newAmplitudes, Matrix gate, int[] targets) {
-        int gateSize = gate.getRows();
-        for (int i=0; i < amplitudes.length; i++) {
-            if (amplitudes[i].magnitude() < Complex.EPSILON) continue;
-            int targetBits = 0;
-            for (int k=0; k < targets.length; k++) if ((i & (1 << targets[k])) != 0) targetBits |= (1 << k);
-            for (int gateRow=0; gateRow < gateSize; gateRow++) {
-                Complex matrixElement = gate.get(gateRow, targetBits);
-                if (matrixElement.magnitude() < Complex.EPSILON) continue;
-                int j = i;
-                for (int k=0; k < targets.length; k++) {
-                    j &= ~(1 << targets[k]);
-                    if ((gateRow & (1 << k)) != 0) j |= (1 << targets[k]);
-                }
-                newAmplitudes[j] = newAmplitudes[j].add(matrixElement.multiply(amplitudes[i]));
-            }
-        }
+    private void applyControlledGate(QuantumState state, ControlledGate controlled) {
+        int numControls = controlled.getNumControls();
+        long controlMask = 0;
+        for (int i = 0; i < numControls; i++) controlMask |= 1L << targetQubits[i];
+        int[] baseTargets = Arrays.copyOfRange(targetQubits, numControls, targetQubits.length);
+        QuantumGate base = controlled.getBaseGate();
+        if (controlled.isMultiControlledNot()) state.applyMultiControlledNot(baseTargets[0], controlMask);
+        else if (base.getNumQubits() == 1) state.applyControlledMatrix(baseTargets[0], controlMask, base.getMatrix());
+        else state.applyMultiQubitMatrix(baseTargets, controlMask, base.getMatrix().toInterleavedArray());
     }
 
     private boolean isOptimizedGate(String gateName) {
-        return Set.of("Hadamard", "NOT (Pauli-X)", "Pauli-Y", "Pauli-Z", "T (π/8)", "S", "T Dagger", "S Dagger",
-                "CNOT", "SWAP", "Toffoli", "√X").contains(gateName) ||
+        return OPTIMIZED_GATES.contains(gateName) ||
                 gateName.startsWith("U(") || gateName.startsWith("RZ(") || gateName.startsWith("RY(") ||
                 gateName.startsWith("RX(") || gateName.startsWith("P(");
     }
@@ -28,6 +28,12 @@ public class QuantumGate {
         validateGate();
     }
 
+    // For gates too wide to keep a dense matrix around; subclasses build it on first request.
+    protected QuantumGate(int numQubits, String name) {
+        this.numQubits = numQubits;
+        this.name = name;
+    }
+
     private void validateGate() {
         int expectedSize = (int) Math.pow(2, numQubits);
         if (matrix.getRows() != expectedSize || matrix.getCols() != expectedSize) {
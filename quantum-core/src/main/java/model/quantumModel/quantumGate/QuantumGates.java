@@ -44,11 +44,11 @@ public class QuantumGates {
         return new QuantumGate(buildToffoliMatrix(), 3, "Toffoli");
     }
 
-    public static QuantumGate controlled(QuantumGate gate) {
-        return new QuantumGate(
-                buildControlledMatrix(gate.getMatrix()), gate.getNumQubits() + 1, "C-" + gate.getName()
-        );
-    }
+    public static QuantumGate controlled(QuantumGate gate) {return new ControlledGate(gate, 1);}
+
+    public static QuantumGate controlled(QuantumGate gate, int numControls) {return new ControlledGate(gate, numControls);}
+
+    public static QuantumGate multiControlledNot(int numControls) {return new ControlledGate(not(), numControls);}
 
     private static Matrix buildCNotMatrix(){
         Complex[][] controlledX = new Complex[4][4];
@@ -90,18 +90,4 @@ public class QuantumGates {
         return new Matrix(toffoli);
     }
 
-    private static Matrix buildControlledMatrix(Matrix baseMatrix) {
-        int baseSize = baseMatrix.getRows();
-        int controlledSize = baseSize * 2;
-        Complex[][] controlledData = new Complex[controlledSize][controlledSize];
-        for (int i = 0; i < controlledSize; i++) {
-            for (int j = 0; j < controlledSize; j++) controlledData[i][j] = Complex.ZERO;
-        }
-        for (int i = 0; i < baseSize; i++) controlledData[i][i] = Complex.ONE;
-        for (int i = 0; i < baseSize; i++) {
-            for (int j = 0; j < baseSize; j++) controlledData[i + baseSize][j + baseSize] = baseMatrix.get(i, j);
-        }
-        return new Matrix(controlledData);
-    }
-
 }
@@ -0,0 +1,225 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumNoise;
+
+import model.mathModel.Matrix;
+
+import java.util.List;
+
+/**
+ * A noise channel {@code ρ → Σ_a K_a ρ K_a†} on {@code k} qubits, kept as its Kraus operators in
+ * interleaved 2^k × 2^k form with the first qubit of an operation as the most significant bit. The
+ * operators must satisfy {@code Σ_a K_a† K_a = I}, so the channel preserves the trace. A density
+ * matrix applies the whole channel at once through {@link #superoperator()}.
+ */
+public final class KrausChannel {
+    private static final double COMPLETENESS_TOLERANCE = 1e-9;
+    private static final double[] IDENTITY = {1, 0, 0, 0, 0, 0, 1, 0};
+    private static final double[] PAULI_X = {0, 0, 1, 0, 1, 0, 0, 0};
+    private static final double[] PAULI_Y = {0, 0, 0, -1, 0, 1, 0, 0};
+    private static final double[] PAULI_Z = {1, 0, 0, 0, 0, 0, -1, 0};
+
+    private final String name;
+    private final int numQubits;
+    private final double[][] operators;
+    private final double[] fixedProbabilities;
+    private volatile double[] superoperator;
+
+    private KrausChannel(String name, int numQubits, double[][] operators) {
+        if (numQubits < 1 || numQubits > 3) throw new IllegalArgumentException("Kraus channels act on 1 to 3 qubits, got: " + numQubits);
+        if (operators.length == 0) throw new IllegalArgumentException("Channel " + name + " needs at least one Kraus operator");
+        int size = 1 << numQubits;
+        for (double[] operator : operators) {
+            if (operator.length != 2 * size * size) throw new IllegalArgumentException("Kraus operators of " + name + " must be " + size + "x" + size);
+        }
+        this.name = name;
+        this.numQubits = numQubits;
+        this.operators = operators;
+        validateCompleteness();
+        this.fixedProbabilities = findFixedProbabilities();
+    }
+
+    public static KrausChannel of(String name, List<Matrix> operators) {
+        if (operators.isEmpty()) throw new IllegalArgumentException("Channel " + name + " needs at least one Kraus operator");
+        int size = operators.get(0).getRows();
+        if (Integer.bitCount(size) != 1 || size < 2) throw new IllegalArgumentException("Kraus operators must have a power of two dimension, got: " + size);
+        double[][] interleaved = new double[operators.size()][];
+        for (int a = 0; a < interleaved.length; a++) {
+            Matrix operator = operators.get(a);
+            if (operator.getRows() != size || operator.getCols() != size) throw new IllegalArgumentException("Kraus operators of " + name + " must all be " + size + "x" + size);
+            interleaved[a] = operator.toInterleavedArray();
+        }
+        return new KrausChannel(name, Integer.numberOfTrailingZeros(size), interleaved);
+    }
+
+    // ρ → (1 - p) ρ + p I/2: with probability p the qubit is replaced by the maximally mixed state.
+    public static KrausChannel depolarizing(double p) {
+        validateProbability(p, "Depolarizing");
+        return new KrausChannel("depolarizing(" + p + ")", 1, new double[][]{
+                scaled(IDENTITY, Math.sqrt(1 - 0.75 * p)), scaled(PAULI_X, Math.sqrt(p / 4)),
+                scaled(PAULI_Y, Math.sqrt(p / 4)), scaled(PAULI_Z, Math.sqrt(p / 4))});
+    }
+
+    // Energy relaxation: |1⟩ decays to |0⟩ with probability γ.
+    public static KrausChannel amplitudeDamping(double gamma) {
+        validateProbability(gamma, "Amplitude damping");
+        return new KrausChannel("amplitude-damping(" + gamma + ")", 1, new double[][]{
+                {1, 0, 0, 0, 0, 0, Math.sqrt(1 - gamma), 0}, {0, 0, Math.sqrt(gamma), 0, 0, 0, 0, 0}});
+    }
+
+    public static KrausChannel bitFlip(double p) {
+        validateProbability(p, "Bit flip");
+        return new KrausChannel("bit-flip(" + p + ")", 1, new double[][]{scaled(IDENTITY, Math.sqrt(1 - p)), scaled(PAULI_X, Math.sqrt(p))});
+    }
+
+    public static KrausChannel phaseFlip(double p) {
+        validateProbability(p, "Phase flip");
+        return new KrausChannel("phase-flip(" + p + ")", 1, new double[][]{scaled(IDENTITY, Math.sqrt(1 - p)), scaled(PAULI_Z, Math.sqrt(p))});
+    }
+
+    /** This channel followed by {@code next} on the same qubits, with operators {@code B_b A_a}. */
+    public KrausChannel then(KrausChannel next) {
+        if (next.numQubits != numQubits) throw new IllegalArgumentException("Cannot compose a " + numQubits + "-qubit channel with a " + next.numQubits + "-qubit channel");
+        int size = 1 << numQubits;
+        double[][] composed = new double[operators.length * next.operators.length][];
+        for (int b = 0; b < next.operators.length; b++) {
+            for (int a = 0; a < operators.length; a++) composed[b * operators.length + a] = multiply(next.operators[b], operators[a], size);
+        }
+        return new KrausChannel(name + " + " + next.name, numQubits, composed);
+    }
+
+    /**
+     * The channel as a 4^k × 4^k matrix acting on the vectorized density matrix, where element
+     * {@code ρ[r][c]} sits at local index {@code (c << k) | r}:
+     * {@code S[(c' << k) | r'][(c << k) | r] = Σ_a K_a[r'][r] · conj(K_a[c'][c])}.
+     */
+    public double[] superoperator() {
+        double[] s = superoperator;
+        if (s == null) {
+            int size = 1 << numQubits;
+            int dim = size * size;
+            s = new double[2 * dim * dim];
+            for (double[] k : operators) {
+                for (int cOut = 0; cOut < size; cOut++) {
+                    for (int rOut = 0; rOut < size; rOut++) {
+                        int row = (cOut * size + rOut) * dim;
+                        for (int c = 0; c < size; c++) {
+                            double br = k[2 * (cOut * size + c)], bi = -k[2 * (cOut * size + c) + 1];
+                            for (int r = 0; r < size; r++) {
+                                double ar = k[2 * (rOut * size + r)], ai = k[2 * (rOut * size + r) + 1];
+                                int at = 2 * (row + c * size + r);
+                                s[at] += ar * br - ai * bi;
+                                s[at + 1] += ar * bi + ai * br;
+                            }
+                        }
+                    }
+                }
+            }
+            superoperator = s;
+        }
+        return s;
+    }
+
+    // K_a†K_a = p_a I for every operator, so branch a is taken with probability p_a whatever the state.
+    private double[] findFixedProbabilities() {
+        int size = 1 << numQubits;
+        double[] probabilities = new double[operators.length];
+        for (int a = 0; a < operators.length; a++) {
+            double[] gram = multiply(adjoint(operators[a], size), operators[a], size);
+            probabilities[a] = gram[0];
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    double expected = i == j ? probabilities[a] : 0;
+                    if (Math.abs(gram[2 * (i * size + j)] - expected) > COMPLETENESS_TOLERANCE || Math.abs(gram[2 * (i * size + j) + 1]) > COMPLETENESS_TOLERANCE) return null;
+                }
+            }
+        }
+        return probabilities;
+    }
+
+    private void validateCompleteness() {
+        int size = 1 << numQubits;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                double re = 0, im = 0;
+                for (double[] k : operators) {
+                    for (int r = 0; r < size; r++) {
+                        double ar = k[2 * (r * size + i)], ai = -k[2 * (r * size + i) + 1];
+                        double br = k[2 * (r * size + j)], bi = k[2 * (r * size + j) + 1];
+                        re += ar * br - ai * bi;
+                        im += ar * bi + ai * br;
+                    }
+                }
+                if (Math.abs(re - (i == j ? 1 : 0)) > COMPLETENESS_TOLERANCE || Math.abs(im) > COMPLETENESS_TOLERANCE) {
+                    throw new IllegalArgumentException("Kraus operators of " + name + " do not sum to the identity (Σ K†K ≠ I)");
+                }
+            }
+        }
+    }
+
+    private static double[] multiply(double[] a, double[] b, int size) {
+        double[] product = new double[2 * size * size];
+        for (int i = 0; i < size; i++) {
+            for (int l = 0; l < size; l++) {
+                double ar = a[2 * (i * size + l)], ai = a[2 * (i * size + l) + 1];
+                for (int j = 0; j < size; j++) {
+                    double br = b[2 * (l * size + j)], bi = b[2 * (l * size + j) + 1];
+                    product[2 * (i * size + j)] += ar * br - ai * bi;
+                    product[2 * (i * size + j) + 1] += ar * bi + ai * br;
+                }
+            }
+        }
+        return product;
+    }
+
+    private static double[] adjoint(double[] matrix, int size) {
+        double[] adjoint = new double[matrix.length];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                adjoint[2 * (j * size + i)] = matrix[2 * (i * size + j)];
+                adjoint[2 * (j * size + i) + 1] = -matrix[2 * (i * size + j) + 1];
+            }
+        }
+        return adjoint;
+    }
+
+    private static double[] scaled(double[] matrix, double factor) {
+        double[] scaled = new double[matrix.length];
+        for (int i = 0; i < matrix.length; i++) scaled[i] = matrix[i] * factor;
+        return scaled;
+    }
+
+    private static void validateProbability(double p, String channel) {
+        if (!(p >= 0 && p <= 1)) throw new IllegalArgumentException(channel + " probability must be between 0 and 1, got: " + p);
+    }
+
+    public String getName() {return name;}
+
+    public int getNumQubits() {return numQubits;}
+
+    public int getOperatorCount() {return operators.length;}
+
+    public double[] getOperator(int index) {return operators[index].clone();}
+
+    /**
+     * Branch probabilities of a mixed-unitary channel, one whose operators are each {@code √p_a}
+     * times a unitary (depolarizing, bit flip, phase flip), so a trajectory can pick a branch
+     * without reading the state; null for channels such as amplitude damping.
+     */
+    public double[] getFixedProbabilities() {return fixedProbabilities == null ? null : fixedProbabilities.clone();}
+
+    @Override
+    public String toString() {return "KrausChannel{" + name + ", " + operators.length + " operators}";}
+}
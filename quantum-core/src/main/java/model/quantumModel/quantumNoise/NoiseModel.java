@@ -0,0 +1,57 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumNoise;
+
+import model.quantumModel.quantumGate.GateOperation;
+import model.quantumModel.quantumGate.MeasurementGate;
+
+import java.util.List;
+
+/**
+ * Gate noise as single-qubit {@link KrausChannel}s that follow every gate on each qubit the gate
+ * touches, controls included. Measurements are not followed by noise.
+ */
+public final class NoiseModel {
+    private static final NoiseModel NONE = new NoiseModel(List.of());
+
+    private final List<KrausChannel> channels;
+    private final KrausChannel combinedChannel;
+
+    NoiseModel(List<KrausChannel> channels) {
+        this.channels = List.copyOf(channels);
+        KrausChannel combined = null;
+        for (KrausChannel channel : this.channels) combined = combined == null ? channel : combined.then(channel);
+        this.combinedChannel = combined;
+    }
+
+    public static NoiseModel none() {return NONE;}
+
+    public static NoiseModelBuilder builder() {return new NoiseModelBuilder();}
+
+    public boolean isNoiseless() {return channels.isEmpty();}
+
+    public boolean isNoisy(GateOperation operation) {
+        return !channels.isEmpty() && !(operation.getGate() instanceof MeasurementGate);
+    }
+
+    // Channels in the order they act after a gate.
+    public List<KrausChannel> getChannels() {return channels;}
+
+    // All channels composed into one, so a density matrix pays a single pass per qubit; null when noiseless.
+    public KrausChannel getCombinedChannel() {return combinedChannel;}
+
+    @Override
+    public String toString() {return "NoiseModel{" + channels + "}";}
+}
@@ -0,0 +1,42 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumNoise;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class NoiseModelBuilder {
+    private final List<KrausChannel> channels;
+
+    public NoiseModelBuilder() {
+        this.channels = new ArrayList<>();
+    }
+
+    public NoiseModelBuilder depolarizing(double p) {return p != 0 ? channel(KrausChannel.depolarizing(p)) : this;}
+
+    public NoiseModelBuilder amplitudeDamping(double gamma) {return gamma != 0 ? channel(KrausChannel.amplitudeDamping(gamma)) : this;}
+
+    public NoiseModelBuilder bitFlip(double p) {return p != 0 ? channel(KrausChannel.bitFlip(p)) : this;}
+
+    public NoiseModelBuilder phaseFlip(double p) {return p != 0 ? channel(KrausChannel.phaseFlip(p)) : this;}
+
+    public NoiseModelBuilder channel(KrausChannel channel) {
+        if (channel.getNumQubits() != 1) throw new IllegalArgumentException("Gate noise must be a single-qubit channel, got: " + channel.getName());
+        channels.add(channel);
+        return this;
+    }
+
+    public NoiseModel build() {return channels.isEmpty() ? NoiseModel.none() : new NoiseModel(channels);}
+}
@@ -0,0 +1,26 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumNoise;
+
+import java.util.Map;
+
+// Outcome counts of a batch of noise trajectories, one measured shot per trajectory.
+public record TrajectoryResult(Map<Integer, Integer> counts, int trajectories, int workers, long elapsedNanos) {
+    public TrajectoryResult {
+        counts = Map.copyOf(counts);
+    }
+
+    public double trajectoriesPerSecond() {return elapsedNanos > 0 ? trajectories * 1e9 / elapsedNanos : 0.0;}
+}
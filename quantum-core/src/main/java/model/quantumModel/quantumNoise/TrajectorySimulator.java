@@ -0,0 +1,250 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumNoise;
+
+import model.quantumModel.quantumCircuit.QuantumCircuit;
+import model.quantumModel.quantumCircuit.circuitProgram.CircuitProgram;
+import model.quantumModel.quantumGate.GateOperation;
+import model.quantumModel.quantumGate.MeasurementGate;
+import model.quantumModel.quantumState.QuantumState;
+import model.quantumModel.quantumState.stateVector.KernelExecutor;
+import model.quantumModel.quantumState.stateVector.MemoryBudget;
+import model.quantumModel.quantumState.stateVector.StateVector;
+import model.quantumModel.quantumState.stateVector.StateVectorPool;
+import model.quantumModel.quantumState.stateVector.StateVectors;
+import model.quantumModel.quantumState.stateVector.StorageMode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Noise by quantum trajectories: every trajectory runs the circuit on a pure state vector and, at
+ * each noise location, applies one Kraus operator {@code K_a} picked with probability
+ * {@code ||K_a ψ||²}, renormalizing afterwards; its final state is measured once. Averaged over
+ * trajectories this reproduces the density-matrix result at {@code 2^n} rather than {@code 4^n}
+ * memory per worker. For mixed-unitary channels the branch is drawn without reading the state and
+ * the identity branch costs nothing, so low noise rates stay close to the noiseless run time.
+ *
+ * <p>Trajectories run in batches of {@value #BATCH_SIZE} spread over the workers, each worker
+ * reusing one pooled buffer with sequential kernels. Batch {@code b} draws from the {@code b}-th
+ * {@link SplittableRandom} split off the seed and writes outcomes into its own slots, so the counts
+ * depend only on the seed and the trajectory count, never on the number of threads.
+ */
+public final class TrajectorySimulator {
+    static final int BATCH_SIZE = 64;
+    private static final int MAX_QUBITS = 31;
+
+    private final int numQubits;
+    private final CircuitProgram[] segments;
+    private final int[][] noisyQubits;
+    private final Branching[] channels;
+
+    public TrajectorySimulator(QuantumCircuit circuit, NoiseModel noise) {
+        this.numQubits = circuit.getNQubits();
+        if (numQubits > MAX_QUBITS) throw new IllegalArgumentException("Trajectory outcomes cover at most " + MAX_QUBITS + " qubits, got: " + numQubits);
+        List<CircuitProgram> programs = new ArrayList<>();
+        List<int[]> qubits = new ArrayList<>();
+        QuantumCircuit segment = new QuantumCircuit(numQubits);
+        boolean pending = false;
+        for (GateOperation operation : circuit.getOperations()) {
+            if (operation.getGate() instanceof MeasurementGate) continue;
+            segment.appendOperation(operation);
+            pending = true;
+            if (!noise.isNoisy(operation)) continue;
+            programs.add(CircuitProgram.compile(segment));
+            qubits.add(operation.getTargetQubits());
+            segment = new QuantumCircuit(numQubits);
+            pending = false;
+        }
+        if (pending) {
+            programs.add(CircuitProgram.compile(segment));
+            qubits.add(new int[0]);
+        }
+        this.segments = programs.toArray(new CircuitProgram[0]);
+        this.noisyQubits = qubits.toArray(new int[0][]);
+        this.channels = noise.getChannels().stream().map(Branching::new).toArray(Branching[]::new);
+    }
+
+    public TrajectoryResult run(QuantumState initialState, int trajectories, long seed) {
+        return run(initialState, trajectories, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    public TrajectoryResult run(QuantumState initialState, int trajectories, long seed, int parallelism) {
+        if (initialState.getNumQubits() != numQubits) throw new IllegalArgumentException("State must have " + numQubits + " qubits, got: " + initialState.getNumQubits());
+        if (trajectories < 1) throw new IllegalArgumentException("Number of trajectories must be positive, got: " + trajectories);
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be positive, got: " + parallelism);
+        long start = System.nanoTime();
+        int batches = (trajectories + BATCH_SIZE - 1) / BATCH_SIZE;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[batches];
+        for (int b = 0; b < batches; b++) streams[b] = root.split();
+        StorageMode mode = StateVectors.getStorageMode(numQubits);
+        int workers = Math.min(Math.min(parallelism, batches), maxBuffers(mode));
+        StateVectorPool pool = new StateVectorPool(numQubits, mode, workers);
+        StateVector initial = initialState.getStateVector();
+        int[] outcomes = new int[trajectories];
+        AtomicInteger nextBatch = new AtomicInteger();
+        Runnable worker = () -> {
+            StateVector vector = pool.acquire();
+            KernelExecutor executor = vector.getExecutor();
+            if (workers > 1) vector.setExecutor(KernelExecutor.sequential());
+            QuantumState state = QuantumState.unnormalized(vector);
+            try {
+                for (int b = nextBatch.getAndIncrement(); b < batches; b = nextBatch.getAndIncrement()) {
+                    int end = Math.min(trajectories, (b + 1) * BATCH_SIZE);
+                    for (int t = b * BATCH_SIZE; t < end; t++) outcomes[t] = runTrajectory(state, initial, streams[b]);
+                }
+            } finally {
+                vector.setExecutor(executor);
+                pool.release(vector);
+            }
+        };
+        if (workers == 1) worker.run();
+        else {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (int w = 0; w < workers; w++) tasks.add(ForkJoinPool.commonPool().submit(worker));
+            for (ForkJoinTask<?> task : tasks) task.join();
+        }
+        pool.clear();
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int outcome : outcomes) counts.merge(outcome, 1, Integer::sum);
+        return new TrajectoryResult(counts, trajectories, workers, System.nanoTime() - start);
+    }
+
+    private int runTrajectory(QuantumState state, StateVector initial, SplittableRandom random) {
+        StateVector vector = state.getStateVector();
+        vector.copyFrom(initial);
+        for (int pc = 0; pc < segments.length; pc++) {
+            segments[pc].executeOn(state);
+            for (int qubit : noisyQubits[pc]) {
+                for (Branching channel : channels) channel.apply(vector, qubit, random);
+            }
+        }
+        double u = random.nextDouble();
+        double cumulative = 0;
+        long last = 0;
+        for (long i = 0; i < vector.getDimension(); i++) {
+            double probability = vector.probability(i);
+            if (probability == 0) continue;
+            cumulative += probability;
+            last = i;
+            if (u < cumulative) break;
+        }
+        return (int) last;
+    }
+
+    // Workers each hold a full buffer, so no more of them run than the memory budget has room for.
+    private int maxBuffers(StorageMode mode) {
+        long buffers = MemoryBudget.getDefault().budgetFor(mode) / MemoryBudget.footprint(numQubits, mode);
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, buffers));
+    }
+
+    public int getNumQubits() {return numQubits;}
+
+    // Noise locations per trajectory: qubits touched by noisy gates.
+    public int getNoiseLocationCount() {
+        int locations = 0;
+        for (int[] qubits : noisyQubits) locations += qubits.length;
+        return locations;
+    }
+
+    // A single-qubit channel prepared for branch sampling on a pure state.
+    private static final class Branching {
+        private final double[][] operators;
+        private final double[] cumulative;
+        private final boolean[] identity;
+
+        private Branching(KrausChannel channel) {
+            int count = channel.getOperatorCount();
+            double[] fixed = channel.getFixedProbabilities();
+            this.operators = new double[count][];
+            this.identity = new boolean[count];
+            this.cumulative = fixed == null ? null : new double[count];
+            for (int a = 0; a < count; a++) {
+                double[] k = channel.getOperator(a);
+                if (fixed != null) {
+                    // K_a / √p_a is unitary; a multiple of the identity only changes the global phase.
+                    double scale = fixed[a] > 0 ? 1.0 / Math.sqrt(fixed[a]) : 0.0;
+                    for (int i = 0; i < k.length; i++) k[i] *= scale;
+                    identity[a] = k[2] == 0 && k[3] == 0 && k[4] == 0 && k[5] == 0 && k[0] == k[6] && k[1] == k[7];
+                    cumulative[a] = (a == 0 ? 0 : cumulative[a - 1]) + fixed[a];
+                }
+                operators[a] = k;
+            }
+        }
+
+        void apply(StateVector vector, int qubit, SplittableRandom random) {
+            double u = random.nextDouble();
+            if (cumulative != null) {
+                int a = 0;
+                while (a < cumulative.length - 1 && (u >= cumulative[a] || isImpossible(a))) a++;
+                while (a > 0 && isImpossible(a)) a--;
+                if (!identity[a]) applyScaled(vector, qubit, operators[a], 1.0);
+                return;
+            }
+            // Reduced density matrix of the qubit, [[p0, c], [c*, p1]], gives every ||K_a ψ||² in O(1).
+            double p0 = 0, p1 = 0, cr = 0, ci = 0;
+            long mask = 1L << qubit;
+            long half = vector.getDimension() >> 1;
+            for (long k = 0; k < half; k++) {
+                long i0 = ((k >>> qubit) << (qubit + 1)) | (k & (mask - 1));
+                long i1 = i0 | mask;
+                double ar = vector.real(i0), ai = vector.imaginary(i0), br = vector.real(i1), bi = vector.imaginary(i1);
+                p0 += ar * ar + ai * ai;
+                p1 += br * br + bi * bi;
+                cr += ar * br + ai * bi;
+                ci += ai * br - ar * bi;
+            }
+            double target = u * (p0 + p1);
+            double accumulated = 0;
+            int chosen = -1;
+            double chosenProbability = 0;
+            for (int a = 0; a < operators.length; a++) {
+                double probability = branchProbability(operators[a], p0, p1, cr, ci);
+                if (probability <= 0) continue;
+                chosen = a;
+                chosenProbability = probability;
+                accumulated += probability;
+                if (target < accumulated) break;
+            }
+            if (chosen >= 0) applyScaled(vector, qubit, operators[chosen], 1.0 / Math.sqrt(chosenProbability));
+        }
+
+        private boolean isImpossible(int a) {return cumulative[a] == (a == 0 ? 0 : cumulative[a - 1]);}
+
+        // Tr(K ρ K†) for ρ = [[p0, c], [c*, p1]] with c = cr + i ci.
+        private static double branchProbability(double[] k, double p0, double p1, double cr, double ci) {
+            double probability = 0;
+            for (int row = 0; row < 2; row++) {
+                double xr = k[4 * row], xi = k[4 * row + 1], yr = k[4 * row + 2], yi = k[4 * row + 3];
+                // |x|² p0 + |y|² p1 + 2 Re(x c conj(y))
+                double xcr = xr * cr - xi * ci, xci = xr * ci + xi * cr;
+                probability += (xr * xr + xi * xi) * p0 + (yr * yr + yi * yi) * p1 + 2 * (xcr * yr + xci * yi);
+            }
+            return probability;
+        }
+
+        private static void applyScaled(StateVector vector, int qubit, double[] k, double scale) {
+            vector.applyMatrix(qubit, k[0] * scale, k[1] * scale, k[2] * scale, k[3] * scale,
+                    k[4] * scale, k[5] * scale, k[6] * scale, k[7] * scale);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumOperator;
+
+import model.quantumModel.quantumState.QuantumState;
+import model.quantumModel.quantumState.stateVector.SparseStateVector;
+import model.quantumModel.quantumState.stateVector.StateVector;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Real-weighted sum of Hermitian Pauli strings. Terms that share an X-mask read the same amplitude
+ * pairs, so the expectation value makes one pass per distinct X-mask rather than one per term.
+ * The passes are cut into a fixed number of blocks per group and spread over the state's kernel
+ * executor; block sums are added in order, so the result does not depend on the thread count.
+ */
+public final class Hamiltonian {
+    private static final int MIN_BLOCK_QUBITS = 12;
+    private static final int MAX_BLOCK_BITS = 6;
+
+    private final int numQubits;
+    private final PauliString[] terms;
+    private final double[] coefficients;
+    private final long[] groupX;
+    private final long[][] groupZ;
+    private final int[][] groupTerms;
+
+    Hamiltonian(int numQubits, List<PauliString> terms, List<Double> coefficients) {
+        if (terms.isEmpty()) throw new IllegalArgumentException("Hamiltonian needs at least one term");
+        this.numQubits = numQubits;
+        this.terms = terms.toArray(new PauliString[0]);
+        this.coefficients = coefficients.stream().mapToDouble(Double::doubleValue).toArray();
+        Map<Long, List<Integer>> groups = new LinkedHashMap<>();
+        for (int t = 0; t < this.terms.length; t++) groups.computeIfAbsent(this.terms[t].getXMask(), x -> new ArrayList<>()).add(t);
+        this.groupX = new long[groups.size()];
+        this.groupZ = new long[groups.size()][];
+        this.groupTerms = new int[groups.size()][];
+        int g = 0;
+        for (Map.Entry<Long, List<Integer>> group : groups.entrySet()) {
+            groupX[g] = group.getKey();
+            groupTerms[g] = group.getValue().stream().mapToInt(Integer::intValue).toArray();
+            groupZ[g] = new long[groupTerms[g].length];
+            for (int k = 0; k < groupTerms[g].length; k++) groupZ[g][k] = this.terms[groupTerms[g][k]].getZMask();
+            g++;
+        }
+    }
+
+    public static HamiltonianBuilder builder() {return new HamiltonianBuilder();}
+
+    public double expectation(QuantumState state) {return expectation(state.getStateVector());}
+
+    public double expectation(StateVector vector) {
+        double[] values = termExpectations(vector);
+        double energy = 0.0;
+        for (int t = 0; t < values.length; t++) energy += coefficients[t] * values[t];
+        return energy;
+    }
+
+    public double[] termExpectations(QuantumState state) {return termExpectations(state.getStateVector());}
+
+    // ⟨ψ|P_t|ψ⟩ for every term, in term order and without the coefficients.
+    public double[] termExpectations(StateVector vector) {
+        terms[0].checkWidth(vector);
+        double[][] groupSums = PauliKernels.isTableBacked(vector) ? storedGroupSums((SparseStateVector) vector) : blockedGroupSums(vector);
+        double[] values = new double[terms.length];
+        for (int g = 0; g < groupX.length; g++) {
+            double[] sums = groupSums[g];
+            for (int k = 0; k < groupTerms[g].length; k++) {
+                int t = groupTerms[g][k];
+                // Hermitian terms have a real expectation; the imaginary part is rounding.
+                values[t] = PauliString.rotate(sums[2 * k], sums[2 * k + 1], terms[t].getOperatorPhase()).getRealPart();
+            }
+        }
+        return values;
+    }
+
+    // One pass per group over the stored entries; sparse states are small, so this stays sequential.
+    private double[][] storedGroupSums(SparseStateVector vector) {
+        double[][] groupSums = new double[groupX.length][];
+        for (int g = 0; g < groupX.length; g++) {
+            groupSums[g] = new double[2 * groupZ[g].length];
+            PauliKernels.accumulateStored(vector, groupX[g], groupZ[g], groupSums[g]);
+        }
+        return groupSums;
+    }
+
+    private double[][] blockedGroupSums(StateVector vector) {
+        int blockQubits = Math.min(numQubits, Math.max(MIN_BLOCK_QUBITS, numQubits - MAX_BLOCK_BITS));
+        int blocks = 1 << (numQubits - blockQubits);
+        double[][] partials = new double[groupX.length * blocks][];
+        vector.getExecutor().runBlocks(numQubits, partials.length, (from, to) -> {
+            for (long item = from; item < to; item++) {
+                int g = (int) (item / blocks);
+                long block = item % blocks;
+                double[] sums = new double[2 * groupZ[g].length];
+                PauliKernels.accumulate(vector, groupX[g], groupZ[g], block << blockQubits, (block + 1) << blockQubits, sums);
+                partials[(int) item] = sums;
+            }
+        });
+        double[][] groupSums = new double[groupX.length][];
+        for (int g = 0; g < groupX.length; g++) {
+            double[] sums = partials[g * blocks];
+            for (int b = 1; b < blocks; b++) {
+                double[] partial = partials[g * blocks + b];
+                for (int k = 0; k < sums.length; k++) sums[k] += partial[k];
+            }
+            groupSums[g] = sums;
+        }
+        return groupSums;
+    }
+
+    public int getNumQubits() {return numQubits;}
+
+    public int getTermCount() {return terms.length;}
+
+    // Distinct X-masks, i.e. amplitude passes per expectation value.
+    public int getGroupCount() {return groupX.length;}
+
+    public PauliString getTerm(int index) {return terms[index];}
+
+    public double getCoefficient(int index) {return coefficients[index];}
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int t = 0; t < terms.length; t++) {
+            if (t > 0) sb.append(" + ");
+            sb.append(coefficients[t]).append('*').append(terms[t]);
+        }
+        return sb.toString();
+    }
+}
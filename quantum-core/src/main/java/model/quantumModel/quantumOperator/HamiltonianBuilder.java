@@ -0,0 +1,44 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumOperator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class HamiltonianBuilder {
+    private final Map<PauliString, Double> terms;
+    private int numQubits;
+
+    public HamiltonianBuilder() {
+        this.terms = new LinkedHashMap<>();
+        this.numQubits = 0;
+    }
+
+    public HamiltonianBuilder term(double coefficient, String pauli) {return term(coefficient, PauliString.parse(pauli));}
+
+    // A sign in front of the string moves into the coefficient; repeated strings add up.
+    public HamiltonianBuilder term(double coefficient, PauliString pauli) {
+        if (!Double.isFinite(coefficient)) throw new IllegalArgumentException("Coefficient must be finite, got: " + coefficient);
+        if (!pauli.isHermitian()) throw new IllegalArgumentException("Hamiltonian terms must be Hermitian, got: " + pauli);
+        if (numQubits == 0) numQubits = pauli.getNumQubits();
+        else if (pauli.getNumQubits() != numQubits) throw new IllegalArgumentException("All terms must act on " + numQubits + " qubits, got: " + pauli);
+        PauliString positive = PauliString.of(numQubits, pauli.getXMask(), pauli.getZMask(), 0);
+        terms.merge(positive, pauli.getPhase() == 2 ? -coefficient : coefficient, Double::sum);
+        return this;
+    }
+
+    public Hamiltonian build() {return new Hamiltonian(numQubits, new ArrayList<>(terms.keySet()), new ArrayList<>(terms.values()));}
+}
@@ -0,0 +1,63 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumOperator;
+
+import model.quantumModel.quantumState.stateVector.SparseStateVector;
+import model.quantumModel.quantumState.stateVector.StateVector;
+
+// Amplitude loops shared by the Pauli operators.
+final class PauliKernels {
+    private PauliKernels() {}
+
+    // Sparse vectors that still keep a table are read entry by entry rather than over 2^n indices.
+    static boolean isTableBacked(StateVector vector) {return vector instanceof SparseStateVector sparse && !sparse.isDense();}
+
+    /**
+     * Adds {@code Σ conj(ψ[k ^ x]) ψ[k] (-1)^|k & z_t|} over {@code k} in {@code [from, to)} into
+     * {@code sums[2t]} (real) and {@code sums[2t + 1]} (imaginary) for every Z-mask {@code z_t};
+     * the terms share the X-mask, so each amplitude pair is read once for all of them.
+     */
+    static void accumulate(StateVector vector, long xMask, long[] zMasks, long from, long to, double[] sums) {
+        for (long k = from; k < to; k++) add(vector, xMask, zMasks, k, vector.real(k), vector.imaginary(k), sums);
+    }
+
+    // Same sum over the stored k only; the others have ψ[k] = 0 and add nothing.
+    static void accumulateStored(SparseStateVector vector, long xMask, long[] zMasks, double[] sums) {
+        vector.forEachStored((k, ar, ai) -> add(vector, xMask, zMasks, k, ar, ai, sums));
+    }
+
+    private static void add(StateVector vector, long xMask, long[] zMasks, long k, double ar, double ai, double[] sums) {
+        double pr, pi;
+        if (xMask == 0) {
+            pr = ar * ar + ai * ai;
+            pi = 0.0;
+        } else {
+            long j = k ^ xMask;
+            double br = vector.real(j), bi = vector.imaginary(j);
+            pr = br * ar + bi * ai;
+            pi = br * ai - bi * ar;
+        }
+        if (pr == 0 && pi == 0) return;
+        for (int t = 0; t < zMasks.length; t++) {
+            if ((Long.bitCount(k & zMasks[t]) & 1) == 0) {
+                sums[2 * t] += pr;
+                sums[2 * t + 1] += pi;
+            } else {
+                sums[2 * t] -= pr;
+                sums[2 * t + 1] -= pi;
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumOperator;
+
+import model.quantumModel.quantumState.QuantumState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Approximates {@code exp(-iHt)} for a {@link Hamiltonian} by product formulas of its terms, each
+ * {@code exp(-iθP)} applied in place as a Pauli rotation: one amplitude sweep per rotation, run on
+ * the state's kernel executor, with no matrix built. Order 1 is Lie-Trotter, order 2 the symmetric
+ * Strang splitting and order 4 Suzuki's fractal recursion over five order-2 steps, for errors of
+ * {@code O(t²/steps)}, {@code O(t³/steps²)} and {@code O(t⁵/steps⁴)}.
+ *
+ * <p>Adjacent rotations by the same term are merged: the middle term of a symmetric step, and the
+ * first term where consecutive steps meet, cost one sweep instead of two. Identity terms only
+ * contribute a global phase, applied once.
+ */
+public final class TrotterEvolution {
+    private static final double SUZUKI_P = 1.0 / (4.0 - Math.cbrt(4.0));
+
+    private final Hamiltonian hamiltonian;
+    private final int order;
+    private final int steps;
+    private final int[] active;
+    private final double identityCoefficient;
+
+    public TrotterEvolution(Hamiltonian hamiltonian, int order, int steps) {
+        if (order != 1 && order != 2 && order != 4) throw new IllegalArgumentException("Trotter order must be 1, 2 or 4, got: " + order);
+        if (steps < 1) throw new IllegalArgumentException("Number of Trotter steps must be positive, got: " + steps);
+        this.hamiltonian = hamiltonian;
+        this.order = order;
+        this.steps = steps;
+        List<Integer> terms = new ArrayList<>();
+        double identity = 0.0;
+        for (int t = 0; t < hamiltonian.getTermCount(); t++) {
+            if (hamiltonian.getTerm(t).isIdentity()) identity += hamiltonian.getCoefficient(t);
+            else terms.add(t);
+        }
+        this.active = terms.stream().mapToInt(Integer::intValue).toArray();
+        this.identityCoefficient = identity;
+    }
+
+    public void evolve(QuantumState state, double time) {
+        if (!Double.isFinite(time)) throw new IllegalArgumentException("Evolution time must be finite, got: " + time);
+        if (state.getNumQubits() != hamiltonian.getNumQubits()) throw new IllegalArgumentException("Hamiltonian acts on " + hamiltonian.getNumQubits() + " qubits, state has " + state.getNumQubits());
+        Schedule schedule = schedule(time);
+        for (int r = 0; r < schedule.size; r++) state.applyPauliRotation(hamiltonian.getTerm(schedule.terms[r]), schedule.angles[r]);
+        if (identityCoefficient != 0.0) state.applyPauliRotation(PauliString.identity(hamiltonian.getNumQubits()), identityCoefficient * time);
+    }
+
+    // Rotations, i.e. amplitude sweeps, one evolution costs.
+    public int getRotationCount() {return schedule(1.0).size + (identityCoefficient != 0.0 ? 1 : 0);}
+
+    public Hamiltonian getHamiltonian() {return hamiltonian;}
+
+    public int getOrder() {return order;}
+
+    public int getSteps() {return steps;}
+
+    private Schedule schedule(double time) {
+        Schedule schedule = new Schedule(steps * active.length * (order == 4 ? 10 : order) + 1);
+        double dt = time / steps;
+        for (int step = 0; step < steps; step++) {
+            switch (order) {
+                case 1 -> firstOrder(schedule, dt);
+                case 2 -> secondOrder(schedule, dt);
+                default -> {
+                    secondOrder(schedule, SUZUKI_P * dt);
+                    secondOrder(schedule, SUZUKI_P * dt);
+                    secondOrder(schedule, (1 - 4 * SUZUKI_P) * dt);
+                    secondOrder(schedule, SUZUKI_P * dt);
+                    secondOrder(schedule, SUZUKI_P * dt);
+                }
+            }
+        }
+        return schedule;
+    }
+
+    private void firstOrder(Schedule schedule, double dt) {
+        for (int term : active) schedule.add(term, hamiltonian.getCoefficient(term) * dt);
+    }
+
+    private void secondOrder(Schedule schedule, double dt) {
+        for (int term : active) schedule.add(term, hamiltonian.getCoefficient(term) * dt / 2);
+        for (int k = active.length - 1; k >= 0; k--) schedule.add(active[k], hamiltonian.getCoefficient(active[k]) * dt / 2);
+    }
+
+    // Term and angle of each rotation, in application order.
+    private static final class Schedule {
+        private final int[] terms;
+        private final double[] angles;
+        private int size;
+
+        private Schedule(int capacity) {
+            this.terms = new int[capacity];
+            this.angles = new double[capacity];
+        }
+
+        private void add(int term, double angle) {
+            if (size > 0 && terms[size - 1] == term) {
+                angles[size - 1] += angle;
+                return;
+            }
+            terms[size] = term;
+            angles[size++] = angle;
+        }
+    }
+}
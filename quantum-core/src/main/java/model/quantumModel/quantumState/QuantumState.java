@@ -17,26 +17,39 @@ package model.quantumModel.quantumState;
 import model.mathModel.Complex;
 import model.mathModel.Matrix;
 import model.quantumModel.quantumGate.QuantumGate;
+import model.quantumModel.quantumOperator.Hamiltonian;
+import model.quantumModel.quantumOperator.PauliString;
+import model.quantumModel.quantumOperator.TrotterEvolution;
 import model.quantumModel.quantumState.quantumStateUtils.MeasurementResult;
 import model.quantumModel.quantumState.quantumStateUtils.QuantumStateUtils;
+import model.quantumModel.quantumState.stateVector.KernelExecutor;
+import model.quantumModel.quantumState.stateVector.StateVector;
+import model.quantumModel.quantumState.stateVector.StateVectors;
 
+import java.util.Arrays;
 import java.util.Map;
 
 public class QuantumState implements Cloneable {
-    private final Complex[] amplitudes;
+    private static final double HALF_SQRT2 = 1.0 / Math.sqrt(2.0);
+
+    private final StateVector amplitudes;
     private final int numQubits;
     private final boolean isNormalized;
 
-    private QuantumState(Complex[] amplitudes, int numQubits, boolean skipValidation) {
-        this.numQubits = numQubits;
-        this.amplitudes = amplitudes.clone();
-        this.isNormalized = skipValidation || QuantumStateUtils.isNormalized(amplitudes);
+    private QuantumState(StateVector amplitudes, boolean skipValidation) {
+        this.numQubits = amplitudes.getNumQubits();
+        this.amplitudes = amplitudes;
+        this.isNormalized = skipValidation || Math.abs(amplitudes.normSquared() - 1.0) < amplitudes.getNormTolerance();
         if (!skipValidation && !this.isNormalized) {throw new IllegalArgumentException("State is not normalized");}
     }
 
+    private QuantumState(Complex[] amplitudes, int numQubits, boolean skipValidation) {
+        this(StateVectors.of(amplitudes, numQubits), skipValidation);
+    }
+
     public QuantumState(int numQubits) {
         this.numQubits = QuantumStateUtils.validatePositive(numQubits, "Number of qubits");
-        this.amplitudes = QuantumStateUtils.createZeroState(numQubits);
+        this.amplitudes = StateVectors.zero(numQubits);
         this.isNormalized = true;
     }
 
@@ -48,6 +61,13 @@ public class QuantumState implements Cloneable {
         this(new Complex[]{alpha, beta}, 1, false);
     }
 
+    public QuantumState(StateVector amplitudes) {
+        this(amplitudes, false);
+    }
+
+    // Skips the normalization check for vectors that only borrow the gate kernels, e.g. a vectorized density matrix.
+    public static QuantumState unnormalized(StateVector amplitudes) {return new QuantumState(amplitudes, true);}
+
     public static QuantumState zero(int numQubits) {return new QuantumState(numQubits);}
 
     public static QuantumState one(int numQubits) {return new QuantumState(QuantumStateUtils.createOneState(numQubits), numQubits, true);}
@@ -61,221 +81,180 @@ public class QuantumState implements Cloneable {
     }
 
     public void applyGate(QuantumGate gate) {
-        Complex[] newAmplitudes = QuantumStateUtils.applyGate(this, gate);
-        System.arraycopy(newAmplitudes, 0, this.amplitudes, 0, newAmplitudes.length);
+        amplitudes.load(QuantumStateUtils.applyGate(this, gate));
     }
 
-    public void applyHadamard(int targetQubit) {
+    public void applyMatrix(int targetQubit, Matrix matrix) {
+        if (matrix.getRows() != 2 || matrix.getCols() != 2) throw new IllegalArgumentException("Single qubit matrix must be 2x2");
         QuantumStateUtils.validateQubitIndex(targetQubit, this.numQubits);
-        int mask = 1 << targetQubit;
-        double factor = 1.0 / Math.sqrt(2.0);
-        for (int i = 0; i < amplitudes.length; i += 2 * mask) {
-            for (int j = 0; j < mask; j++) {
-                Complex a0 = amplitudes[i + j];
-                Complex a1 = amplitudes[i + j + mask];
-                amplitudes[i + j] = a0.add(a1).scale(factor);
-                amplitudes[i + j + mask] = a0.subtract(a1).scale(factor);
-            }
+        Complex g00 = matrix.get(0, 0);
+        Complex g01 = matrix.get(0, 1);
+        Complex g10 = matrix.get(1, 0);
+        Complex g11 = matrix.get(1, 1);
+        amplitudes.applyMatrix(targetQubit,
+                g00.getRealPart(), g00.getImaginaryPart(), g01.getRealPart(), g01.getImaginaryPart(),
+                g10.getRealPart(), g10.getImaginaryPart(), g11.getRealPart(), g11.getImaginaryPart());
+    }
+
+    public void applyTwoQubitMatrix(int highQubit, int lowQubit, Matrix matrix) {
+        if (matrix.getRows() != 4 || matrix.getCols() != 4) throw new IllegalArgumentException("Two qubit matrix must be 4x4");
+        applyTwoQubitMatrix(highQubit, lowQubit, matrix.toInterleavedArray());
+    }
+
+    public void applyTwoQubitMatrix(int highQubit, int lowQubit, double[] matrix) {
+        QuantumStateUtils.validateQubitIndex(highQubit, this.numQubits);
+        QuantumStateUtils.validateQubitIndex(lowQubit, this.numQubits);
+        if (highQubit == lowQubit) throw new IllegalArgumentException("Two qubit gate needs two different qubits");
+        if (matrix.length != 32) throw new IllegalArgumentException("Two qubit matrix must hold 16 interleaved complex entries");
+        amplitudes.applyTwoQubitMatrix(highQubit, lowQubit, matrix);
+    }
+
+    public void applyMultiQubitMatrix(int[] targets, double[] matrix) {applyMultiQubitMatrix(targets, 0L, matrix);}
+
+    public void applyMultiQubitMatrix(int[] targets, long controlMask, double[] matrix) {
+        long seen = validateControls(controlMask);
+        for (int target : targets) {
+            QuantumStateUtils.validateQubitIndex(target, this.numQubits);
+            if ((seen & (1L << target)) != 0) throw new IllegalArgumentException("Target qubits must be different from each other and from the controls, got: " + Arrays.toString(targets));
+            seen |= 1L << target;
         }
+        if (matrix.length != 2 << (2 * targets.length)) throw new IllegalArgumentException("Matrix must hold " + (1 << targets.length) + "x" + (1 << targets.length) + " interleaved complex entries");
+        amplitudes.applyMultiQubitMatrix(targets, controlMask, matrix);
+    }
+
+    public void applyControlledMatrix(int targetQubit, long controlMask, Matrix matrix) {
+        if (matrix.getRows() != 2 || matrix.getCols() != 2) throw new IllegalArgumentException("Single qubit matrix must be 2x2");
+        QuantumStateUtils.validateQubitIndex(targetQubit, this.numQubits);
+        if ((validateControls(controlMask) & (1L << targetQubit)) != 0) throw new IllegalArgumentException("Target qubit cannot also be a control");
+        Complex g00 = matrix.get(0, 0);
+        Complex g01 = matrix.get(0, 1);
+        Complex g10 = matrix.get(1, 0);
+        Complex g11 = matrix.get(1, 1);
+        amplitudes.applyControlledMatrix(targetQubit, controlMask,
+                g00.getRealPart(), g00.getImaginaryPart(), g01.getRealPart(), g01.getImaginaryPart(),
+                g10.getRealPart(), g10.getImaginaryPart(), g11.getRealPart(), g11.getImaginaryPart());
+    }
+
+    public void applyMultiControlledNot(int targetQubit, long controlMask) {
+        QuantumStateUtils.validateQubitIndex(targetQubit, this.numQubits);
+        if ((validateControls(controlMask) & (1L << targetQubit)) != 0) throw new IllegalArgumentException("Target qubit cannot also be a control");
+        amplitudes.applyNot(targetQubit, controlMask);
+    }
+
+    private long validateControls(long controlMask) {
+        if ((controlMask >>> numQubits) != 0) throw new IllegalArgumentException("Control mask selects qubits outside the state: " + Long.toBinaryString(controlMask));
+        return controlMask;
+    }
+
+    // exp(-iθP) in place, without building the 2^n x 2^n operator.
+    public void applyPauliRotation(PauliString pauli, double theta) {
+        if (pauli.getNumQubits() != numQubits) throw new IllegalArgumentException("Pauli string acts on " + pauli.getNumQubits() + " qubits, state has " + numQubits);
+        if (!pauli.isHermitian()) throw new IllegalArgumentException("Rotation generator must be Hermitian, got: " + pauli);
+        amplitudes.applyPauliRotation(pauli.getXMask(), pauli.getZMask(), pauli.getOperatorPhase(), theta);
+    }
+
+    public void applyDiagonalTable(long qubitMask, double[] phases) {
+        if (qubitMask == 0 || (qubitMask >>> numQubits) != 0) throw new IllegalArgumentException("Qubit mask must select qubits of the state, got: " + Long.toBinaryString(qubitMask));
+        if (phases.length != 2 << Long.bitCount(qubitMask)) throw new IllegalArgumentException("Phase table must hold one interleaved entry per selected basis state");
+        amplitudes.applyDiagonalTable(qubitMask, phases);
+    }
+
+    public void applyTiled(int tileQubits, Runnable gates) {
+        amplitudes.forEachTile(tileQubits, gates);
+    }
+
+    public void applyHadamard(int targetQubit) {
+        QuantumStateUtils.validateQubitIndex(targetQubit, this.numQubits);
+        amplitudes.applyMatrix(targetQubit, HALF_SQRT2, 0, HALF_SQRT2, 0, HALF_SQRT2, 0, -HALF_SQRT2, 0);
     }
 
     public void applyNot(int targetQubit) {
         QuantumStateUtils.validateQubitIndex(targetQubit, this.numQubits);
-        int mask = 1 << targetQubit;
-        for (int i = 0; i < amplitudes.length; i += 2 * mask) {
-            for (int j = 0; j < mask; j++) {
-                Complex temp = amplitudes[i + j];
-                amplitudes[i + j] = amplitudes[i + j + mask];
-                amplitudes[i + j + mask] = temp;
-            }
-        }
+        amplitudes.applyNot(targetQubit, 0L);
     }
 
     public void applyY(int targetQubit) {
         QuantumStateUtils.validateQubitIndex(targetQubit, this.numQubits);
-        int mask = 1 << targetQubit;
-        for (int i = 0; i < amplitudes.length; i += 2 * mask) {
-            for (int j = 0; j < mask; j++) {
-                Complex a0 = amplitudes[i + j];
-                Complex a1 = amplitudes[i + j + mask];
-                amplitudes[i + j] = a1.multiply(Complex.I);
-                amplitudes[i + j + mask] = a0.multiply(Complex.MINUS_I);
-            }
-        }
+        amplitudes.applyMatrix(targetQubit, 0, 0, 0, -1, 0, 1, 0, 0);
     }
 
     public void applyZ(int targetQubit) {
         QuantumStateUtils.validateQubitIndex(targetQubit, this.numQubits);
-        int mask = 1 << targetQubit;
-        for (int i = 0; i < amplitudes.length; i++) {
-            if ((i & mask) != 0) amplitudes[i] = amplitudes[i].scale(-1.0);
-        }
+        amplitudes.applyDiagonal(targetQubit, 1, 0, -1, 0);
     }
 
     public void applyT(int targetQubit) {
-        QuantumStateUtils.validateQubitIndex(targetQubit, this.numQubits);
-        int mask = 1 << targetQubit;
-        Complex tPhase = Complex.exponential(Math.PI / 4);
-        for (int i = 0; i < amplitudes.length; i++) {
-            if ((i & mask) != 0) amplitudes[i] = amplitudes[i].multiply(tPhase);
-        }
+        applyPhaseShift(targetQubit, Math.PI / 4);
     }
 
     public void applyS(int targetQubit) {
         QuantumStateUtils.validateQubitIndex(targetQubit, this.numQubits);
-        int mask = 1 << targetQubit;
-        for (int i = 0; i < amplitudes.length; i++) {
-            if ((i & mask) != 0) amplitudes[i] = amplitudes[i].multiply(Complex.I);
-        }
+        amplitudes.applyDiagonal(targetQubit, 1, 0, 0, 1);
     }
 
     public void applySDagger(int qubit) {
         QuantumStateUtils.validateQubitIndex(qubit, this.numQubits);
-        int mask = 1 << qubit;
-        for (int i = 0; i < amplitudes.length; i++) {
-            if ((i & mask) != 0) {
-                amplitudes[i] = amplitudes[i].multiply(Complex.MINUS_I);
-            }
-        }
+        amplitudes.applyDiagonal(qubit, 1, 0, 0, -1);
     }
 
     public void applyTDagger(int qubit) {
-        QuantumStateUtils.validateQubitIndex(qubit, this.numQubits);
-        int mask = 1 << qubit;
-        Complex tDaggerPhase = Complex.exponential(-Math.PI / 4);
-        for (int i = 0; i < amplitudes.length; i++) {
-            if ((i & mask) != 0) {
-                amplitudes[i] = amplitudes[i].multiply(tDaggerPhase);
-            }
-        }
+        applyPhaseShift(qubit, -Math.PI / 4);
     }
 
     public void applyXRoot(int qubit) {
         QuantumStateUtils.validateQubitIndex(qubit, this.numQubits);
-        int mask = 1 << qubit;
-        Complex onePlusI = new Complex(0.5, 0.5);
-        Complex oneMinusI = new Complex(0.5, -0.5);
-        for (int i = 0; i < amplitudes.length; i += 2 * mask) {
-            for (int j = 0; j < mask; j++) {
-                Complex a0 = amplitudes[i + j];
-                Complex a1 = amplitudes[i + j + mask];
-                amplitudes[i + j] = a0.multiply(onePlusI).add(a1.multiply(oneMinusI));
-                amplitudes[i + j + mask] = a0.multiply(oneMinusI).add(a1.multiply(onePlusI));
-            }
-        }
+        amplitudes.applyMatrix(qubit, 0.5, 0.5, 0.5, -0.5, 0.5, -0.5, 0.5, 0.5);
     }
 
     public void applyUnitary(int qubit, double theta, double phi, double lambda) {
         QuantumStateUtils.validateQubitIndex(qubit, this.numQubits);
-        int mask = 1 << qubit;
         double cosHalfTheta = Math.cos(theta / 2);
         double sinHalfTheta = Math.sin(theta / 2);
-        Complex u00 = new Complex(cosHalfTheta, 0);
-        Complex u01 = Complex.exponential(lambda).multiply(new Complex(-sinHalfTheta, 0));
-        Complex u10 = Complex.exponential(phi).multiply(new Complex(sinHalfTheta, 0));
-        Complex u11 = Complex.exponential(phi + lambda).multiply(new Complex(cosHalfTheta, 0));
-        for (int i = 0; i < amplitudes.length; i += 2 * mask) {
-            for (int j = 0; j < mask; j++) {
-                Complex a0 = amplitudes[i + j];
-                Complex a1 = amplitudes[i + j + mask];
-                amplitudes[i + j] = u00.multiply(a0).add(u01.multiply(a1));
-                amplitudes[i + j + mask] = u10.multiply(a0).add(u11.multiply(a1));
-            }
-        }
+        amplitudes.applyMatrix(qubit,
+                cosHalfTheta, 0,
+                -sinHalfTheta * Math.cos(lambda), -sinHalfTheta * Math.sin(lambda),
+                sinHalfTheta * Math.cos(phi), sinHalfTheta * Math.sin(phi),
+                cosHalfTheta * Math.cos(phi + lambda), cosHalfTheta * Math.sin(phi + lambda));
     }
 
     public void applyRZ(int qubit, double phi) {
         QuantumStateUtils.validateQubitIndex(qubit, this.numQubits);
-        int mask = 1 << qubit;
-        Complex phase0 = Complex.exponential(-phi / 2);
-        Complex phase1 = Complex.exponential(phi / 2);
-        for (int i = 0; i < amplitudes.length; i++) {
-            if ((i & mask) == 0) {
-                amplitudes[i] = amplitudes[i].multiply(phase0);
-            } else {
-                amplitudes[i] = amplitudes[i].multiply(phase1);
-            }
-        }
+        double cosHalfPhi = Math.cos(phi / 2);
+        double sinHalfPhi = Math.sin(phi / 2);
+        amplitudes.applyDiagonal(qubit, cosHalfPhi, -sinHalfPhi, cosHalfPhi, sinHalfPhi);
     }
 
     public void applyRY(int qubit, double theta) {
         QuantumStateUtils.validateQubitIndex(qubit, this.numQubits);
-        int mask = 1 << qubit;
         double cosHalfTheta = Math.cos(theta / 2);
         double sinHalfTheta = Math.sin(theta / 2);
-        for (int i = 0; i < amplitudes.length; i += 2 * mask) {
-            for (int j = 0; j < mask; j++) {
-                Complex a0 = amplitudes[i + j];
-                Complex a1 = amplitudes[i + j + mask];
-                amplitudes[i + j] = a0.scale(cosHalfTheta).subtract(a1.scale(sinHalfTheta));
-                amplitudes[i + j + mask] = a0.scale(sinHalfTheta).add(a1.scale(cosHalfTheta));
-            }
-        }
+        amplitudes.applyMatrix(qubit, cosHalfTheta, 0, -sinHalfTheta, 0, sinHalfTheta, 0, cosHalfTheta, 0);
     }
 
     public void applyRX(int qubit, double theta) {
         QuantumStateUtils.validateQubitIndex(qubit, this.numQubits);
-        int mask = 1 << qubit;
         double cosHalfTheta = Math.cos(theta / 2);
         double sinHalfTheta = Math.sin(theta / 2);
-        Complex minusISin = new Complex(0, -sinHalfTheta);
-        for (int i = 0; i < amplitudes.length; i += 2 * mask) {
-            for (int j = 0; j < mask; j++) {
-                Complex a0 = amplitudes[i + j];
-                Complex a1 = amplitudes[i + j + mask];
-                amplitudes[i + j] = a0.scale(cosHalfTheta).add(a1.multiply(minusISin));
-                amplitudes[i + j + mask] = a0.multiply(minusISin).add(a1.scale(cosHalfTheta));
-            }
-        }
+        amplitudes.applyMatrix(qubit, cosHalfTheta, 0, 0, -sinHalfTheta, 0, -sinHalfTheta, cosHalfTheta, 0);
     }
 
     public void applyPhaseShift(int qubit, double phi) {
         QuantumStateUtils.validateQubitIndex(qubit, this.numQubits);
-        int mask = 1 << qubit;
-        Complex phase = Complex.exponential(phi);
-        for (int i = 0; i < amplitudes.length; i++) {
-            if ((i & mask) != 0) {
-                amplitudes[i] = amplitudes[i].multiply(phase);
-            }
-        }
+        amplitudes.applyDiagonal(qubit, 1, 0, Math.cos(phi), Math.sin(phi));
     }
 
     public void applySwap(int qubit1, int qubit2) {
         QuantumStateUtils.validateQubitIndex(qubit1, this.numQubits);
         QuantumStateUtils.validateQubitIndex(qubit2, this.numQubits);
         if (qubit1 == qubit2) throw new IllegalArgumentException("Cannot swap a qubit with itself");
-        int mask1 = 1 << qubit1;
-        int mask2 = 1 << qubit2;
-        for (int i = 0; i < amplitudes.length; i++) {
-            boolean bit1 = (i & mask1) != 0;
-            boolean bit2 = (i & mask2) != 0;
-            if (bit1 != bit2) {
-                int swappedState = i ^ mask1 ^ mask2;
-                if (i < swappedState) {
-                    Complex temp = amplitudes[i];
-                    amplitudes[i] = amplitudes[swappedState];
-                    amplitudes[swappedState] = temp;
-                }
-            }
-        }
+        amplitudes.applySwap(qubit1, qubit2);
     }
 
     public void applyCNOT(int controlQubit, int targetQubit) {
         QuantumStateUtils.validateQubitIndex(controlQubit, this.numQubits);
         QuantumStateUtils.validateQubitIndex(targetQubit, this.numQubits);
         if (controlQubit == targetQubit) throw new IllegalArgumentException("Control and target qubits must be different");
-        int controlMask = 1 << controlQubit;
-        int targetMask = 1 << targetQubit;
-        for (int i = 0; i < amplitudes.length; i++) {
-            if ((i & controlMask) != 0) {
-                int flippedState = i ^ targetMask;
-                if (i < flippedState) {
-                    Complex temp = amplitudes[i];
-                    amplitudes[i] = amplitudes[flippedState];
-                    amplitudes[flippedState] = temp;
-                }
-            }
-        }
+        amplitudes.applyNot(targetQubit, 1L << controlQubit);
     }
 
     public void applyToffoli(int control1, int control2, int target) {
@@ -283,36 +262,32 @@ public class QuantumState implements Cloneable {
         QuantumStateUtils.validateQubitIndex(control2, this.numQubits);
         QuantumStateUtils.validateQubitIndex(target, this.numQubits);
         if (control1 == control2 || control1 == target || control2 == target) throw new IllegalArgumentException("All qubits must be different for Toffoli gate");
-        int control1Mask = 1 << control1;
-        int control2Mask = 1 << control2;
-        int targetMask = 1 << target;
-        for (int i = 0; i < amplitudes.length; i++) {
-            if ((i & control1Mask) != 0 && (i & control2Mask) != 0) {
-                int flippedState = i ^ targetMask;
-                if (i < flippedState) {
-                    Complex temp = amplitudes[i];
-                    amplitudes[i] = amplitudes[flippedState];
-                    amplitudes[flippedState] = temp;
-                }
-            }
-        }
+        amplitudes.applyNot(target, (1L << control1) | (1L << control2));
     }
 
     public QuantumState applyBitFlip(int targetQubit) {
-        return new QuantumState(QuantumStateUtils.applyBitFlip(amplitudes, targetQubit, numQubits), numQubits, true);
+        QuantumState flipped = clone();
+        flipped.applyNot(targetQubit);
+        return flipped;
     }
 
     public QuantumState applyPhaseFlip(int targetQubit) {
-        return new QuantumState(QuantumStateUtils.applyPhaseFlip(amplitudes, targetQubit, numQubits), numQubits, true);
+        QuantumState flipped = clone();
+        flipped.applyZ(targetQubit);
+        return flipped;
     }
 
     public QuantumState normalize() {
         if (isNormalized) return this;
-        return new QuantumState(QuantumStateUtils.normalize(amplitudes), numQubits, true);
+        double norm = Math.sqrt(amplitudes.normSquared());
+        if (norm < Complex.EPSILON) throw new IllegalStateException("Cannot normalize zero state");
+        StateVector normalized = amplitudes.copy();
+        normalized.scale(1.0 / norm);
+        return new QuantumState(normalized, true);
     }
 
     public Matrix densityMatrix() {
-        return QuantumStateUtils.findDensityMatrix(this.amplitudes);
+        return QuantumStateUtils.findDensityMatrix(getAmplitudes());
     }
 
     public QuantumState tensorProduct(QuantumState other) {return QuantumStateUtils.tensorProduct(this, other);}
@@ -325,22 +300,50 @@ public class QuantumState implements Cloneable {
         return QuantumStateUtils.measureMultiple(this, numMeasurements);
     }
 
-    public double[] getProbabilities() {return QuantumStateUtils.getProbabilities(amplitudes);}
+    public Map<Integer, Integer> measureMultiple(int numMeasurements, long seed) {
+        return QuantumStateUtils.measureMultiple(this, numMeasurements, seed);
+    }
+
+    public Map<Integer, Integer> measureMultiple(int[] qubits, int numMeasurements, long seed) {
+        return QuantumStateUtils.measureMultiple(this, qubits, numMeasurements, seed);
+    }
+
+    public double[] getProbabilities() {return amplitudes.probabilities();}
+
+    public double[] getMarginalProbabilities(int... qubits) {return QuantumStateUtils.marginalProbabilities(this, qubits);}
+
+    public Complex expectation(PauliString pauli) {return pauli.expectation(amplitudes);}
+
+    public double expectation(Hamiltonian hamiltonian) {return hamiltonian.expectation(amplitudes);}
+
+    // Trotterized exp(-iHt) in place; see TrotterEvolution.
+    public void evolve(Hamiltonian hamiltonian, double time, int order, int steps) {new TrotterEvolution(hamiltonian, order, steps).evolve(this, time);}
 
     public double fidelity(QuantumState other) {return QuantumStateUtils.fidelity(this, other);}
 
-    public double vonNeumannEntropy() {return QuantumStateUtils.vonNeumannEntropy(amplitudes);}
+    public double vonNeumannEntropy() {
+        double entropy = 0.0;
+        for (double prob : getProbabilities()) {
+            if (prob > Complex.EPSILON) entropy -= prob * Math.log(prob);
+        }
+        return entropy;
+    }
 
-    public Complex[] getAmplitudes() { return amplitudes.clone(); }
+    public Complex[] getAmplitudes() { return amplitudes.toComplexArray(); }
+    public Complex getAmplitude(int index) { return amplitudes.get(index); }
+    public void loadAmplitudes(Complex[] newAmplitudes) { amplitudes.load(newAmplitudes); }
+    public StateVector getStateVector() { return amplitudes; }
+    public void setKernelExecutor(KernelExecutor executor) { amplitudes.setExecutor(executor); }
+    public void release() { amplitudes.release(); }
     public int getNumQubits() { return numQubits; }
-    public int getDimension() { return amplitudes.length; }
+    public int getDimension() { return Math.toIntExact(amplitudes.getDimension()); }
     public boolean isNormalized() { return isNormalized; }
     public Complex getAlpha() { return QuantumStateUtils.alpha(this); }
     public Complex getBeta() { return QuantumStateUtils.beta(this); }
 
     @Override
-    public QuantumState clone() {return new QuantumState(amplitudes, numQubits, true);}
+    public QuantumState clone() {return new QuantumState(amplitudes.copy(), true);}
 
     @Override
-    public String toString() {return QuantumStateUtils.toString(amplitudes, numQubits);}
+    public String toString() {return QuantumStateUtils.toString(getAmplitudes(), numQubits);}
 }
\ No newline at end of file
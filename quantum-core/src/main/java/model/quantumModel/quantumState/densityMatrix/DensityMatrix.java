@@ -0,0 +1,296 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumState.densityMatrix;
+
+import model.mathModel.Complex;
+import model.mathModel.Matrix;
+import model.quantumModel.quantumCircuit.QuantumCircuit;
+import model.quantumModel.quantumCircuit.circuitProgram.CircuitProgram;
+import model.quantumModel.quantumGate.ControlledGate;
+import model.quantumModel.quantumGate.DiagonalGate;
+import model.quantumModel.quantumGate.GateOperation;
+import model.quantumModel.quantumGate.MeasurementGate;
+import model.quantumModel.quantumGate.QuantumGate;
+import model.quantumModel.quantumNoise.KrausChannel;
+import model.quantumModel.quantumNoise.NoiseModel;
+import model.quantumModel.quantumState.QuantumState;
+import model.quantumModel.quantumState.sampling.ShotSampler;
+import model.quantumModel.quantumState.stateVector.StateVector;
+import model.quantumModel.quantumState.stateVector.StateVectors;
+import model.quantumModel.quantumState.stateVector.StorageMode;
+
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Mixed state of {@code n} qubits stored as its 2^n × 2^n density matrix, flattened into a
+ * {@link StateVector} of {@code 2n} qubits: element {@code ρ[r][c]} sits at index
+ * {@code r | (c << n)}, so the low qubits index rows and the high qubits columns. A gate
+ * {@code ρ → U ρ U†} is then {@code U} on the row qubits followed by {@code conj(U)} on the column
+ * qubits, and a {@link KrausChannel} is its superoperator on the row and column copies of its
+ * qubits, so both run on the ordinary state vector kernels and circuits compile to a
+ * {@link CircuitProgram} on {@code 2n} qubits.
+ *
+ * <p>Memory grows with {@code 4^n}, so the representation suits circuits of up to about 14 qubits.
+ * The flattened vector has squared norm {@code Tr(ρ²)} rather than 1, which is why float32 storage,
+ * whose drift correction renormalizes to 1, falls back to double precision here.
+ */
+public final class DensityMatrix {
+    public static final int MAX_QUBITS = StateVector.MAX_QUBITS / 2;
+
+    private final int numQubits;
+    private final StateVector elements;
+    private final QuantumState vectorized;
+
+    public DensityMatrix(int numQubits) {
+        this(validateSize(numQubits), StateVectors.zero(2 * numQubits, storageMode(2 * numQubits)));
+    }
+
+    private DensityMatrix(int numQubits, StateVector elements) {
+        this.numQubits = numQubits;
+        this.elements = elements;
+        this.vectorized = QuantumState.unnormalized(elements);
+    }
+
+    // |ψ⟩⟨ψ| of a pure state; zero amplitudes are skipped, so sparse states stay cheap.
+    public static DensityMatrix of(QuantumState state) {
+        int n = state.getNumQubits();
+        DensityMatrix rho = new DensityMatrix(n);
+        StateVector psi = state.getStateVector();
+        long dimension = 1L << n;
+        rho.elements.set(0, 0.0, 0.0);
+        for (long c = 0; c < dimension; c++) {
+            double br = psi.real(c), bi = -psi.imaginary(c);
+            if (br == 0 && bi == 0) continue;
+            for (long r = 0; r < dimension; r++) {
+                double ar = psi.real(r), ai = psi.imaginary(r);
+                if (ar == 0 && ai == 0) continue;
+                rho.elements.set(r | (c << n), ar * br - ai * bi, ar * bi + ai * br);
+            }
+        }
+        return rho;
+    }
+
+    public DensityMatrix copy() {return new DensityMatrix(numQubits, elements.copy());}
+
+    public void applyGate(QuantumGate gate, int... targets) {
+        if (gate instanceof MeasurementGate) return;
+        validateTargets(targets);
+        new GateOperation(gate, targets).applyTo(vectorized);
+        new GateOperation(conjugate(gate, numQubits), shifted(targets, numQubits)).applyTo(vectorized);
+    }
+
+    public void applyChannel(KrausChannel channel, int... qubits) {
+        if (qubits.length != channel.getNumQubits()) throw new IllegalArgumentException("Channel " + channel.getName() + " acts on " + channel.getNumQubits() + " qubits, given: " + qubits.length);
+        validateTargets(qubits);
+        double[] superoperator = channel.superoperator();
+        if (qubits.length == 1) {
+            int qubit = qubits[0];
+            double[] diagonal = diagonalOf(superoperator);
+            if (diagonal != null) elements.applyDiagonalTable((1L << qubit) | (1L << (qubit + numQubits)), diagonal);
+            else elements.applyTwoQubitMatrix(qubit + numQubits, qubit, superoperator);
+            return;
+        }
+        int[] targets = new int[2 * qubits.length];
+        for (int i = 0; i < qubits.length; i++) {
+            targets[i] = qubits[i] + numQubits;
+            targets[qubits.length + i] = qubits[i];
+        }
+        elements.applyMultiQubitMatrix(targets, superoperator);
+    }
+
+    public void evolve(QuantumCircuit circuit) {evolve(circuit, NoiseModel.none());}
+
+    public void evolve(QuantumCircuit circuit, NoiseModel noise) {
+        if (circuit.getNQubits() != numQubits) throw new IllegalArgumentException("Circuit must have " + numQubits + " qubits, got: " + circuit.getNQubits());
+        CircuitProgram.compile(vectorize(circuit, noise)).executeOn(vectorized);
+    }
+
+    /**
+     * The {@code 2n}-qubit circuit that evolves the flattened density matrix: every gate is
+     * followed by its conjugate on the column qubits and, when the noise model says so, by the
+     * superoperator of its channels on each qubit it touched. Measurement gates are skipped, as
+     * they are on the state vector path.
+     */
+    public static QuantumCircuit vectorize(QuantumCircuit circuit, NoiseModel noise) {
+        int n = circuit.getNQubits();
+        validateSize(n);
+        QuantumCircuit doubled = new QuantumCircuit(2 * n);
+        KrausChannel channel = noise.getCombinedChannel();
+        for (GateOperation operation : circuit.getOperations()) {
+            QuantumGate gate = operation.getGate();
+            if (gate instanceof MeasurementGate) continue;
+            int[] targets = operation.getTargetQubits();
+            doubled.appendOperation(new GateOperation(gate, targets));
+            doubled.appendOperation(new GateOperation(conjugate(gate, n), shifted(targets, n)));
+            if (!noise.isNoisy(operation)) continue;
+            for (int qubit : targets) doubled.appendOperation(channelOperation(channel, qubit, n));
+        }
+        return doubled;
+    }
+
+    // Runs a program compiled from vectorize(...) on the flattened matrix.
+    public void run(CircuitProgram program, int tileQubits) {
+        if (program.getNumQubits() != 2 * numQubits) throw new IllegalArgumentException("Program must act on " + (2 * numQubits) + " qubits, got: " + program.getNumQubits());
+        program.executeOn(vectorized, tileQubits);
+    }
+
+    private static GateOperation channelOperation(KrausChannel channel, int qubit, int n) {
+        double[] superoperator = channel.superoperator();
+        double[] diagonal = diagonalOf(superoperator);
+        if (diagonal != null) {
+            DiagonalGate gate = new DiagonalGate((1L << qubit) | (1L << (qubit + n)), diagonal, List.of(channel.getName()));
+            return new GateOperation(gate, gate.getQubits());
+        }
+        return new GateOperation(new QuantumGate(toMatrix(superoperator, 4), 2, "Kraus[" + channel.getName() + "]"), qubit + n, qubit);
+    }
+
+    static QuantumGate conjugate(QuantumGate gate, int shift) {
+        if (gate instanceof DiagonalGate diagonal) {
+            double[] phases = diagonal.getPhases().clone();
+            for (int i = 1; i < phases.length; i += 2) phases[i] = -phases[i];
+            return new DiagonalGate(diagonal.getQubitMask() << shift, phases, diagonal.getAccumulatedGateNames());
+        }
+        if (gate instanceof ControlledGate controlled) {
+            QuantumGate base = conjugate(controlled.getBaseGate(), shift);
+            return base == controlled.getBaseGate() ? gate : new ControlledGate(base, controlled.getNumControls());
+        }
+        Matrix matrix = gate.getMatrix();
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int j = 0; j < matrix.getCols(); j++) {
+                if (matrix.get(i, j).getImaginaryPart() != 0) return new QuantumGate(matrix.conjugate(), gate.getNumQubits(), "conj(" + gate.getName() + ")");
+            }
+        }
+        return gate;
+    }
+
+    // The diagonal of a 4x4 superoperator in phase-table order, or null if it mixes elements.
+    private static double[] diagonalOf(double[] superoperator) {
+        if (superoperator.length != 32) return null;
+        double[] diagonal = new double[8];
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                double re = superoperator[2 * (4 * i + j)], im = superoperator[2 * (4 * i + j) + 1];
+                if (i == j) {
+                    diagonal[2 * i] = re;
+                    diagonal[2 * i + 1] = im;
+                } else if (re != 0 || im != 0) return null;
+            }
+        }
+        return diagonal;
+    }
+
+    public double trace() {
+        double trace = 0;
+        long dimension = 1L << numQubits;
+        for (long i = 0; i < dimension; i++) trace += elements.real(i | (i << numQubits));
+        return trace;
+    }
+
+    // Tr(ρ²), which for a Hermitian ρ is the squared norm of the flattened matrix.
+    public double purity() {return elements.normSquared();}
+
+    public Complex get(long row, long col) {
+        long index = row | (col << numQubits);
+        return new Complex(elements.real(index), elements.imaginary(index));
+    }
+
+    public double probability(long basisState) {
+        return Math.max(0.0, elements.real(basisState | (basisState << numQubits)));
+    }
+
+    public double[] probabilities() {
+        double[] probabilities = new double[Math.toIntExact(1L << numQubits)];
+        for (int i = 0; i < probabilities.length; i++) probabilities[i] = probability(i);
+        return probabilities;
+    }
+
+    // ⟨ψ|ρ|ψ⟩, the fidelity with a pure state.
+    public double fidelity(QuantumState state) {
+        if (state.getNumQubits() != numQubits) throw new IllegalArgumentException("State must have " + numQubits + " qubits, got: " + state.getNumQubits());
+        StateVector psi = state.getStateVector();
+        long dimension = 1L << numQubits;
+        double fidelity = 0;
+        for (long c = 0; c < dimension; c++) {
+            double br = psi.real(c), bi = psi.imaginary(c);
+            if (br == 0 && bi == 0) continue;
+            double sr = 0, si = 0;
+            for (long r = 0; r < dimension; r++) {
+                double ar = psi.real(r), ai = -psi.imaginary(r);
+                if (ar == 0 && ai == 0) continue;
+                long index = r | (c << numQubits);
+                double er = elements.real(index), ei = elements.imaginary(index);
+                sr += ar * er - ai * ei;
+                si += ar * ei + ai * er;
+            }
+            fidelity += sr * br - si * bi;
+        }
+        return fidelity;
+    }
+
+    public Map<Integer, Integer> sampleCounts(int shots, RandomGenerator random) {
+        return ShotSampler.of(probabilities()).sampleCounts(shots, random);
+    }
+
+    public Matrix toMatrix() {
+        if (numQubits > 12) throw new IllegalStateException("Matrix form is limited to 12 qubits, got: " + numQubits);
+        int dimension = 1 << numQubits;
+        Matrix matrix = new Matrix(dimension, dimension);
+        for (int r = 0; r < dimension; r++) {
+            for (int c = 0; c < dimension; c++) matrix.set(r, c, get(r, c));
+        }
+        return matrix;
+    }
+
+    private static Matrix toMatrix(double[] interleaved, int size) {
+        Matrix matrix = new Matrix(size, size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) matrix.set(i, j, new Complex(interleaved[2 * (i * size + j)], interleaved[2 * (i * size + j) + 1]));
+        }
+        return matrix;
+    }
+
+    private static int[] shifted(int[] targets, int shift) {
+        int[] shifted = new int[targets.length];
+        for (int i = 0; i < targets.length; i++) shifted[i] = targets[i] + shift;
+        return shifted;
+    }
+
+    private void validateTargets(int[] targets) {
+        for (int target : targets) {
+            if (target < 0 || target >= numQubits) throw new IllegalArgumentException("Qubit index " + target + " out of range for " + numQubits + " qubits");
+        }
+    }
+
+    private static int validateSize(int numQubits) {
+        if (numQubits < 1 || numQubits > MAX_QUBITS) throw new IllegalArgumentException("Density matrix must have between 1 and " + MAX_QUBITS + " qubits, given: " + numQubits);
+        return numQubits;
+    }
+
+    private static StorageMode storageMode(int elementQubits) {
+        StorageMode mode = StateVectors.getStorageMode(elementQubits);
+        return mode == StorageMode.FLOAT32 ? StorageMode.DENSE : mode;
+    }
+
+    public void release() {elements.release();}
+
+    public int getNumQubits() {return numQubits;}
+
+    public StateVector getElements() {return elements;}
+
+    @Override
+    public String toString() {return "DensityMatrix{" + numQubits + " qubits, trace=" + trace() + ", purity=" + purity() + "}";}
+}
@@ -0,0 +1,200 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumState.mps;
+
+/**
+ * Eigendecomposition of a Hermitian matrix held row-major in an interleaved {@code double[]}.
+ * Householder reflections reduce it to a tridiagonal matrix, a diagonal phase makes the
+ * off-diagonal real, and implicit QL iterations diagonalize the result while rotating the
+ * accumulated reflections into the eigenvectors. Everything stays in primitive arrays.
+ */
+final class HermitianEigensolver {
+    private static final double EPSILON = Math.ulp(1.0);
+
+    private HermitianEigensolver() {}
+
+    /**
+     * Overwrites {@code h} with the eigenvectors as rows, so eigenvector {@code i} starts at
+     * {@code 2 * i * n}, and returns the eigenvalues in the same, otherwise arbitrary, order.
+     */
+    static double[] decompose(double[] h, int n) {
+        double[] d = new double[n];
+        double[] e = new double[n];
+        tridiagonalize(h, n, d, e);
+        diagonalize(h, n, d, e);
+        return d;
+    }
+
+    // On return h holds (Q D)^T, with Q the product of the reflections and D the phases that make
+    // the sub-diagonal e real; d is the diagonal. Rows keep the QL rotations on contiguous memory.
+    private static void tridiagonalize(double[] h, int n, double[] d, double[] e) {
+        double[] q = new double[2 * n * n];
+        for (int i = 0; i < n; i++) q[2 * (i * n + i)] = 1.0;
+        double[] v = new double[2 * n];
+        double[] p = new double[2 * n];
+        for (int k = 0; k < n - 2; k++) {
+            int length = n - k - 1;
+            double alpha = 0;
+            for (int i = k + 1; i < n; i++) alpha += norm2(h, i * n + k);
+            alpha = Math.sqrt(alpha);
+            if (alpha == 0.0) continue;
+            double x0r = h[2 * ((k + 1) * n + k)], x0i = h[2 * ((k + 1) * n + k) + 1];
+            double x0 = Math.hypot(x0r, x0i);
+            double phr = x0 > 0 ? x0r / x0 : 1.0, phi = x0 > 0 ? x0i / x0 : 0.0;
+            // v = x + phase * alpha * e0 maps x onto -phase * alpha * e0.
+            for (int i = 0; i < length; i++) {
+                v[2 * i] = h[2 * ((k + 1 + i) * n + k)];
+                v[2 * i + 1] = h[2 * ((k + 1 + i) * n + k) + 1];
+            }
+            v[0] += phr * alpha;
+            v[1] += phi * alpha;
+            double vNorm = 0;
+            for (int i = 0; i < 2 * length; i++) vNorm += v[i] * v[i];
+            double beta = 2.0 / vNorm;
+
+            // p = beta * A' v on the trailing block, K = beta / 2 * v† p, q = p - K v.
+            double kr = 0;
+            for (int i = 0; i < length; i++) {
+                double sr = 0, si = 0;
+                int row = 2 * ((k + 1 + i) * n + k + 1);
+                for (int j = 0; j < length; j++) {
+                    double ar = h[row + 2 * j], ai = h[row + 2 * j + 1];
+                    sr += ar * v[2 * j] - ai * v[2 * j + 1];
+                    si += ar * v[2 * j + 1] + ai * v[2 * j];
+                }
+                p[2 * i] = beta * sr;
+                p[2 * i + 1] = beta * si;
+                kr += v[2 * i] * p[2 * i] + v[2 * i + 1] * p[2 * i + 1];
+            }
+            kr *= beta / 2;
+            for (int i = 0; i < length; i++) {
+                p[2 * i] -= kr * v[2 * i];
+                p[2 * i + 1] -= kr * v[2 * i + 1];
+            }
+            // A' -= v q† + q v†
+            for (int i = 0; i < length; i++) {
+                int row = 2 * ((k + 1 + i) * n + k + 1);
+                double vr = v[2 * i], vi = v[2 * i + 1], pr = p[2 * i], pi = p[2 * i + 1];
+                for (int j = 0; j < length; j++) {
+                    double wr = v[2 * j], wi = v[2 * j + 1], qr = p[2 * j], qi = p[2 * j + 1];
+                    h[row + 2 * j] -= vr * qr + vi * qi + pr * wr + pi * wi;
+                    h[row + 2 * j + 1] -= vi * qr - vr * qi + pi * wr - pr * wi;
+                }
+            }
+            h[2 * ((k + 1) * n + k)] = -phr * alpha;
+            h[2 * ((k + 1) * n + k) + 1] = -phi * alpha;
+            for (int i = k + 2; i < n; i++) {
+                h[2 * (i * n + k)] = 0.0;
+                h[2 * (i * n + k) + 1] = 0.0;
+            }
+            // Q -= beta (Q v) v† on columns k + 1 ..
+            for (int i = 0; i < n; i++) {
+                int row = 2 * (i * n + k + 1);
+                double sr = 0, si = 0;
+                for (int j = 0; j < length; j++) {
+                    double ar = q[row + 2 * j], ai = q[row + 2 * j + 1];
+                    sr += ar * v[2 * j] - ai * v[2 * j + 1];
+                    si += ar * v[2 * j + 1] + ai * v[2 * j];
+                }
+                sr *= beta;
+                si *= beta;
+                for (int j = 0; j < length; j++) {
+                    q[row + 2 * j] -= sr * v[2 * j] + si * v[2 * j + 1];
+                    q[row + 2 * j + 1] -= si * v[2 * j] - sr * v[2 * j + 1];
+                }
+            }
+        }
+        double deltaR = 1.0, deltaI = 0.0;
+        for (int i = 0; i < n; i++) {
+            d[i] = h[2 * (i * n + i)];
+            for (int r = 0; r < n; r++) {
+                double ar = q[2 * (r * n + i)], ai = q[2 * (r * n + i) + 1];
+                q[2 * (r * n + i)] = ar * deltaR - ai * deltaI;
+                q[2 * (r * n + i) + 1] = ar * deltaI + ai * deltaR;
+            }
+            if (i + 1 < n) {
+                double er = h[2 * ((i + 1) * n + i)], ei = h[2 * ((i + 1) * n + i) + 1];
+                double magnitude = Math.hypot(er, ei);
+                e[i] = magnitude;
+                if (magnitude > 0) {
+                    double nr = (deltaR * er - deltaI * ei) / magnitude, ni = (deltaR * ei + deltaI * er) / magnitude;
+                    deltaR = nr;
+                    deltaI = ni;
+                }
+            }
+        }
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                h[2 * (c * n + r)] = q[2 * (r * n + c)];
+                h[2 * (c * n + r) + 1] = q[2 * (r * n + c) + 1];
+            }
+        }
+    }
+
+    // Implicit QL on the real tridiagonal (d, e), with e[i] coupling i and i + 1, rotating the
+    // rows of z along.
+    private static void diagonalize(double[] z, int n, double[] d, double[] e) {
+        double f = 0.0, tst1 = 0.0;
+        for (int l = 0; l < n; l++) {
+            tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+            int m = l;
+            while (m < n - 1 && Math.abs(e[m]) > EPSILON * tst1) m++;
+            if (m > l) {
+                do {
+                    double g = d[l];
+                    double p = (d[l + 1] - g) / (2.0 * e[l]);
+                    double r = Math.hypot(p, 1.0);
+                    if (p < 0) r = -r;
+                    d[l] = e[l] / (p + r);
+                    d[l + 1] = e[l] * (p + r);
+                    double dl1 = d[l + 1];
+                    double shift = g - d[l];
+                    for (int i = l + 2; i < n; i++) d[i] -= shift;
+                    f += shift;
+                    p = d[m];
+                    double c = 1.0, c2 = c, c3 = c;
+                    double el1 = e[l + 1];
+                    double s = 0.0, s2 = 0.0;
+                    for (int i = m - 1; i >= l; i--) {
+                        c3 = c2;
+                        c2 = c;
+                        s2 = s;
+                        g = c * e[i];
+                        double hp = c * p;
+                        r = Math.hypot(p, e[i]);
+                        e[i + 1] = s * r;
+                        s = e[i] / r;
+                        c = p / r;
+                        p = c * d[i] - s * g;
+                        d[i + 1] = hp + s * (c * g + s * d[i]);
+                        for (int a = 2 * i * n, b = a + 2 * n, end = b; a < end; a++, b++) {
+                            double za = z[a], zb = z[b];
+                            z[b] = s * za + c * zb;
+                            z[a] = c * za - s * zb;
+                        }
+                    }
+                    p = -s * s2 * c3 * el1 * e[l] / dl1;
+                    e[l] = s * p;
+                    d[l] = c * p;
+                } while (Math.abs(e[l]) > EPSILON * tst1);
+            }
+            d[l] += f;
+            e[l] = 0.0;
+        }
+    }
+
+    private static double norm2(double[] m, int index) {return m[2 * index] * m[2 * index] + m[2 * index + 1] * m[2 * index + 1];}
+}
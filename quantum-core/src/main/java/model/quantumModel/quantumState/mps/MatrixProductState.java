@@ -0,0 +1,413 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumState.mps;
+
+import model.mathModel.Complex;
+import model.quantumModel.quantumState.QuantumState;
+import model.quantumModel.quantumState.stateVector.StateVector;
+import model.quantumModel.quantumState.stateVector.StateVectors;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * State of {@code n} qubits as a matrix product state: site {@code q} holds a tensor
+ * {@code A[l][b][r]} for qubit {@code q}, interleaved as {@code ((l * 2 + b) * right + r)}, and an
+ * amplitude is the product of the matrices picked out by its bits. The state is kept in mixed
+ * canonical form around an orthogonality center, so a gate is applied by moving the center next to
+ * it, contracting the sites it acts on, and splitting them again with a {@link TruncatedSvd} that
+ * keeps at most {@code maxBondDimension} Schmidt values and drops no more than
+ * {@code truncationError} of the weight per split. Gates on qubits that are not neighbours are
+ * brought together with SWAPs first and moved back afterwards.
+ *
+ * <p>Cost and memory grow with {@code n * χ^2} for bond dimension χ instead of {@code 2^n}, which
+ * makes weakly entangled circuits, e.g. shallow nearest-neighbour ones, of 50–100 qubits cheap.
+ */
+public final class MatrixProductState {
+    public static final int DEFAULT_MAX_BOND_DIMENSION = 64;
+    public static final double DEFAULT_TRUNCATION_ERROR = 1e-10;
+
+    private final int numQubits;
+    private final int maxBondDimension;
+    private final double truncationError;
+    private final double[][] tensors;
+    // bonds[q] is the left dimension of site q; bonds[0] = bonds[n] = 1.
+    private final int[] bonds;
+    private int center;
+    private double discardedWeight;
+    private double fidelityEstimate;
+
+    public MatrixProductState(int numQubits) {
+        this(numQubits, DEFAULT_MAX_BOND_DIMENSION, DEFAULT_TRUNCATION_ERROR);
+    }
+
+    public MatrixProductState(int numQubits, int maxBondDimension, double truncationError) {
+        if (numQubits < 1) throw new IllegalArgumentException("Matrix product state needs at least one qubit, got: " + numQubits);
+        if (maxBondDimension < 1) throw new IllegalArgumentException("Bond dimension must be positive, got: " + maxBondDimension);
+        if (truncationError < 0 || truncationError >= 1) throw new IllegalArgumentException("Truncation error must be in [0, 1), got: " + truncationError);
+        this.numQubits = numQubits;
+        this.maxBondDimension = maxBondDimension;
+        this.truncationError = truncationError;
+        this.tensors = new double[numQubits][];
+        this.bonds = new int[numQubits + 1];
+        for (int q = 0; q < numQubits; q++) tensors[q] = new double[]{1.0, 0.0, 0.0, 0.0};
+        Arrays.fill(bonds, 1);
+        this.fidelityEstimate = 1.0;
+    }
+
+    private MatrixProductState(MatrixProductState source) {
+        this.numQubits = source.numQubits;
+        this.maxBondDimension = source.maxBondDimension;
+        this.truncationError = source.truncationError;
+        this.tensors = new double[numQubits][];
+        for (int q = 0; q < numQubits; q++) tensors[q] = source.tensors[q].clone();
+        this.bonds = source.bonds.clone();
+        this.center = source.center;
+        this.discardedWeight = source.discardedWeight;
+        this.fidelityEstimate = source.fidelityEstimate;
+    }
+
+    // The computational basis state whose qubit q is bit q of the words in basis.
+    public static MatrixProductState basis(int numQubits, long[] basis, int maxBondDimension, double truncationError) {
+        MatrixProductState state = new MatrixProductState(numQubits, maxBondDimension, truncationError);
+        for (int q = 0; q < numQubits; q++) {
+            if ((q >>> 6) < basis.length && (basis[q >>> 6] >>> q & 1) != 0) state.tensors[q] = new double[]{0.0, 0.0, 1.0, 0.0};
+        }
+        return state;
+    }
+
+    public MatrixProductState copy() {return new MatrixProductState(this);}
+
+    // A 2x2 gate acts on the physical index alone and leaves the canonical form intact.
+    public void applySingleQubitGate(int qubit, double[] matrix) {
+        checkQubit(qubit);
+        if (matrix.length != 8) throw new IllegalArgumentException("Single qubit gate needs a 2x2 matrix");
+        double[] tensor = tensors[qubit];
+        int right = bonds[qubit + 1];
+        for (int l = 0; l < bonds[qubit]; l++) {
+            int o0 = 2 * (l * 2 * right), o1 = o0 + 2 * right;
+            for (int r = 0; r < 2 * right; r += 2) {
+                double ar = tensor[o0 + r], ai = tensor[o0 + r + 1], br = tensor[o1 + r], bi = tensor[o1 + r + 1];
+                tensor[o0 + r] = matrix[0] * ar - matrix[1] * ai + matrix[2] * br - matrix[3] * bi;
+                tensor[o0 + r + 1] = matrix[0] * ai + matrix[1] * ar + matrix[2] * bi + matrix[3] * br;
+                tensor[o1 + r] = matrix[4] * ar - matrix[5] * ai + matrix[6] * br - matrix[7] * bi;
+                tensor[o1 + r + 1] = matrix[4] * ai + matrix[5] * ar + matrix[6] * bi + matrix[7] * br;
+            }
+        }
+    }
+
+    /**
+     * Applies a gate given as an interleaved row-major matrix over {@code targets}, where
+     * {@code targets[0]} is the most significant bit of the matrix index.
+     */
+    public void applyGate(int[] targets, double[] matrix) {
+        int k = targets.length;
+        if (matrix.length != 2 << (2 * k)) throw new IllegalArgumentException("Gate on " + k + " qubits needs a " + (1 << k) + "x" + (1 << k) + " matrix");
+        if (k == 1) {
+            applySingleQubitGate(targets[0], matrix);
+            return;
+        }
+        int[] sorted = targets.clone();
+        Arrays.sort(sorted);
+        for (int j = 0; j < k; j++) {
+            checkQubit(sorted[j]);
+            if (j > 0 && sorted[j] == sorted[j - 1]) throw new IllegalArgumentException("Gate targets must be distinct, got qubit " + sorted[j] + " twice");
+        }
+        int first = sorted[0];
+        for (int j = 1; j < k; j++) {
+            for (int site = sorted[j]; site > first + j; site--) swapSites(site - 1);
+        }
+        // Site first + j ends up holding sorted[j], which is bit k - 1 - j of the block index.
+        int[] blockBit = new int[k];
+        for (int t = 0; t < k; t++) blockBit[t] = k - 1 - Arrays.binarySearch(sorted, targets[t]);
+        int dimension = 1 << k;
+        int[] blockIndex = new int[dimension];
+        for (int g = 0; g < dimension; g++) {
+            for (int t = 0; t < k; t++) blockIndex[g] |= ((g >>> (k - 1 - t)) & 1) << blockBit[t];
+        }
+        double[] block = new double[matrix.length];
+        for (int row = 0; row < dimension; row++) {
+            for (int col = 0; col < dimension; col++) {
+                int from = 2 * (row * dimension + col), to = 2 * (blockIndex[row] * dimension + blockIndex[col]);
+                block[to] = matrix[from];
+                block[to + 1] = matrix[from + 1];
+            }
+        }
+        applyContiguous(first, k, block);
+        for (int j = k - 1; j > 0; j--) {
+            for (int site = first + j; site < sorted[j]; site++) swapSites(site);
+        }
+    }
+
+    private void swapSites(int site) {
+        double[] swap = new double[32];
+        swap[0] = swap[2 * (1 * 4 + 2)] = swap[2 * (2 * 4 + 1)] = swap[30] = 1.0;
+        applyContiguous(site, 2, swap);
+    }
+
+    // Gate on sites first .. first + k - 1, with site first + j as bit k - 1 - j of the matrix index.
+    private void applyContiguous(int first, int k, double[] matrix) {
+        int last = first + k - 1;
+        if (center < first) moveCenter(first);
+        else if (center > last) moveCenter(last);
+
+        int left = bonds[first];
+        double[] block = tensors[first];
+        int physical = 2;
+        for (int site = first + 1; site <= last; site++) {
+            block = multiply(block, left * physical, bonds[site], tensors[site], 2 * bonds[site + 1]);
+            physical <<= 1;
+        }
+        int right = bonds[last + 1];
+
+        double[] updated = new double[block.length];
+        for (int l = 0; l < left; l++) {
+            int base = 2 * l * physical * right;
+            for (int p = 0; p < physical; p++) {
+                int out = base + 2 * p * right;
+                for (int c = 0; c < physical; c++) {
+                    double mr = matrix[2 * (p * physical + c)], mi = matrix[2 * (p * physical + c) + 1];
+                    if (mr == 0.0 && mi == 0.0) continue;
+                    int in = base + 2 * c * right;
+                    for (int r = 0; r < 2 * right; r += 2) {
+                        double ar = block[in + r], ai = block[in + r + 1];
+                        updated[out + r] += mr * ar - mi * ai;
+                        updated[out + r + 1] += mr * ai + mi * ar;
+                    }
+                }
+            }
+        }
+
+        block = updated;
+        for (int site = first; site < last; site++) {
+            physical >>= 1;
+            TruncatedSvd svd = split(block, left * 2, physical * right);
+            tensors[site] = svd.u;
+            bonds[site + 1] = svd.rank;
+            block = scaleRows(svd.vh, svd.singularValues, physical * right);
+            left = svd.rank;
+        }
+        tensors[last] = block;
+        center = last;
+    }
+
+    // Shifts the orthogonality center one site at a time; each step is an SVD of the center tensor.
+    private void moveCenter(int target) {
+        while (center < target) {
+            int left = bonds[center], right = bonds[center + 1];
+            TruncatedSvd svd = split(tensors[center], left * 2, right);
+            tensors[center] = svd.u;
+            bonds[center + 1] = svd.rank;
+            double[] carried = scaleRows(svd.vh, svd.singularValues, right);
+            tensors[center + 1] = multiply(carried, svd.rank, right, tensors[center + 1], 2 * bonds[center + 2]);
+            center++;
+        }
+        while (center > target) {
+            int left = bonds[center], right = bonds[center + 1];
+            TruncatedSvd svd = split(tensors[center], left, 2 * right);
+            tensors[center] = svd.vh;
+            bonds[center] = svd.rank;
+            double[] carried = scaleColumns(svd.u, left, svd.singularValues);
+            tensors[center - 1] = multiply(tensors[center - 1], bonds[center - 1] * 2, left, carried, svd.rank);
+            center--;
+        }
+    }
+
+    private TruncatedSvd split(double[] matrix, int rows, int cols) {
+        TruncatedSvd svd = TruncatedSvd.decompose(matrix, rows, cols, maxBondDimension, truncationError);
+        if (svd.discardedWeight > 0) {
+            discardedWeight += svd.discardedWeight;
+            fidelityEstimate *= 1.0 - svd.discardedWeight;
+        }
+        return svd;
+    }
+
+    public Complex amplitude(long[] basis) {
+        double[] environment = {1.0, 0.0};
+        for (int q = 0; q < numQubits; q++) {
+            int bit = (q >>> 6) < basis.length ? (int) (basis[q >>> 6] >>> q) & 1 : 0;
+            environment = contractSite(environment, q, bit);
+        }
+        return new Complex(environment[0], environment[1]);
+    }
+
+    public Complex amplitude(long index) {return amplitude(new long[]{index});}
+
+    public double probability(long[] basis) {
+        Complex amplitude = amplitude(basis);
+        return amplitude.getRealPart() * amplitude.getRealPart() + amplitude.getImaginaryPart() * amplitude.getImaginaryPart();
+    }
+
+    // environment (1 x left) times the matrix A[.][bit][.] of site q.
+    private double[] contractSite(double[] environment, int q, int bit) {
+        int left = bonds[q], right = bonds[q + 1];
+        double[] tensor = tensors[q];
+        double[] next = new double[2 * right];
+        for (int l = 0; l < left; l++) {
+            double er = environment[2 * l], ei = environment[2 * l + 1];
+            if (er == 0.0 && ei == 0.0) continue;
+            int o = 2 * ((l * 2 + bit) * right);
+            for (int r = 0; r < 2 * right; r += 2) {
+                next[r] += er * tensor[o + r] - ei * tensor[o + r + 1];
+                next[r + 1] += er * tensor[o + r + 1] + ei * tensor[o + r];
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Draws one outcome of measuring every qubit; bit q of the returned words is qubit q. With the
+     * center on site 0 every other site is right-orthonormal, so the weight of a partial outcome is
+     * just the norm of the contracted environment, and each qubit costs one site contraction.
+     */
+    public long[] sample(RandomGenerator random) {
+        moveCenter(0);
+        long[] outcome = new long[(numQubits + 63) >>> 6];
+        double[] environment = {1.0, 0.0};
+        for (int q = 0; q < numQubits; q++) {
+            double[] zero = contractSite(environment, q, 0);
+            double[] one = contractSite(environment, q, 1);
+            double p0 = squaredNorm(zero), p1 = squaredNorm(one);
+            boolean isOne = random.nextDouble() * (p0 + p1) >= p0;
+            double[] chosen = isOne ? one : zero;
+            double scale = 1.0 / Math.sqrt(isOne ? p1 : p0);
+            for (int i = 0; i < chosen.length; i++) chosen[i] *= scale;
+            if (isOne) outcome[q >>> 6] |= 1L << q;
+            environment = chosen;
+        }
+        return outcome;
+    }
+
+    // Same contract as QuantumState.measureMultiple: outcome index to count, for up to 31 qubits.
+    public Map<Integer, Integer> sampleCounts(int shots, RandomGenerator random) {
+        if (numQubits > 31) throw new IllegalStateException("Integer outcomes cover at most 31 qubits, got: " + numQubits + "; use sampleBitStrings");
+        validateShots(shots);
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int shot = 0; shot < shots; shot++) counts.merge((int) sample(random)[0], 1, Integer::sum);
+        return counts;
+    }
+
+    // Outcomes as bit strings with qubit 0 rightmost, for registers of any width.
+    public Map<String, Integer> sampleBitStrings(int shots, RandomGenerator random) {
+        validateShots(shots);
+        Map<String, Integer> counts = new HashMap<>();
+        char[] bits = new char[numQubits];
+        for (int shot = 0; shot < shots; shot++) {
+            long[] outcome = sample(random);
+            for (int q = 0; q < numQubits; q++) bits[numQubits - 1 - q] = (outcome[q >>> 6] >>> q & 1) != 0 ? '1' : '0';
+            counts.merge(new String(bits), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static void validateShots(int shots) {
+        if (shots <= 0) throw new IllegalArgumentException("Number of measurements must be positive, got: " + shots);
+    }
+
+    /**
+     * Expands the state into amplitudes by walking the outcome tree depth first, sharing the
+     * contraction of every prefix and skipping branches whose weight is exactly zero.
+     */
+    public StateVector toStateVector() {
+        if (numQubits > StateVector.MAX_QUBITS) throw new IllegalStateException("A state vector holds at most " + StateVector.MAX_QUBITS + " qubits, got: " + numQubits);
+        StateVector vector = StateVectors.zero(numQubits);
+        vector.set(0, 0.0, 0.0);
+        expand(vector, 0, 0L, new double[]{1.0, 0.0});
+        return vector;
+    }
+
+    private void expand(StateVector vector, int q, long index, double[] environment) {
+        if (q == numQubits) {
+            vector.set(index, environment[0], environment[1]);
+            return;
+        }
+        for (int bit = 0; bit < 2; bit++) {
+            double[] next = contractSite(environment, q, bit);
+            if (squaredNorm(next) > 0.0) expand(vector, q + 1, index | (long) bit << q, next);
+        }
+    }
+
+    public QuantumState toQuantumState() {return new QuantumState(toStateVector());}
+
+    // a (rows x inner) times b (inner x cols), row-major and interleaved.
+    private static double[] multiply(double[] a, int rows, int inner, double[] b, int cols) {
+        double[] product = new double[2 * rows * cols];
+        for (int i = 0; i < rows; i++) {
+            int out = 2 * i * cols;
+            for (int k = 0; k < inner; k++) {
+                double ar = a[2 * (i * inner + k)], ai = a[2 * (i * inner + k) + 1];
+                if (ar == 0.0 && ai == 0.0) continue;
+                int in = 2 * k * cols;
+                for (int j = 0; j < 2 * cols; j += 2) {
+                    product[out + j] += ar * b[in + j] - ai * b[in + j + 1];
+                    product[out + j + 1] += ar * b[in + j + 1] + ai * b[in + j];
+                }
+            }
+        }
+        return product;
+    }
+
+    private static double[] scaleRows(double[] m, double[] factors, int cols) {
+        for (int i = 0; i < factors.length; i++) {
+            for (int j = 2 * i * cols; j < 2 * (i + 1) * cols; j++) m[j] *= factors[i];
+        }
+        return m;
+    }
+
+    private static double[] scaleColumns(double[] m, int rows, double[] factors) {
+        int cols = factors.length;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                m[2 * (i * cols + j)] *= factors[j];
+                m[2 * (i * cols + j) + 1] *= factors[j];
+            }
+        }
+        return m;
+    }
+
+    private static double squaredNorm(double[] v) {
+        double sum = 0;
+        for (double x : v) sum += x * x;
+        return sum;
+    }
+
+    private void checkQubit(int qubit) {
+        if (qubit < 0 || qubit >= numQubits) throw new IndexOutOfBoundsException("Qubit index " + qubit + " out of bounds for " + numQubits + " qubits");
+    }
+
+    public int getNumQubits() {return numQubits;}
+
+    public int getMaxBondDimension() {return maxBondDimension;}
+
+    public double getTruncationError() {return truncationError;}
+
+    // Dimension of the bond between qubits q - 1 and q.
+    public int getBondDimension(int q) {return bonds[q];}
+
+    public int getLargestBondDimension() {
+        int largest = 1;
+        for (int bond : bonds) largest = Math.max(largest, bond);
+        return largest;
+    }
+
+    // Sum of the relative weights dropped by every truncation so far.
+    public double getDiscardedWeight() {return discardedWeight;}
+
+    // Product of the kept weight fractions, an estimate of the fidelity with the exact state.
+    public double getFidelityEstimate() {return fidelityEstimate;}
+}
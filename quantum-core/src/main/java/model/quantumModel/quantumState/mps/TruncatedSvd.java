@@ -0,0 +1,217 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumState.mps;
+
+/**
+ * Truncated singular value decomposition {@code A ≈ U diag(s) V†} of a complex matrix stored
+ * row-major in an interleaved {@code double[]}, as needed to split a contracted MPS block. As in
+ * density-matrix renormalization, the Hermitian Gram matrix of the smaller side, i.e. the reduced
+ * density matrix of the cut, is diagonalized: its eigenvalues are the squared singular values and
+ * its eigenvectors one set of singular vectors; the other set follows from one product with
+ * {@code A} and is re-orthonormalized. Kept values are rescaled so the Frobenius norm of the
+ * matrix, i.e. the norm of the state, is unchanged by the truncation.
+ */
+final class TruncatedSvd {
+    // Squared singular values this far below the largest are rounding noise of the Gram matrix.
+    private static final double NOISE_FLOOR = 1e-15;
+
+    final int rank;
+    final double[] u;
+    final double[] singularValues;
+    final double[] vh;
+    final double discardedWeight;
+
+    private TruncatedSvd(int rank, double[] u, double[] singularValues, double[] vh, double discardedWeight) {
+        this.rank = rank;
+        this.u = u;
+        this.singularValues = singularValues;
+        this.vh = vh;
+        this.discardedWeight = discardedWeight;
+    }
+
+    /**
+     * Decomposes the {@code rows x cols} matrix {@code a} and keeps at most {@code maxRank} singular
+     * values, dropping the smallest ones as long as their squared sum stays within
+     * {@code maxDiscardedWeight} of the total. {@code u} is {@code rows x rank}, {@code vh} is
+     * {@code rank x cols}, both row-major and interleaved.
+     */
+    static TruncatedSvd decompose(double[] a, int rows, int cols, int maxRank, double maxDiscardedWeight) {
+        boolean leftGram = rows <= cols;
+        int size = leftGram ? rows : cols;
+        double[] gram = leftGram ? gramOfRows(a, rows, cols) : gramOfColumns(a, rows, cols);
+        double[] weights = HermitianEigensolver.decompose(gram, size);
+
+        int[] order = new int[size];
+        double total = 0;
+        for (int j = 0; j < size; j++) {
+            weights[j] = Math.max(weights[j], 0.0);
+            total += weights[j];
+            int k = j;
+            for (; k > 0 && weights[order[k - 1]] < weights[j]; k--) order[k] = order[k - 1];
+            order[k] = j;
+        }
+        int rank = Math.min(maxRank, size);
+        while (rank > 1 && weights[order[rank - 1]] <= NOISE_FLOOR * weights[order[0]]) rank--;
+        double discarded = 0;
+        for (int j = rank; j < size; j++) discarded += weights[order[j]];
+        while (rank > 1 && discarded + weights[order[rank - 1]] <= maxDiscardedWeight * total) discarded += weights[order[--rank]];
+        double rescale = total > discarded ? Math.sqrt(total / (total - discarded)) : 1.0;
+
+        double[] s = new double[rank];
+        for (int k = 0; k < rank; k++) s[k] = Math.sqrt(weights[order[k]]) * rescale;
+        double[] left = new double[2 * rows * rank];
+        double[] right = new double[2 * rank * cols];
+        if (leftGram) {
+            // U from the eigenvectors of A A†, then V† = U† A with rows normalized.
+            for (int k = 0; k < rank; k++) {
+                for (int i = 0; i < rows; i++) {
+                    left[2 * (i * rank + k)] = gram[2 * (order[k] * size + i)];
+                    left[2 * (i * rank + k) + 1] = gram[2 * (order[k] * size + i) + 1];
+                }
+            }
+            for (int k = 0; k < rank; k++) {
+                for (int i = 0; i < rows; i++) {
+                    double ur = left[2 * (i * rank + k)], ui = -left[2 * (i * rank + k) + 1];
+                    if (ur == 0.0 && ui == 0.0) continue;
+                    int row = 2 * i * cols, out = 2 * k * cols;
+                    for (int c = 0; c < 2 * cols; c += 2) {
+                        right[out + c] += ur * a[row + c] - ui * a[row + c + 1];
+                        right[out + c + 1] += ur * a[row + c + 1] + ui * a[row + c];
+                    }
+                }
+            }
+            orthonormalizeRows(right, rank, cols);
+        } else {
+            // V from the eigenvectors of A† A, then U = A V with columns normalized.
+            for (int k = 0; k < rank; k++) {
+                for (int c = 0; c < cols; c++) {
+                    right[2 * (k * cols + c)] = gram[2 * (order[k] * size + c)];
+                    right[2 * (k * cols + c) + 1] = -gram[2 * (order[k] * size + c) + 1];
+                }
+            }
+            for (int i = 0; i < rows; i++) {
+                int row = 2 * i * cols;
+                for (int k = 0; k < rank; k++) {
+                    double sr = 0, si = 0;
+                    int in = 2 * k * cols;
+                    for (int c = 0; c < 2 * cols; c += 2) {
+                        double ar = a[row + c], ai = a[row + c + 1], vr = right[in + c], vi = -right[in + c + 1];
+                        sr += ar * vr - ai * vi;
+                        si += ar * vi + ai * vr;
+                    }
+                    left[2 * (i * rank + k)] = sr;
+                    left[2 * (i * rank + k) + 1] = si;
+                }
+            }
+            orthonormalizeColumns(left, rows, rank);
+        }
+        return new TruncatedSvd(rank, left, s, right, total > 0 ? discarded / total : 0.0);
+    }
+
+    // A A†, rows x rows.
+    private static double[] gramOfRows(double[] a, int rows, int cols) {
+        double[] gram = new double[2 * rows * rows];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j <= i; j++) {
+                double sr = 0, si = 0;
+                int x = 2 * i * cols, y = 2 * j * cols;
+                for (int c = 0; c < 2 * cols; c += 2) {
+                    sr += a[x + c] * a[y + c] + a[x + c + 1] * a[y + c + 1];
+                    si += a[x + c + 1] * a[y + c] - a[x + c] * a[y + c + 1];
+                }
+                setHermitian(gram, rows, i, j, sr, si);
+            }
+        }
+        return gram;
+    }
+
+    // A† A, cols x cols.
+    private static double[] gramOfColumns(double[] a, int rows, int cols) {
+        double[] gram = new double[2 * cols * cols];
+        for (int r = 0; r < rows; r++) {
+            int row = 2 * r * cols;
+            for (int i = 0; i < cols; i++) {
+                double xr = a[row + 2 * i], xi = -a[row + 2 * i + 1];
+                if (xr == 0.0 && xi == 0.0) continue;
+                int out = 2 * i * cols;
+                for (int j = 0; j <= i; j++) {
+                    double yr = a[row + 2 * j], yi = a[row + 2 * j + 1];
+                    gram[out + 2 * j] += xr * yr - xi * yi;
+                    gram[out + 2 * j + 1] += xr * yi + xi * yr;
+                }
+            }
+        }
+        for (int i = 0; i < cols; i++) {
+            for (int j = 0; j <= i; j++) setHermitian(gram, cols, i, j, gram[2 * (i * cols + j)], gram[2 * (i * cols + j) + 1]);
+        }
+        return gram;
+    }
+
+    private static void setHermitian(double[] m, int n, int i, int j, double re, double im) {
+        m[2 * (i * n + j)] = re;
+        m[2 * (i * n + j) + 1] = i == j ? 0.0 : im;
+        m[2 * (j * n + i)] = re;
+        m[2 * (j * n + i) + 1] = i == j ? 0.0 : -im;
+    }
+
+    // Modified Gram-Schmidt over rows; the Gram matrix only fixes them up to rounding.
+    private static void orthonormalizeRows(double[] m, int rows, int cols) {
+        for (int k = 0; k < rows; k++) {
+            int x = 2 * k * cols;
+            for (int j = 0; j < k; j++) {
+                int y = 2 * j * cols;
+                double sr = 0, si = 0;
+                for (int c = 0; c < 2 * cols; c += 2) {
+                    sr += m[y + c] * m[x + c] + m[y + c + 1] * m[x + c + 1];
+                    si += m[y + c] * m[x + c + 1] - m[y + c + 1] * m[x + c];
+                }
+                for (int c = 0; c < 2 * cols; c += 2) {
+                    m[x + c] -= sr * m[y + c] - si * m[y + c + 1];
+                    m[x + c + 1] -= sr * m[y + c + 1] + si * m[y + c];
+                }
+            }
+            double norm = 0;
+            for (int c = 0; c < 2 * cols; c++) norm += m[x + c] * m[x + c];
+            double inverse = norm > 0 ? 1.0 / Math.sqrt(norm) : 0.0;
+            for (int c = 0; c < 2 * cols; c++) m[x + c] *= inverse;
+        }
+    }
+
+    private static void orthonormalizeColumns(double[] m, int rows, int cols) {
+        for (int k = 0; k < cols; k++) {
+            for (int j = 0; j < k; j++) {
+                double sr = 0, si = 0;
+                for (int i = 0; i < rows; i++) {
+                    int y = 2 * (i * cols + j), x = 2 * (i * cols + k);
+                    sr += m[y] * m[x] + m[y + 1] * m[x + 1];
+                    si += m[y] * m[x + 1] - m[y + 1] * m[x];
+                }
+                for (int i = 0; i < rows; i++) {
+                    int y = 2 * (i * cols + j), x = 2 * (i * cols + k);
+                    m[x] -= sr * m[y] - si * m[y + 1];
+                    m[x + 1] -= sr * m[y + 1] + si * m[y];
+                }
+            }
+            double norm = 0;
+            for (int i = 0; i < rows; i++) norm += m[2 * (i * cols + k)] * m[2 * (i * cols + k)] + m[2 * (i * cols + k) + 1] * m[2 * (i * cols + k) + 1];
+            double inverse = norm > 0 ? 1.0 / Math.sqrt(norm) : 0.0;
+            for (int i = 0; i < rows; i++) {
+                m[2 * (i * cols + k)] *= inverse;
+                m[2 * (i * cols + k) + 1] *= inverse;
+            }
+        }
+    }
+}
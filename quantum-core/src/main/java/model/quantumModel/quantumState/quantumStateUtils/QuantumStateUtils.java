@@ -18,14 +18,19 @@ import model.mathModel.Complex;
 import model.mathModel.Matrix;
 import model.quantumModel.quantumGate.QuantumGate;
 import model.quantumModel.quantumState.QuantumState;
+import model.quantumModel.quantumState.sampling.ShotSampler;
+import model.quantumModel.quantumState.stateVector.SparseStateVector;
+import model.quantumModel.quantumState.stateVector.StateVector;
+import model.quantumModel.quantumState.stateVector.StateVectors;
+import model.quantumModel.quantumState.stateVector.StorageMode;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 
 public class QuantumStateUtils {
-    private static final Random random = new Random();
     private static final Map<String, Double[]> probabilityCache = new ConcurrentHashMap<>();
     private static final Map<String, Double> normCache = new ConcurrentHashMap<>();
 
@@ -53,6 +58,11 @@ public class QuantumStateUtils {
         if (!isNormalized(amplitudes)) {throw new IllegalArgumentException("State is not normalized");}
     }
 
+    // Checks against the vector's own tolerance, so float32 states are not held to double precision.
+    public static void validateNormalization(StateVector amplitudes) {
+        if (Math.abs(amplitudes.normSquared() - 1.0) >= amplitudes.getNormTolerance()) {throw new IllegalArgumentException("State is not normalized");}
+    }
+
     public static Matrix findDensityMatrix(Complex[] amplitudes) {
         int dimension = amplitudes.length;
         Matrix densityData = new Matrix(dimension, dimension);
@@ -145,77 +155,92 @@ public class QuantumStateUtils {
     }
 
     public static MeasurementResult measure(QuantumState state) {
-        validateNormalization(state.getAmplitudes());
-        Complex[] amplitudes = state.getAmplitudes();
-        double randomValue = random.nextDouble();
+        if (state.getNumQubits() > 31) throw new IllegalArgumentException("Integer outcomes cover at most 31 qubits, got: " + state.getNumQubits());
+        StateVector vector = state.getStateVector();
+        validateNormalization(vector);
+        double randomValue = ThreadLocalRandom.current().nextDouble();
+        int outcome = vector instanceof SparseStateVector sparse && !sparse.isDense() ? sampleStored(sparse, randomValue) : sample(vector, randomValue);
+        return new MeasurementResult(outcome, createCollapsedState(outcome, state.getNumQubits()), Math.min(1.0, vector.probability(outcome)));
+    }
+
+    private static int sample(StateVector vector, double randomValue) {
         double cumulativeProbability = 0.0;
-        for (int i = 0; i < amplitudes.length; i++) {
-            double probability = amplitudes[i].magnitudeSquared();
+        long outcome = 0;
+        for (long i = 0; i < vector.getDimension(); i++) {
+            double probability = vector.probability(i);
+            if (probability == 0) continue;
+            outcome = i;
             cumulativeProbability += probability;
-            if (randomValue < cumulativeProbability) {
-                return new MeasurementResult(i, createCollapsedState(i, state.getNumQubits()), probability);
-            }
+            if (randomValue < cumulativeProbability) break;
         }
-        int lastState = amplitudes.length - 1;
-        return new MeasurementResult(lastState,
-                createCollapsedState(lastState, state.getNumQubits()),
-                amplitudes[lastState].magnitudeSquared());
+        return (int) outcome;
+    }
+
+    // Same walk over the stored entries only, in table order; the others have probability 0.
+    private static int sampleStored(SparseStateVector vector, double randomValue) {
+        double[] cumulativeProbability = {0.0};
+        long[] outcome = {0};
+        vector.forEachStored((index, real, imaginary) -> {
+            double probability = real * real + imaginary * imaginary;
+            if (probability == 0 || randomValue < cumulativeProbability[0]) return;
+            outcome[0] = index;
+            cumulativeProbability[0] += probability;
+        });
+        return (int) outcome[0];
     }
 
     public static MeasurementResult measureQubit(QuantumState state, int qubitIndex) {
         validateQubitIndex(qubitIndex, state.getNumQubits());
-        Complex[] amplitudes = state.getAmplitudes();
-        double prob0 = 0.0, prob1 = 0.0;
-        for (int i = 0; i < amplitudes.length; i++) {
-            double prob = amplitudes[i].magnitudeSquared();
-            if ((i & (1 << qubitIndex)) == 0) {
-                prob0 += prob;
-            } else {
-                prob1 += prob;
-            }
+        StateVector vector = state.getStateVector();
+        double[] marginal = vector.marginal(1L << qubitIndex);
+        int result = ThreadLocalRandom.current().nextDouble() * (marginal[0] + marginal[1]) < marginal[0] ? 0 : 1;
+        // Keep the measured half of a copy and renormalize it in the same pass.
+        double scale = 1.0 / Math.sqrt(marginal[result]);
+        StateVector collapsed = vector.copy();
+        collapsed.applyDiagonal(qubitIndex, result == 0 ? scale : 0.0, 0.0, result == 1 ? scale : 0.0, 0.0);
+        return new MeasurementResult(result, new QuantumState(collapsed), Math.min(1.0, marginal[result]));
+    }
+
+    // Bucket j holds the probability that qubits[k] reads bit k of j, with the qubits sorted ascending.
+    public static double[] marginalProbabilities(QuantumState state, int... qubits) {
+        return state.getStateVector().marginal(qubitMask(qubits, state.getNumQubits()));
+    }
+
+    public static long qubitMask(int[] qubits, int numQubits) {
+        long mask = 0;
+        for (int qubit : qubits) {
+            validateQubitIndex(qubit, numQubits);
+            if ((mask & (1L << qubit)) != 0) throw new IllegalArgumentException("Qubit " + qubit + " is selected twice");
+            mask |= 1L << qubit;
         }
-        int result = random.nextDouble() < prob0 ? 0 : 1;
-        QuantumState collapsedState = collapseQubit(state, qubitIndex, result);
-        return new MeasurementResult(result, collapsedState, result == 0 ? prob0 : prob1);
+        if (mask == 0) throw new IllegalArgumentException("At least one qubit must be selected");
+        return mask;
     }
 
     public static Map<Integer, Integer> measureMultiple(QuantumState state, int numMeasurements) {
+        return measureMultiple(state, numMeasurements, ThreadLocalRandom.current().nextLong());
+    }
+
+    // Same seed, same counts, however many threads share the shots.
+    public static Map<Integer, Integer> measureMultiple(QuantumState state, int numMeasurements, long seed) {
         validatePositive(numMeasurements, "Number of measurements");
-        Map<Integer, Integer> results = new HashMap<>();
-        for (int i = 0; i < numMeasurements; i++) {
-            int result = measure(state).outcome();
-            results.merge(result, 1, Integer::sum);
-        }
-        return results;
+        validateNormalization(state.getStateVector());
+        return ShotSampler.of(state.getStateVector()).sampleCounts(numMeasurements, seed);
     }
 
-    private static QuantumState createCollapsedState(int measuredState, int numQubits) {
-        int size = 1 << numQubits;
-        Complex[] collapsedAmplitudes = new Complex[size];
-        Arrays.fill(collapsedAmplitudes, Complex.ZERO);
-        collapsedAmplitudes[measuredState] = Complex.ONE;
-        return new QuantumState(collapsedAmplitudes, numQubits);
+    // Shots on a subset of the qubits, drawn from its marginal; outcomes are indexed like marginalProbabilities.
+    public static Map<Integer, Integer> measureMultiple(QuantumState state, int[] qubits, int numMeasurements, long seed) {
+        validatePositive(numMeasurements, "Number of measurements");
+        validateNormalization(state.getStateVector());
+        return ShotSampler.of(marginalProbabilities(state, qubits)).sampleCounts(numMeasurements, seed);
     }
 
-    private static QuantumState collapseQubit(QuantumState state, int qubitIndex, int result) {
-        Complex[] amplitudes = state.getAmplitudes();
-        Complex[] newAmplitudes = new Complex[amplitudes.length];
-        double normalizationFactor = 0.0;
-        for (int i = 0; i < amplitudes.length; i++) {
-            if (((i >> qubitIndex) & 1) == result) {
-                normalizationFactor += amplitudes[i].magnitudeSquared();
-            }
-        }
-        normalizationFactor = Math.sqrt(normalizationFactor);
-        Complex factor = new Complex(1.0 / normalizationFactor, 0.0);
-        for (int i = 0; i < amplitudes.length; i++) {
-            if (((i >> qubitIndex) & 1) == result) {
-                newAmplitudes[i] = amplitudes[i].multiply(factor);
-            } else {
-                newAmplitudes[i] = Complex.ZERO;
-            }
-        }
-        return new QuantumState(newAmplitudes, state.getNumQubits());
+    // A basis state has a single non-zero amplitude, so it is kept sparse.
+    private static QuantumState createCollapsedState(int measuredState, int numQubits) {
+        StateVector collapsed = StateVectors.zero(numQubits, StorageMode.SPARSE);
+        collapsed.set(0, 0.0, 0.0);
+        collapsed.set(measuredState, 1.0, 0.0);
+        return new QuantumState(collapsed);
     }
 
     public static double[] getProbabilities(Complex[] amplitudes) {
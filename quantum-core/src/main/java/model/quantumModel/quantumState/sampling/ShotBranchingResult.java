@@ -0,0 +1,29 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumState.sampling;
+
+import java.util.Map;
+
+// Final outcome counts of a shot-branching run, plus shots per mid-circuit measurement record
+// (one bit group per layer, in circuit order) and the number of branches simulated.
+public record ShotBranchingResult(Map<Integer, Integer> counts, Map<String, Integer> records, int shots, int branches,
+                                  int buffersAllocated, long elapsedNanos) {
+    public ShotBranchingResult {
+        counts = Map.copyOf(counts);
+        records = Map.copyOf(records);
+    }
+
+    public double shotsPerSecond() {return elapsedNanos > 0 ? shots * 1e9 / elapsedNanos : 0.0;}
+}
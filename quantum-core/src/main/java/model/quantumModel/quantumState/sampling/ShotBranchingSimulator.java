@@ -0,0 +1,154 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumState.sampling;
+
+import model.quantumModel.quantumCircuit.QuantumCircuit;
+import model.quantumModel.quantumCircuit.circuitProgram.CircuitProgram;
+import model.quantumModel.quantumGate.GateOperation;
+import model.quantumModel.quantumGate.MeasurementGate;
+import model.quantumModel.quantumState.QuantumState;
+import model.quantumModel.quantumState.stateVector.StateVector;
+import model.quantumModel.quantumState.stateVector.StateVectorPool;
+import model.quantumModel.quantumState.stateVector.StateVectors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Runs many shots of a circuit with mid-circuit measurements without re-running it per shot. The
+ * gates before the first measurement run once; at each measurement the shots of a branch are
+ * split over the outcomes by sampling the marginal of the measured qubits, and only outcomes that
+ * received shots continue, each on its own projected copy of the state. Every distinct measurement
+ * history is therefore simulated exactly once, however many shots share it.
+ *
+ * <p>Measurements with no gate between them form one layer and branch together. Measurements at
+ * the end of the circuit do not branch at all: the remaining shots of each branch are drawn from
+ * its final distribution. Branches are explored depth first, so at most one buffer per layer is in
+ * use; they come from a {@link StateVectorPool}. Shot allocation splits the {@link SplittableRandom}
+ * seeded by the caller in a fixed order, so the counts depend only on the seed.
+ */
+public final class ShotBranchingSimulator {
+    private static final int MAX_QUBITS = 31;
+
+    private final int numQubits;
+    // segments[l] runs before measurement layer l, the last one after every layer; null when empty.
+    private final CircuitProgram[] segments;
+    private final long[] layerMasks;
+
+    public ShotBranchingSimulator(QuantumCircuit circuit) {
+        this.numQubits = circuit.getNQubits();
+        if (numQubits > MAX_QUBITS) throw new IllegalArgumentException("Shot outcomes cover at most " + MAX_QUBITS + " qubits, got: " + numQubits);
+        List<CircuitProgram> programs = new ArrayList<>();
+        List<Long> masks = new ArrayList<>();
+        QuantumCircuit segment = new QuantumCircuit(numQubits);
+        boolean pending = false;
+        for (GateOperation operation : circuit.getOperations()) {
+            if (!(operation.getGate() instanceof MeasurementGate)) {
+                segment.appendOperation(operation);
+                pending = true;
+                continue;
+            }
+            long mask = 0;
+            for (int qubit : operation.getTargetQubits()) mask |= 1L << qubit;
+            if (mask == 0) continue;
+            if (!pending && !masks.isEmpty()) {
+                masks.set(masks.size() - 1, masks.get(masks.size() - 1) | mask);
+                continue;
+            }
+            programs.add(pending ? CircuitProgram.compile(segment) : null);
+            masks.add(mask);
+            segment = new QuantumCircuit(numQubits);
+            pending = false;
+        }
+        // A final layer with no gates after it is read off the final distribution instead.
+        if (!pending && !masks.isEmpty()) masks.remove(masks.size() - 1);
+        else programs.add(pending ? CircuitProgram.compile(segment) : null);
+        this.segments = programs.toArray(new CircuitProgram[0]);
+        this.layerMasks = masks.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    public ShotBranchingResult run(QuantumState initialState, int shots, long seed) {
+        if (initialState.getNumQubits() != numQubits) throw new IllegalArgumentException("State must have " + numQubits + " qubits, got: " + initialState.getNumQubits());
+        if (shots < 1) throw new IllegalArgumentException("Number of shots must be positive, got: " + shots);
+        long start = System.nanoTime();
+        Run run = new Run(new StateVectorPool(numQubits, StateVectors.getStorageMode(numQubits), layerMasks.length + 1));
+        try {
+            branch(run, run.pool.acquireCopyOf(initialState.getStateVector()), 0, shots, "", new SplittableRandom(seed));
+        } finally {
+            run.pool.clear();
+        }
+        return new ShotBranchingResult(run.counts, run.records, shots, run.branches, run.pool.getAllocatedCount(), System.nanoTime() - start);
+    }
+
+    // Takes ownership of vector and returns it to the pool.
+    private void branch(Run run, StateVector vector, int layer, int shots, String record, SplittableRandom random) {
+        if (segments[layer] != null) segments[layer].executeOn(QuantumState.unnormalized(vector));
+        if (layer == layerMasks.length) {
+            ShotSampler sampler = ShotSampler.of(vector);
+            int[] histogram = sampler.sampleHistogram(shots, random);
+            for (int k = 0; k < histogram.length; k++) {
+                if (histogram[k] > 0) run.counts.merge(sampler.getOutcome(k), histogram[k], Integer::sum);
+            }
+            run.records.merge(record, shots, Integer::sum);
+            run.branches++;
+            run.pool.release(vector);
+            return;
+        }
+        long mask = layerMasks[layer];
+        double[] marginal = vector.marginal(mask);
+        ShotSampler sampler = ShotSampler.of(marginal);
+        int[] allocation = sampler.sampleHistogram(shots, random);
+        int last = allocation.length - 1;
+        while (allocation[last] == 0) last--;
+        for (int k = 0; k <= last; k++) {
+            if (allocation[k] == 0) continue;
+            // The last outcome reuses the parent buffer, so a certain outcome never copies.
+            StateVector child = k == last ? vector : run.pool.acquireCopyOf(vector);
+            int outcome = sampler.getOutcome(k);
+            project(child, mask, outcome, marginal[outcome]);
+            String bits = toBitString(outcome, Long.bitCount(mask));
+            branch(run, child, layer + 1, allocation[k], record.isEmpty() ? bits : record + " " + bits, random.split());
+        }
+    }
+
+    // Keeps the amplitudes whose measured qubits read outcome and renormalizes them in one kernel.
+    private static void project(StateVector vector, long mask, int outcome, double probability) {
+        double[] phases = new double[2 << Long.bitCount(mask)];
+        phases[2 * outcome] = 1.0 / Math.sqrt(probability);
+        vector.applyDiagonalTable(mask, phases);
+    }
+
+    private static String toBitString(int outcome, int width) {
+        String bits = Integer.toBinaryString(outcome);
+        return "0".repeat(width - bits.length()) + bits;
+    }
+
+    public int getNumQubits() {return numQubits;}
+
+    // Measurement layers that branch; measurements at the end of the circuit are not counted.
+    public int getLayerCount() {return layerMasks.length;}
+
+    private static final class Run {
+        private final StateVectorPool pool;
+        private final Map<Integer, Integer> counts = new HashMap<>();
+        private final Map<String, Integer> records = new HashMap<>();
+        private int branches;
+
+        private Run(StateVectorPool pool) {this.pool = pool;}
+    }
+}
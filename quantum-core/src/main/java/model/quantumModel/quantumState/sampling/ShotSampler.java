@@ -0,0 +1,170 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumState.sampling;
+
+import model.quantumModel.quantumState.stateVector.StateVector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+/**
+ * Walker/Vose alias table over the outcomes of a measurement, built once in {@code O(N)} so each
+ * shot costs one index draw and one comparison. Only outcomes with non-zero probability enter the
+ * table, which keeps it small for sparse distributions and guarantees that an impossible outcome
+ * is never drawn, whatever the rounding. Shots are counted into a primitive histogram over that
+ * support; no collapsed states are built.
+ *
+ * <p>Seeded sampling splits the shots into chunks of {@value #SHOTS_PER_CHUNK}. Chunk {@code c}
+ * draws from the {@code c}-th {@link SplittableRandom} split off the seed, and workers add chunks
+ * into private histograms that are summed at the end. The histogram therefore depends only on the
+ * seed and the shot count, not on how many threads ran or which chunks each one took.
+ */
+public final class ShotSampler {
+    static final int SHOTS_PER_CHUNK = 1 << 14;
+
+    private final int[] outcomes;
+    private final double[] probabilities;
+    private final double[] thresholds;
+    private final int[] aliases;
+
+    private ShotSampler(int[] outcomes, double[] probabilities) {
+        int size = outcomes.length;
+        if (size == 0) throw new IllegalArgumentException("Distribution has no outcome with non-zero probability");
+        this.outcomes = outcomes;
+        this.probabilities = probabilities;
+        this.thresholds = new double[size];
+        this.aliases = new int[size];
+        double total = 0;
+        for (double probability : probabilities) total += probability;
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0, largeCount = 0;
+        for (int k = 0; k < size; k++) {
+            scaled[k] = probabilities[k] * size / total;
+            if (scaled[k] < 1.0) small[smallCount++] = k;
+            else large[largeCount++] = k;
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            thresholds[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) small[smallCount++] = more;
+            else large[largeCount++] = more;
+        }
+        // Whatever is left is 1 up to rounding.
+        while (largeCount > 0) thresholds[large[--largeCount]] = 1.0;
+        while (smallCount > 0) thresholds[small[--smallCount]] = 1.0;
+    }
+
+    public static ShotSampler of(StateVector vector) {
+        if (vector.getNumQubits() > 31) throw new IllegalArgumentException("Integer outcomes cover at most 31 qubits, got: " + vector.getNumQubits());
+        return of(vector.probabilities());
+    }
+
+    public static ShotSampler of(double[] probabilities) {
+        int support = 0;
+        for (double probability : probabilities) {
+            if (probability < 0 || Double.isNaN(probability)) throw new IllegalArgumentException("Probabilities cannot be negative, got: " + probability);
+            if (probability > 0) support++;
+        }
+        int[] outcomes = new int[support];
+        double[] weights = new double[support];
+        for (int i = 0, k = 0; i < probabilities.length; i++) {
+            if (probabilities[i] == 0) continue;
+            outcomes[k] = i;
+            weights[k++] = probabilities[i];
+        }
+        return new ShotSampler(outcomes, weights);
+    }
+
+    public int sample(RandomGenerator random) {return outcomes[sampleSupportIndex(random)];}
+
+    // Position in the support, see getOutcome; avoids the lookup when only a histogram is wanted.
+    public int sampleSupportIndex(RandomGenerator random) {
+        int k = random.nextInt(thresholds.length);
+        return random.nextDouble() < thresholds[k] ? k : aliases[k];
+    }
+
+    // Shots per support position; outcome k of the histogram is getOutcome(k).
+    public int[] sampleHistogram(int shots, RandomGenerator random) {
+        if (shots < 1) throw new IllegalArgumentException("Number of shots must be positive, got: " + shots);
+        int[] histogram = new int[thresholds.length];
+        for (int shot = 0; shot < shots; shot++) histogram[sampleSupportIndex(random)]++;
+        return histogram;
+    }
+
+    public Map<Integer, Integer> sampleCounts(int shots, RandomGenerator random) {return toCounts(sampleHistogram(shots, random));}
+
+    public int[] sampleHistogram(int shots, long seed) {return sampleHistogram(shots, seed, Runtime.getRuntime().availableProcessors());}
+
+    public int[] sampleHistogram(int shots, long seed, int parallelism) {
+        if (shots < 1) throw new IllegalArgumentException("Number of shots must be positive, got: " + shots);
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be positive, got: " + parallelism);
+        int chunks = (int) ((shots + (long) SHOTS_PER_CHUNK - 1) / SHOTS_PER_CHUNK);
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) streams[c] = root.split();
+        int workers = Math.min(parallelism, chunks);
+        int[][] histograms = new int[workers][];
+        AtomicInteger nextChunk = new AtomicInteger();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            int worker = w;
+            Runnable task = () -> {
+                int[] histogram = new int[thresholds.length];
+                for (int c = nextChunk.getAndIncrement(); c < chunks; c = nextChunk.getAndIncrement()) {
+                    int end = (int) Math.min(shots, (long) (c + 1) * SHOTS_PER_CHUNK);
+                    for (int shot = c * SHOTS_PER_CHUNK; shot < end; shot++) histogram[sampleSupportIndex(streams[c])]++;
+                }
+                histograms[worker] = histogram;
+            };
+            if (workers == 1) task.run();
+            else tasks.add(ForkJoinPool.commonPool().submit(task));
+        }
+        for (ForkJoinTask<?> task : tasks) task.join();
+        int[] merged = histograms[0];
+        for (int w = 1; w < workers; w++) {
+            for (int k = 0; k < merged.length; k++) merged[k] += histograms[w][k];
+        }
+        return merged;
+    }
+
+    public Map<Integer, Integer> sampleCounts(int shots, long seed) {return toCounts(sampleHistogram(shots, seed));}
+
+    public Map<Integer, Integer> toCounts(int[] histogram) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int k = 0; k < histogram.length; k++) {
+            if (histogram[k] > 0) counts.put(outcomes[k], histogram[k]);
+        }
+        return counts;
+    }
+
+    public int getOutcome(int supportIndex) {return outcomes[supportIndex];}
+
+    public double getProbability(int supportIndex) {return probabilities[supportIndex];}
+
+    // Number of outcomes with non-zero probability.
+    public int getSupportSize() {return outcomes.length;}
+}
@@ -0,0 +1,97 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumState.stabilizer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Computational-basis outcome distribution of a {@link StabilizerState}: uniform over the affine
+ * subspace {@code offset + span(generators)}. Built once by {@link StabilizerState#sampler()},
+ * after which each shot is {@code rank} coin flips and as many word-wise XORs, independent of how
+ * the state was prepared.
+ */
+public final class StabilizerSampler {
+    private final int numQubits;
+    private final long[] offset;
+    private final long[][] generatorX;
+    private final long[][] generatorZ;
+    private final boolean[] generatorSigns;
+
+    StabilizerSampler(int numQubits, long[] offset, long[][] generatorX, long[][] generatorZ, boolean[] generatorSigns) {
+        this.numQubits = numQubits;
+        this.offset = offset;
+        this.generatorX = generatorX;
+        this.generatorZ = generatorZ;
+        this.generatorSigns = generatorSigns;
+    }
+
+    // One outcome; bit q of the returned words is the value measured on qubit q.
+    public long[] sample(RandomGenerator random) {
+        long[] outcome = offset.clone();
+        long coins = 0;
+        for (int g = 0; g < generatorX.length; g++) {
+            if ((g & 63) == 0) coins = random.nextLong();
+            if ((coins >>> g & 1) == 0) continue;
+            long[] direction = generatorX[g];
+            for (int w = 0; w < outcome.length; w++) outcome[w] ^= direction[w];
+        }
+        return outcome;
+    }
+
+    // Same contract as QuantumState.measureMultiple: outcome index to count, for up to 31 qubits.
+    public Map<Integer, Integer> sampleCounts(int shots, RandomGenerator random) {
+        if (numQubits > 31) throw new IllegalStateException("Integer outcomes cover at most 31 qubits, got: " + numQubits + "; use sampleBitStrings");
+        validateShots(shots);
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int shot = 0; shot < shots; shot++) counts.merge((int) sample(random)[0], 1, Integer::sum);
+        return counts;
+    }
+
+    // Outcomes as bit strings with qubit 0 rightmost, for registers of any width.
+    public Map<String, Integer> sampleBitStrings(int shots, RandomGenerator random) {
+        validateShots(shots);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int shot = 0; shot < shots; shot++) counts.merge(toBitString(sample(random)), 1, Integer::sum);
+        return counts;
+    }
+
+    private String toBitString(long[] outcome) {
+        char[] bits = new char[numQubits];
+        for (int q = 0; q < numQubits; q++) bits[numQubits - 1 - q] = (outcome[q >>> 6] >>> q & 1) != 0 ? '1' : '0';
+        return new String(bits);
+    }
+
+    private static void validateShots(int shots) {
+        if (shots <= 0) throw new IllegalArgumentException("Number of measurements must be positive, got: " + shots);
+    }
+
+    // Number of independent generators; each outcome has probability 2^-rank.
+    public int getRank() {return generatorX.length;}
+
+    public double getOutcomeProbability() {return Math.scalb(1.0, -generatorX.length);}
+
+    public int getNumQubits() {return numQubits;}
+
+    long[] offset() {return offset;}
+
+    long[] generatorX(int generator) {return generatorX[generator];}
+
+    long[] generatorZ(int generator) {return generatorZ[generator];}
+
+    boolean generatorSign(int generator) {return generatorSigns[generator];}
+}
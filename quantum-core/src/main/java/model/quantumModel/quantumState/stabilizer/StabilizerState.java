@@ -0,0 +1,391 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumState.stabilizer;
+
+import model.quantumModel.quantumState.QuantumState;
+import model.quantumModel.quantumState.stateVector.StateVector;
+import model.quantumModel.quantumState.stateVector.StateVectors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Stabilizer state of {@code n} qubits kept as an Aaronson–Gottesman tableau: rows {@code 0..n-1}
+ * are the destabilizers, rows {@code n..2n-1} the stabilizers, each a signed Pauli string. The
+ * tableau is stored column by column: the X bits of qubit {@code q} over all 2n rows are the words
+ * {@code xs[q * rowWords ..]}, likewise for Z, and the signs are one more row bitset. A Clifford
+ * gate only touches the columns of its qubits, so it costs {@code 2n / 64} word operations, and the
+ * row products of a measurement are applied to every affected row at once, bit-sliced across words.
+ *
+ * <p>Memory grows as {@code n^2 / 2} bytes, which keeps {@value #MAX_QUBITS} qubits at 128 MiB.
+ */
+public final class StabilizerState {
+    public static final int MAX_QUBITS = 16384;
+
+    private final int numQubits;
+    private final int rowWords;
+    private final long[] xs;
+    private final long[] zs;
+    private final long[] signs;
+
+    public StabilizerState(int numQubits) {
+        if (numQubits < 1 || numQubits > MAX_QUBITS) throw new IllegalArgumentException("Stabilizer state must have between 1 and " + MAX_QUBITS + " qubits, got: " + numQubits);
+        this.numQubits = numQubits;
+        this.rowWords = (2 * numQubits + 63) >>> 6;
+        this.xs = new long[numQubits * rowWords];
+        this.zs = new long[numQubits * rowWords];
+        this.signs = new long[rowWords];
+        for (int q = 0; q < numQubits; q++) {
+            setBit(xs, q * rowWords, q);
+            setBit(zs, q * rowWords, numQubits + q);
+        }
+    }
+
+    private StabilizerState(StabilizerState source) {
+        this.numQubits = source.numQubits;
+        this.rowWords = source.rowWords;
+        this.xs = source.xs.clone();
+        this.zs = source.zs.clone();
+        this.signs = source.signs.clone();
+    }
+
+    // The computational basis state whose qubit q is bit q of the words in basis.
+    public static StabilizerState basis(int numQubits, long[] basis) {
+        StabilizerState state = new StabilizerState(numQubits);
+        for (int q = 0; q < numQubits; q++) {
+            if ((q >>> 6) < basis.length && (basis[q >>> 6] >>> q & 1) != 0) state.applyX(q);
+        }
+        return state;
+    }
+
+    public StabilizerState copy() {return new StabilizerState(this);}
+
+    public void applyHadamard(int qubit) {
+        int o = column(qubit);
+        for (int w = 0; w < rowWords; w++) {
+            long x = xs[o + w], z = zs[o + w];
+            signs[w] ^= x & z;
+            xs[o + w] = z;
+            zs[o + w] = x;
+        }
+    }
+
+    public void applyS(int qubit) {
+        int o = column(qubit);
+        for (int w = 0; w < rowWords; w++) {
+            long x = xs[o + w];
+            signs[w] ^= x & zs[o + w];
+            zs[o + w] ^= x;
+        }
+    }
+
+    public void applySDagger(int qubit) {
+        int o = column(qubit);
+        for (int w = 0; w < rowWords; w++) {
+            long x = xs[o + w];
+            signs[w] ^= x & ~zs[o + w];
+            zs[o + w] ^= x;
+        }
+    }
+
+    public void applyX(int qubit) {
+        int o = column(qubit);
+        for (int w = 0; w < rowWords; w++) signs[w] ^= zs[o + w];
+    }
+
+    public void applyY(int qubit) {
+        int o = column(qubit);
+        for (int w = 0; w < rowWords; w++) signs[w] ^= xs[o + w] ^ zs[o + w];
+    }
+
+    public void applyZ(int qubit) {
+        int o = column(qubit);
+        for (int w = 0; w < rowWords; w++) signs[w] ^= xs[o + w];
+    }
+
+    // √X = H S H exactly, not just up to a global phase.
+    public void applyXRoot(int qubit) {
+        applyHadamard(qubit);
+        applyS(qubit);
+        applyHadamard(qubit);
+    }
+
+    public void applyCNOT(int control, int target) {
+        checkDistinct(control, target);
+        int c = column(control), t = column(target);
+        for (int w = 0; w < rowWords; w++) {
+            long xc = xs[c + w], zc = zs[c + w], xt = xs[t + w], zt = zs[t + w];
+            signs[w] ^= xc & zt & ~(xt ^ zc);
+            xs[t + w] = xt ^ xc;
+            zs[c + w] = zc ^ zt;
+        }
+    }
+
+    public void applyCZ(int control, int target) {
+        applyHadamard(target);
+        applyCNOT(control, target);
+        applyHadamard(target);
+    }
+
+    public void applyCY(int control, int target) {
+        applySDagger(target);
+        applyCNOT(control, target);
+        applyS(target);
+    }
+
+    public void applySwap(int qubit1, int qubit2) {
+        checkDistinct(qubit1, qubit2);
+        int a = column(qubit1), b = column(qubit2);
+        for (int w = 0; w < rowWords; w++) {
+            long x = xs[a + w], z = zs[a + w];
+            xs[a + w] = xs[b + w];
+            zs[a + w] = zs[b + w];
+            xs[b + w] = x;
+            zs[b + w] = z;
+        }
+    }
+
+    /**
+     * Measures one qubit in the computational basis and collapses the state. If a stabilizer
+     * anticommutes with Z on the qubit the outcome is a fair coin, otherwise it is fixed by the
+     * product of the stabilizers that the destabilizers pick out.
+     */
+    public int measureQubit(int qubit, RandomGenerator random) {
+        int o = column(qubit);
+        int pivot = firstSetBit(xs, o, numQubits, 2 * numQubits);
+        if (pivot < 0) return deterministicOutcome(o);
+        long[] rows = new long[rowWords];
+        System.arraycopy(xs, o, rows, 0, rowWords);
+        clearBit(rows, 0, pivot);
+        multiplyRows(rows, pivot);
+        copyRow(pivot, pivot - numQubits);
+        int outcome = random.nextBoolean() ? 1 : 0;
+        for (int q = 0; q < numQubits; q++) {
+            clearBit(xs, q * rowWords, pivot);
+            clearBit(zs, q * rowWords, pivot);
+        }
+        setBit(zs, o, pivot);
+        if (outcome == 1) setBit(signs, 0, pivot);
+        else clearBit(signs, 0, pivot);
+        return outcome;
+    }
+
+    // Only valid when no stabilizer has X or Y on the qubit; the tableau is left unchanged.
+    private int deterministicOutcome(int column) {
+        int qubitWords = (numQubits + 63) >>> 6;
+        long[] px = new long[qubitWords], pz = new long[qubitWords];
+        long[] rx = new long[qubitWords], rz = new long[qubitWords];
+        int sign = 0;
+        for (int row = firstSetBit(xs, column, 0, numQubits); row >= 0; row = firstSetBit(xs, column, row + 1, numQubits)) {
+            int stabilizer = row + numQubits;
+            readRow(stabilizer, rx, rz);
+            int logI = multiplyPauli(px, pz, rx, rz);
+            sign ^= ((logI >>> 1) ^ bit(signs, 0, stabilizer)) & 1;
+        }
+        return sign;
+    }
+
+    /**
+     * Replaces every row selected by {@code rows} with its product with row {@code source}. The
+     * Pauli products and their phases are computed for all selected rows at once: per qubit, the
+     * source entry is broadcast over the row words and two bit planes count, modulo 4, the powers
+     * of i picked up where the single-qubit Paulis anticommute.
+     */
+    void multiplyRows(long[] rows, int source) {
+        long[] count1 = new long[rowWords];
+        long[] count2 = new long[rowWords];
+        for (int q = 0; q < numQubits; q++) {
+            int o = q * rowWords;
+            boolean sourceX = bit(xs, o, source) != 0, sourceZ = bit(zs, o, source) != 0;
+            if (!sourceX && !sourceZ) continue;
+            for (int w = 0; w < rowWords; w++) {
+                long m = rows[w];
+                if (m == 0) continue;
+                long x2 = sourceX ? m : 0L, z2 = sourceZ ? m : 0L;
+                long x1 = xs[o + w], z1 = zs[o + w];
+                long x = x1 ^ x2, z = z1 ^ z2;
+                long x1z2 = x1 & z2;
+                long anticommutes = (x2 & z1) ^ x1z2;
+                count2[w] ^= (count1[w] ^ x ^ z ^ x1z2) & anticommutes;
+                count1[w] ^= anticommutes;
+                xs[o + w] = x;
+                zs[o + w] = z;
+            }
+        }
+        long sourceSign = bit(signs, 0, source) != 0 ? -1L : 0L;
+        for (int w = 0; w < rowWords; w++) signs[w] ^= (count2[w] ^ sourceSign) & rows[w];
+    }
+
+    // left := left * right on row-major Pauli strings; returns the power of i the product picks up.
+    static int multiplyPauli(long[] leftX, long[] leftZ, long[] rightX, long[] rightZ) {
+        int low = 0, high = 0;
+        for (int w = 0; w < leftX.length; w++) {
+            long x1 = leftX[w], z1 = leftZ[w], x2 = rightX[w], z2 = rightZ[w];
+            long x = x1 ^ x2, z = z1 ^ z2;
+            long x1z2 = x1 & z2;
+            // Each anticommuting qubit contributes i (low bit) or -i (both bits).
+            long anticommutes = (x2 & z1) ^ x1z2;
+            low += Long.bitCount(anticommutes);
+            high += Long.bitCount((x ^ z ^ x1z2) & anticommutes);
+            leftX[w] = x;
+            leftZ[w] = z;
+        }
+        return (low + 2 * high) & 3;
+    }
+
+    void readRow(int row, long[] x, long[] z) {
+        Arrays.fill(x, 0L);
+        Arrays.fill(z, 0L);
+        for (int q = 0; q < numQubits; q++) {
+            int o = q * rowWords;
+            if (bit(xs, o, row) != 0) x[q >>> 6] |= 1L << q;
+            if (bit(zs, o, row) != 0) z[q >>> 6] |= 1L << q;
+        }
+    }
+
+    private void copyRow(int from, int to) {
+        for (int q = 0; q < numQubits; q++) {
+            int o = q * rowWords;
+            if (bit(xs, o, from) != 0) setBit(xs, o, to); else clearBit(xs, o, to);
+            if (bit(zs, o, from) != 0) setBit(zs, o, to); else clearBit(zs, o, to);
+        }
+        if (bit(signs, 0, from) != 0) setBit(signs, 0, to); else clearBit(signs, 0, to);
+    }
+
+    /**
+     * Reduces a copy of the stabilizers to the affine subspace their computational-basis support
+     * spans: every outcome of measuring all qubits is equally likely and equals a fixed offset
+     * XOR any combination of the returned generators.
+     */
+    public StabilizerSampler sampler() {
+        StabilizerState reduced = copy();
+        long[] stabilizers = new long[rowWords];
+        for (int row = numQubits; row < 2 * numQubits; row++) setBit(stabilizers, 0, row);
+        List<Pivot> xPivots = reduced.eliminate(reduced.xs, stabilizers);
+        long[] zOnly = stabilizers.clone();
+        for (Pivot pivot : xPivots) clearBit(zOnly, 0, pivot.row());
+        List<Pivot> zPivots = reduced.eliminate(reduced.zs, zOnly);
+        int qubitWords = (numQubits + 63) >>> 6;
+        // Z-only stabilizers fix the parity z.x = sign; with free qubits at 0 each pivot qubit is its sign.
+        long[] offset = new long[qubitWords];
+        for (Pivot pivot : zPivots) {
+            if (bit(reduced.signs, 0, pivot.row()) != 0) offset[pivot.column() >>> 6] |= 1L << pivot.column();
+        }
+        long[][] generatorX = new long[xPivots.size()][qubitWords];
+        long[][] generatorZ = new long[xPivots.size()][qubitWords];
+        boolean[] generatorSigns = new boolean[xPivots.size()];
+        for (int g = 0; g < xPivots.size(); g++) {
+            int row = xPivots.get(g).row();
+            reduced.readRow(row, generatorX[g], generatorZ[g]);
+            generatorSigns[g] = bit(reduced.signs, 0, row) != 0;
+        }
+        return new StabilizerSampler(numQubits, offset, generatorX, generatorZ, generatorSigns);
+    }
+
+    private record Pivot(int column, int row) {}
+
+    // Gauss-Jordan elimination of one bit plane over the candidate rows, one pivot per qubit column.
+    private List<Pivot> eliminate(long[] plane, long[] candidates) {
+        List<Pivot> pivots = new ArrayList<>();
+        long[] free = candidates.clone();
+        long[] rows = new long[rowWords];
+        for (int q = 0; q < numQubits; q++) {
+            int o = q * rowWords;
+            int pivot = -1;
+            for (int w = 0; w < rowWords && pivot < 0; w++) {
+                long hits = plane[o + w] & free[w];
+                if (hits != 0) pivot = (w << 6) + Long.numberOfTrailingZeros(hits);
+            }
+            if (pivot < 0) continue;
+            clearBit(free, 0, pivot);
+            for (int w = 0; w < rowWords; w++) rows[w] = plane[o + w] & candidates[w];
+            clearBit(rows, 0, pivot);
+            multiplyRows(rows, pivot);
+            pivots.add(new Pivot(q, pivot));
+        }
+        return pivots;
+    }
+
+    /**
+     * Expands the state into amplitudes, up to a global phase. The state is proportional to the
+     * product of (I + g) over the X-carrying generators applied to the offset basis state, so the
+     * 2^rank group elements are walked in Gray-code order, one Pauli product per amplitude. The
+     * vector comes from {@link StateVectors#zero(int)}, so its storage mode and admission apply.
+     */
+    public StateVector toStateVector() {
+        if (numQubits > StateVector.MAX_QUBITS) throw new IllegalStateException("A state vector holds at most " + StateVector.MAX_QUBITS + " qubits, got: " + numQubits);
+        StabilizerSampler sampler = sampler();
+        int rank = sampler.getRank();
+        StateVector vector = StateVectors.zero(numQubits);
+        vector.set(0, 0.0, 0.0);
+        long offset = sampler.offset()[0];
+        long x = 0, z = 0;
+        int sign = 0;
+        double magnitude = Math.sqrt(Math.scalb(1.0, -rank));
+        long[] px = {0L}, pz = {0L};
+        for (long g = 0; g < 1L << rank; g++) {
+            if (g > 0) {
+                int generator = Long.numberOfTrailingZeros(g);
+                px[0] = x;
+                pz[0] = z;
+                int logI = multiplyPauli(px, pz, sampler.generatorX(generator), sampler.generatorZ(generator));
+                sign ^= ((logI >>> 1) ^ (sampler.generatorSign(generator) ? 1 : 0)) & 1;
+                x = px[0];
+                z = pz[0];
+            }
+            // P|offset> = (-1)^sign i^(#Y) (-1)^(z.offset) |offset ^ x>
+            int power = (2 * sign + Long.bitCount(x & z) + 2 * Long.bitCount(z & offset)) & 3;
+            double re = power == 0 ? magnitude : power == 2 ? -magnitude : 0.0;
+            double im = power == 1 ? magnitude : power == 3 ? -magnitude : 0.0;
+            vector.set(offset ^ x, re, im);
+        }
+        return vector;
+    }
+
+    public QuantumState toQuantumState() {return new QuantumState(toStateVector());}
+
+    private int column(int qubit) {
+        if (qubit < 0 || qubit >= numQubits) throw new IndexOutOfBoundsException("Qubit index " + qubit + " out of bounds for " + numQubits + " qubits");
+        return qubit * rowWords;
+    }
+
+    private static void checkDistinct(int qubit1, int qubit2) {
+        if (qubit1 == qubit2) throw new IllegalArgumentException("Two qubit gate needs two different qubits, got: " + qubit1);
+    }
+
+    // First set bit in [from, to) of the bitset starting at words[offset], or -1.
+    private static int firstSetBit(long[] words, int offset, int from, int to) {
+        for (int w = from >>> 6; (w << 6) < to; w++) {
+            long bits = words[offset + w];
+            if ((w << 6) < from) bits &= -1L << from;
+            if (bits != 0) {
+                int index = (w << 6) + Long.numberOfTrailingZeros(bits);
+                return index < to ? index : -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int bit(long[] words, int offset, int index) {return (int) (words[offset + (index >>> 6)] >>> index) & 1;}
+
+    private static void setBit(long[] words, int offset, int index) {words[offset + (index >>> 6)] |= 1L << index;}
+
+    private static void clearBit(long[] words, int offset, int index) {words[offset + (index >>> 6)] &= ~(1L << index);}
+
+    public int getNumQubits() {return numQubits;}
+}
@@ -0,0 +1,144 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumState.stateVector;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from basis index to complex amplitude with linear probing. Keys live in a
+ * {@code long[]} with {@code -1} marking free slots, values interleaved in a {@code double[]}
+ * alongside, so lookups and scans touch no objects. The table doubles once it is half full and
+ * removals shift the following run back instead of leaving tombstones.
+ */
+final class AmplitudeTable {
+    static final long EMPTY = -1L;
+    static final int BYTES_PER_SLOT = 24;
+
+    private long[] keys;
+    private double[] values;
+    private int mask;
+    private int size;
+
+    AmplitudeTable(int capacity) {
+        allocate(Integer.highestOneBit(Math.max(4, capacity - 1) << 1));
+    }
+
+    private AmplitudeTable(AmplitudeTable source) {
+        this.keys = source.keys.clone();
+        this.values = source.values.clone();
+        this.mask = source.mask;
+        this.size = source.size;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity << 1];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private int home(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    // Slot holding key, or -1 if it is absent.
+    int slotOf(long key) {
+        for (int slot = home(key); ; slot = (slot + 1) & mask) {
+            long stored = keys[slot];
+            if (stored == key) return slot;
+            if (stored == EMPTY) return -1;
+        }
+    }
+
+    boolean contains(long key) {return slotOf(key) >= 0;}
+
+    void put(long key, double real, double imaginary) {
+        int slot = home(key);
+        while (keys[slot] != EMPTY && keys[slot] != key) slot = (slot + 1) & mask;
+        boolean added = keys[slot] == EMPTY;
+        keys[slot] = key;
+        values[slot << 1] = real;
+        values[(slot << 1) + 1] = imaginary;
+        if (added && ++size > (mask + 1) >> 1) grow();
+    }
+
+    void remove(long key) {
+        int slot = slotOf(key);
+        if (slot < 0) return;
+        size--;
+        for (int next = (slot + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = home(keys[next]);
+            // Move the entry back unless its home lies cyclically in (slot, next].
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot << 1] = values[next << 1];
+                values[(slot << 1) + 1] = values[(next << 1) + 1];
+                slot = next;
+            }
+        }
+        keys[slot] = EMPTY;
+        values[slot << 1] = 0.0;
+        values[(slot << 1) + 1] = 0.0;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) put(oldKeys[slot], oldValues[slot << 1], oldValues[(slot << 1) + 1]);
+        }
+    }
+
+    // Empties the table, shrinking it when it is far larger than expectedSize entries need.
+    void clear(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize - 1) << 2);
+        if (capacity << 2 <= keys.length) {
+            allocate(capacity);
+            return;
+        }
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    void scale(double real, double imaginary) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) multiply(slot, real, imaginary);
+        }
+    }
+
+    void multiply(int slot, double pr, double pi) {
+        int o = slot << 1;
+        double re = values[o], im = values[o + 1];
+        values[o] = re * pr - im * pi;
+        values[o + 1] = re * pi + im * pr;
+    }
+
+    AmplitudeTable copy() {return new AmplitudeTable(this);}
+
+    int capacity() {return keys.length;}
+
+    int size() {return size;}
+
+    long keyAt(int slot) {return keys[slot];}
+
+    double realAt(int slot) {return values[slot << 1];}
+
+    double imaginaryAt(int slot) {return values[(slot << 1) + 1];}
+
+    long footprint() {return (long) keys.length * BYTES_PER_SLOT;}
+}
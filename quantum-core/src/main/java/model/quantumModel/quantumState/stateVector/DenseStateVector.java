@@ -0,0 +1,357 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumState.stateVector;
+
+import model.mathModel.Complex;
+
+/**
+ * State vector stored as one flat array of interleaved real and imaginary parts:
+ * amplitude {@code i} lives at {@code [2i]} (real) and {@code [2i + 1]} (imaginary).
+ * Every kernel updates the array in place without allocating.
+ */
+public class DenseStateVector extends StateVector {
+    public static final int MAX_QUBITS = 29;
+
+    protected final double[] amplitudes;
+
+    public DenseStateVector(int numQubits) {
+        super(validateSize(numQubits));
+        this.amplitudes = new double[2 << numQubits];
+        this.amplitudes[0] = 1.0;
+    }
+
+    protected DenseStateVector(int numQubits, double[] amplitudes) {
+        super(validateSize(numQubits));
+        this.amplitudes = amplitudes;
+    }
+
+    public static DenseStateVector of(Complex[] amplitudes, int numQubits) {
+        DenseStateVector vector = new DenseStateVector(numQubits, new double[2 << numQubits]);
+        vector.load(amplitudes);
+        return vector;
+    }
+
+    private static int validateSize(int numQubits) {
+        if (numQubits > MAX_QUBITS) throw new IllegalArgumentException("Dense state vector supports at most " + MAX_QUBITS + " qubits, got: " + numQubits);
+        return numQubits;
+    }
+
+    @Override
+    public double real(long index) {return amplitudes[(int) (index << 1)];}
+
+    @Override
+    public double imaginary(long index) {return amplitudes[(int) (index << 1) + 1];}
+
+    @Override
+    public void set(long index, double real, double imaginary) {
+        int offset = (int) (index << 1);
+        amplitudes[offset] = real;
+        amplitudes[offset + 1] = imaginary;
+    }
+
+    @Override
+    public DenseStateVector copy() {
+        DenseStateVector copy = new DenseStateVector(numQubits, amplitudes.clone());
+        copy.setExecutor(getExecutor());
+        return copy;
+    }
+
+    @Override
+    public void copyFrom(StateVector source) {
+        if (source instanceof DenseStateVector dense && source.numQubits == numQubits) System.arraycopy(dense.amplitudes, 0, amplitudes, 0, amplitudes.length);
+        else super.copyFrom(source);
+    }
+
+    @Override
+    public void applyMatrix(int target, double m00r, double m00i, double m01r, double m01i,
+                            double m10r, double m10i, double m11r, double m11i) {
+        forEachBlock(dimension >> 1, (from, to) ->
+                matrixRange(target, m00r, m00i, m01r, m01i, m10r, m10i, m11r, m11i, (int) from, (int) to));
+    }
+
+    @Override
+    public void applyTwoQubitMatrix(int highQubit, int lowQubit, double[] matrix) {
+        forEachBlock(dimension >> 2, (from, to) -> twoQubitRange(highQubit, lowQubit, matrix, (int) from, (int) to));
+    }
+
+    @Override
+    public void applyControlledMatrix(int target, long controlMask, double m00r, double m00i, double m01r, double m01i,
+                                      double m10r, double m10i, double m11r, double m11i) {
+        int[] bits = ascendingBits(new int[]{target}, controlMask);
+        forEachBlock(dimension >> bits.length, (from, to) ->
+                controlledMatrixRange(target, bits, (int) controlMask, m00r, m00i, m01r, m01i, m10r, m10i, m11r, m11i, (int) from, (int) to));
+    }
+
+    @Override
+    public void applyMultiQubitMatrix(int[] targets, long controlMask, double[] matrix) {
+        int[] offsets = new int[1 << targets.length];
+        for (int j = 0; j < offsets.length; j++) {
+            for (int m = 0; m < targets.length; m++) {
+                if ((j & (1 << (targets.length - 1 - m))) != 0) offsets[j] |= 1 << targets[m];
+            }
+        }
+        int[] bits = ascendingBits(targets, controlMask);
+        forEachBlock(dimension >> bits.length, (from, to) -> multiQubitRange(bits, (int) controlMask, offsets, matrix, (int) from, (int) to));
+    }
+
+    @Override
+    public void applyDiagonal(int target, double d0r, double d0i, double d1r, double d1i) {
+        forEachBlock(dimension >> 1, (from, to) -> diagonalRange(target, d0r, d0i, d1r, d1i, (int) from, (int) to));
+    }
+
+    @Override
+    public void applyDiagonalTable(long qubitMask, double[] phases) {
+        forEachBlock(dimension, (from, to) -> diagonalTableRange((int) qubitMask, phases, (int) from, (int) to));
+    }
+
+    @Override
+    public void applyNot(int target, long controlMask) {
+        forEachBlock(dimension >> 1, (from, to) -> notRange(target, (int) controlMask, (int) from, (int) to));
+    }
+
+    @Override
+    public void applySwap(int qubit1, int qubit2) {
+        forEachBlock(dimension, (from, to) -> swapRange(qubit1, qubit2, (int) from, (int) to));
+    }
+
+    // Pair kernels iterate over pair indices p in [from, to); p expands to the amplitude pair
+    // (i0, i0 | mask) by inserting a zero at the target bit, walked as contiguous runs of i0.
+    protected void matrixRange(int target, double m00r, double m00i, double m01r, double m01i,
+                               double m10r, double m10i, double m11r, double m11i, int from, int to) {
+        final double[] a = amplitudes;
+        final int mask = 1 << target;
+        final int stride = mask << 1;
+        for (int p = from; p < to; ) {
+            int run = Math.min(to, (p | (mask - 1)) + 1) - p;
+            int start = (int) insertZeroBit(p, target) << 1;
+            for (int j = start, end = start + (run << 1); j < end; j += 2) {
+                int k = j + stride;
+                double a0r = a[j], a0i = a[j + 1];
+                double a1r = a[k], a1i = a[k + 1];
+                a[j] = m00r * a0r - m00i * a0i + m01r * a1r - m01i * a1i;
+                a[j + 1] = m00r * a0i + m00i * a0r + m01r * a1i + m01i * a1r;
+                a[k] = m10r * a0r - m10i * a0i + m11r * a1r - m11i * a1i;
+                a[k + 1] = m10r * a0i + m10i * a0r + m11r * a1i + m11i * a1r;
+            }
+            p += run;
+        }
+    }
+
+    // Quad kernel: q in [from, to) expands to the four amplitudes that differ only in the two
+    // target bits; highQubit selects the most significant bit of the 4x4 matrix index.
+    protected void twoQubitRange(int highQubit, int lowQubit, double[] m, int from, int to) {
+        final double[] a = amplitudes;
+        final int highMask = 1 << highQubit;
+        final int lowMask = 1 << lowQubit;
+        final int first = Math.min(highQubit, lowQubit);
+        final int second = Math.max(highQubit, lowQubit);
+        for (int q = from; q < to; q++) {
+            int i0 = (int) insertZeroBit(insertZeroBit(q, first), second);
+            int o0 = i0 << 1;
+            int o1 = (i0 | lowMask) << 1;
+            int o2 = (i0 | highMask) << 1;
+            int o3 = (i0 | highMask | lowMask) << 1;
+            double x0r = a[o0], x0i = a[o0 + 1], x1r = a[o1], x1i = a[o1 + 1];
+            double x2r = a[o2], x2i = a[o2 + 1], x3r = a[o3], x3i = a[o3 + 1];
+            a[o0] = rowReal(m, 0, x0r, x0i, x1r, x1i, x2r, x2i, x3r, x3i);
+            a[o0 + 1] = rowImaginary(m, 0, x0r, x0i, x1r, x1i, x2r, x2i, x3r, x3i);
+            a[o1] = rowReal(m, 8, x0r, x0i, x1r, x1i, x2r, x2i, x3r, x3i);
+            a[o1 + 1] = rowImaginary(m, 8, x0r, x0i, x1r, x1i, x2r, x2i, x3r, x3i);
+            a[o2] = rowReal(m, 16, x0r, x0i, x1r, x1i, x2r, x2i, x3r, x3i);
+            a[o2 + 1] = rowImaginary(m, 16, x0r, x0i, x1r, x1i, x2r, x2i, x3r, x3i);
+            a[o3] = rowReal(m, 24, x0r, x0i, x1r, x1i, x2r, x2i, x3r, x3i);
+            a[o3 + 1] = rowImaginary(m, 24, x0r, x0i, x1r, x1i, x2r, x2i, x3r, x3i);
+        }
+    }
+
+    private static double rowReal(double[] m, int row, double x0r, double x0i, double x1r, double x1i,
+                                  double x2r, double x2i, double x3r, double x3i) {
+        return m[row] * x0r - m[row + 1] * x0i + m[row + 2] * x1r - m[row + 3] * x1i
+                + m[row + 4] * x2r - m[row + 5] * x2i + m[row + 6] * x3r - m[row + 7] * x3i;
+    }
+
+    private static double rowImaginary(double[] m, int row, double x0r, double x0i, double x1r, double x1i,
+                                       double x2r, double x2i, double x3r, double x3i) {
+        return m[row] * x0i + m[row + 1] * x0r + m[row + 2] * x1i + m[row + 3] * x1r
+                + m[row + 4] * x2i + m[row + 5] * x2r + m[row + 6] * x3i + m[row + 7] * x3r;
+    }
+
+    // Controlled pair kernel: c in [from, to) only enumerates pairs whose control bits are all set,
+    // so amplitudes outside the controlled subspace are never touched.
+    protected void controlledMatrixRange(int target, int[] bits, int controlMask, double m00r, double m00i, double m01r, double m01i,
+                                         double m10r, double m10i, double m11r, double m11i, int from, int to) {
+        final double[] a = amplitudes;
+        final int stride = 2 << target;
+        for (int c = from; c < to; c++) {
+            int j = ((int) insertZeroBits(c, bits) | controlMask) << 1;
+            int k = j + stride;
+            double a0r = a[j], a0i = a[j + 1];
+            double a1r = a[k], a1i = a[k + 1];
+            a[j] = m00r * a0r - m00i * a0i + m01r * a1r - m01i * a1i;
+            a[j + 1] = m00r * a0i + m00i * a0r + m01r * a1i + m01i * a1r;
+            a[k] = m10r * a0r - m10i * a0i + m11r * a1r - m11i * a1i;
+            a[k + 1] = m10r * a0i + m10i * a0r + m11r * a1i + m11i * a1r;
+        }
+    }
+
+    // Block kernel: b in [from, to) expands to the base index with zeros at every target bit and
+    // ones at every control bit; the 2^k amplitudes base | offsets[j] are gathered, multiplied by
+    // the matrix and scattered back.
+    protected void multiQubitRange(int[] bits, int controlMask, int[] offsets, double[] m, int from, int to) {
+        final double[] a = amplitudes;
+        final int size = offsets.length;
+        final double[] gathered = new double[size << 1];
+        for (int b = from; b < to; b++) {
+            long base = insertZeroBits(b, bits) | controlMask;
+            for (int j = 0; j < size; j++) {
+                int o = ((int) base | offsets[j]) << 1;
+                gathered[2 * j] = a[o];
+                gathered[2 * j + 1] = a[o + 1];
+            }
+            for (int r = 0, row = 0; r < size; r++) {
+                double re = 0.0, im = 0.0;
+                for (int j = 0; j < size; j++, row += 2) {
+                    double mr = m[row], mi = m[row + 1];
+                    double xr = gathered[2 * j], xi = gathered[2 * j + 1];
+                    re += mr * xr - mi * xi;
+                    im += mr * xi + mi * xr;
+                }
+                int o = ((int) base | offsets[r]) << 1;
+                a[o] = re;
+                a[o + 1] = im;
+            }
+        }
+    }
+
+    protected void diagonalRange(int target, double d0r, double d0i, double d1r, double d1i, int from, int to) {
+        final double[] a = amplitudes;
+        final int mask = 1 << target;
+        final int stride = mask << 1;
+        boolean scaleLow = d0r != 1.0 || d0i != 0.0;
+        boolean scaleHigh = d1r != 1.0 || d1i != 0.0;
+        for (int p = from; p < to; ) {
+            int run = Math.min(to, (p | (mask - 1)) + 1) - p;
+            int start = (int) insertZeroBit(p, target) << 1;
+            if (scaleLow) multiplyRange(a, start, start + (run << 1), d0r, d0i);
+            if (scaleHigh) multiplyRange(a, start + stride, start + stride + (run << 1), d1r, d1i);
+            p += run;
+        }
+    }
+
+    private static void multiplyRange(double[] a, int from, int to, double pr, double pi) {
+        for (int j = from; j < to; j += 2) {
+            double re = a[j], im = a[j + 1];
+            a[j] = re * pr - im * pi;
+            a[j + 1] = re * pi + im * pr;
+        }
+    }
+
+    // Table kernel: the bits of i selected by qubitMask, packed in ascending qubit order, index
+    // the interleaved phase table, so a whole run of diagonal gates costs one multiply per amplitude.
+    protected void diagonalTableRange(int qubitMask, double[] phases, int from, int to) {
+        final double[] a = amplitudes;
+        for (int i = from; i < to; i++) {
+            int t = Integer.compress(i, qubitMask) << 1;
+            int j = i << 1;
+            double pr = phases[t], pi = phases[t + 1];
+            double re = a[j], im = a[j + 1];
+            a[j] = re * pr - im * pi;
+            a[j + 1] = re * pi + im * pr;
+        }
+    }
+
+    protected void notRange(int target, int controlMask, int from, int to) {
+        final double[] a = amplitudes;
+        final int mask = 1 << target;
+        final int stride = mask << 1;
+        for (int p = from; p < to; ) {
+            int run = Math.min(to, (p | (mask - 1)) + 1) - p;
+            int i0 = (int) insertZeroBit(p, target);
+            for (int i = i0, end = i0 + run; i < end; i++) {
+                if ((i & controlMask) != controlMask) continue;
+                int j = i << 1;
+                int k = j + stride;
+                double re = a[j], im = a[j + 1];
+                a[j] = a[k];
+                a[j + 1] = a[k + 1];
+                a[k] = re;
+                a[k + 1] = im;
+            }
+            p += run;
+        }
+    }
+
+    protected void swapRange(int qubit1, int qubit2, int from, int to) {
+        final double[] a = amplitudes;
+        final int mask1 = 1 << qubit1;
+        final int mask2 = 1 << qubit2;
+        for (int i = from; i < to; i++) {
+            if ((i & mask1) == 0 || (i & mask2) != 0) continue;
+            int j = (i ^ mask1 ^ mask2) << 1;
+            int k = i << 1;
+            double re = a[k], im = a[k + 1];
+            a[k] = a[j];
+            a[k + 1] = a[j + 1];
+            a[j] = re;
+            a[j + 1] = im;
+        }
+    }
+
+    @Override
+    public void scale(double factor) {
+        for (int i = 0; i < amplitudes.length; i++) amplitudes[i] *= factor;
+    }
+
+    @Override
+    public double normSquared() {
+        double sum = 0.0;
+        for (double value : amplitudes) sum += value * value;
+        return sum;
+    }
+
+    @Override
+    protected void pauliRotationRange(long xMask, long zMask, int pivot, double c, double fr, double fi, long from, long to) {
+        final double[] a = amplitudes;
+        for (long p = from; p < to; p++) {
+            int k = (int) insertZeroBit(p, pivot), j = k ^ (int) xMask;
+            double sk = (Integer.bitCount(k & (int) zMask) & 1) == 0 ? 1.0 : -1.0;
+            double sj = (Integer.bitCount(j & (int) zMask) & 1) == 0 ? 1.0 : -1.0;
+            double ar = a[2 * k], ai = a[2 * k + 1], br = a[2 * j], bi = a[2 * j + 1];
+            a[2 * k] = c * ar + sj * (fr * br - fi * bi);
+            a[2 * k + 1] = c * ai + sj * (fr * bi + fi * br);
+            a[2 * j] = c * br + sk * (fr * ar - fi * ai);
+            a[2 * j + 1] = c * bi + sk * (fr * ai + fi * ar);
+        }
+    }
+
+    @Override
+    protected void accumulateMarginal(long qubitMask, long from, long to, double[] buckets) {
+        final double[] a = amplitudes;
+        for (int i = (int) from; i < to; i++) {
+            double re = a[2 * i], im = a[2 * i + 1];
+            buckets[(int) Long.compress(i, qubitMask)] += re * re + im * im;
+        }
+    }
+
+    @Override
+    public double[] probabilities() {
+        double[] probabilities = new double[(int) dimension];
+        for (int i = 0; i < probabilities.length; i++) {
+            double re = amplitudes[2 * i], im = amplitudes[2 * i + 1];
+            probabilities[i] = re * re + im * im;
+        }
+        return probabilities;
+    }
+}
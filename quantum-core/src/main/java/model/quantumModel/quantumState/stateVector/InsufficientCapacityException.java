@@ -0,0 +1,50 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumState.stateVector;
+
+/**
+ * Thrown when a state of the requested size does not fit in the configured {@link MemoryBudget}.
+ * It is an {@link IllegalStateException} because the request itself is well formed; the simulator
+ * just lacks the capacity to serve it.
+ */
+public class InsufficientCapacityException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    private final int numQubits;
+    private final StorageMode mode;
+    private final long requiredBytes;
+    private final long budgetBytes;
+    private final int maxQubits;
+
+    public InsufficientCapacityException(int numQubits, StorageMode mode, long requiredBytes, long budgetBytes, int maxQubits) {
+        super("Insufficient capacity: " + numQubits + " qubits in " + mode + " storage need " + MemoryBudget.format(requiredBytes)
+                + " but the memory budget is " + MemoryBudget.format(budgetBytes) + " (at most " + maxQubits + " qubits fit)");
+        this.numQubits = numQubits;
+        this.mode = mode;
+        this.requiredBytes = requiredBytes;
+        this.budgetBytes = budgetBytes;
+        this.maxQubits = maxQubits;
+    }
+
+    public int getNumQubits() {return numQubits;}
+
+    public StorageMode getMode() {return mode;}
+
+    public long getRequiredBytes() {return requiredBytes;}
+
+    public long getBudgetBytes() {return budgetBytes;}
+
+    public int getMaxQubits() {return maxQubits;}
+}
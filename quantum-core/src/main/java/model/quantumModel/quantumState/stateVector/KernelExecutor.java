@@ -0,0 +1,112 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumState.stateVector;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits the iteration space of a state-vector kernel into independent blocks and runs them on a
+ * fork/join pool. Each kernel iteration touches its own amplitudes only, so the result is the same
+ * bit for bit whether a kernel runs on one thread or many.
+ */
+public final class KernelExecutor {
+    public static final int DEFAULT_THRESHOLD_QUBITS = 14;
+    private static final int MIN_GRAIN = 1 << 11;
+    private static final KernelExecutor SEQUENTIAL = new KernelExecutor(null, Integer.MAX_VALUE);
+    private static volatile KernelExecutor defaultExecutor = new KernelExecutor(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD_QUBITS);
+
+    private final ForkJoinPool pool;
+    private final int thresholdQubits;
+
+    public KernelExecutor(ForkJoinPool pool, int thresholdQubits) {
+        if (thresholdQubits < 1) throw new IllegalArgumentException("Threshold must be positive, got: " + thresholdQubits);
+        this.pool = pool;
+        this.thresholdQubits = thresholdQubits;
+    }
+
+    public static KernelExecutor sequential() {return SEQUENTIAL;}
+
+    public static KernelExecutor parallel(int parallelism, int thresholdQubits) {
+        return new KernelExecutor(new ForkJoinPool(parallelism), thresholdQubits);
+    }
+
+    public static KernelExecutor getDefault() {return defaultExecutor;}
+
+    public static void setDefault(KernelExecutor executor) {
+        if (executor == null) throw new IllegalArgumentException("Executor cannot be null");
+        defaultExecutor = executor;
+    }
+
+    public void run(int numQubits, long count, RangeKernel kernel) {
+        if (!shouldParallelize(numQubits, count)) {
+            kernel.apply(0, count);
+            return;
+        }
+        long grain = Math.max(MIN_GRAIN, count / (pool.getParallelism() * 8L));
+        pool.invoke(new RangeTask(kernel, 0, count, grain));
+    }
+
+    // Coarse-grained variant for independent blocks that each carry a lot of work, such as tiles.
+    public void runBlocks(int numQubits, long blocks, RangeKernel kernel) {
+        if (pool == null || numQubits < thresholdQubits || blocks < 2 || pool.getParallelism() < 2) {
+            kernel.apply(0, blocks);
+            return;
+        }
+        long grain = Math.max(1, blocks / (pool.getParallelism() * 4L));
+        pool.invoke(new RangeTask(kernel, 0, blocks, grain));
+    }
+
+    public boolean shouldParallelize(int numQubits, long count) {
+        return pool != null && numQubits >= thresholdQubits && count > MIN_GRAIN && pool.getParallelism() > 1;
+    }
+
+    public boolean isParallel() {return pool != null;}
+
+    public int getParallelism() {return pool != null ? pool.getParallelism() : 1;}
+
+    public int getThresholdQubits() {return thresholdQubits;}
+
+    @FunctionalInterface
+    public interface RangeKernel {
+        void apply(long from, long to);
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient RangeKernel kernel;
+        private final long from;
+        private final long to;
+        private final long grain;
+
+        private RangeTask(RangeKernel kernel, long from, long to, long grain) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                kernel.apply(from, to);
+                return;
+            }
+            long middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(kernel, from, middle, grain), new RangeTask(kernel, middle, to, grain));
+        }
+    }
+}
@@ -0,0 +1,332 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumState.stateVector;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Disk-backed state vector for registers that do not fit in memory. The amplitudes live in a
+ * scratch file mapped with {@link FileChannel#map}, split into chunks of {@code 2^chunkQubits}
+ * amplitudes: chunk {@code k} holds the amplitudes whose qubits at or above {@code chunkQubits}
+ * spell {@code k}, so gates on low qubits never leave a chunk.
+ *
+ * <p>Gates run in streamed passes ({@link #applyStreamed}). A pass names the high qubits its
+ * gates mix; each group of chunks that differ only in those qubits is read into one heap buffer,
+ * the gates run there with the dense kernels, and the group is written back. Without high qubits
+ * a pass is chunk-local, with one it streams chunk pairs. Controls and phases on the remaining
+ * high qubits are fixed within a group and resolved per group. A kernel called outside a pass
+ * runs as a pass of its own; element access reads the file directly and is meant for outside
+ * passes only.
+ */
+public final class MappedStateVector extends StateVector {
+    public static final int DEFAULT_CHUNK_QUBITS = 20;
+    public static final int MAX_CHUNK_QUBITS = 26;
+    // One mapping covers at most 2^26 amplitudes (1 GiB), well below the 2 GiB buffer limit.
+    private static final int REGION_QUBITS = 26;
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final int chunkQubits;
+    private final int regionQubits;
+    private final Path directory;
+    private final DoubleBuffer[] regions;
+    private final Cleaner.Cleanable cleanable;
+    private final ThreadLocal<Group> activeGroup = new ThreadLocal<>();
+    // Heap buffers by width; a pass takes its buffer out while it runs, so concurrent passes never share one.
+    private final AtomicReferenceArray<DenseStateVector> buffers = new AtomicReferenceArray<>(DenseStateVector.MAX_QUBITS + 1);
+
+    private record Group(DenseStateVector buffer, long base, long resident) {}
+
+    private record ScratchFile(Path file, FileChannel channel) implements Runnable {
+        @Override
+        public void run() {
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Nothing left to do for a scratch file that cannot be removed.
+            }
+        }
+    }
+
+    public MappedStateVector(int numQubits) {
+        this(numQubits, DEFAULT_CHUNK_QUBITS, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    public MappedStateVector(int numQubits, int chunkQubits, Path directory) {
+        super(numQubits);
+        if (chunkQubits < 1 || chunkQubits > MAX_CHUNK_QUBITS) throw new IllegalArgumentException("Chunk must span between 1 and " + MAX_CHUNK_QUBITS + " qubits, got: " + chunkQubits);
+        this.chunkQubits = Math.min(chunkQubits, numQubits);
+        this.regionQubits = Math.min(REGION_QUBITS, numQubits);
+        this.directory = directory;
+        this.regions = new DoubleBuffer[Math.toIntExact(dimension >> regionQubits)];
+        ScratchFile scratch = null;
+        try {
+            Path file = Files.createTempFile(directory, "state-", ".amplitudes");
+            scratch = new ScratchFile(file, FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE));
+            long regionBytes = 16L << regionQubits;
+            for (int r = 0; r < regions.length; r++) {
+                regions[r] = scratch.channel().map(FileChannel.MapMode.READ_WRITE, r * regionBytes, regionBytes)
+                        .order(ByteOrder.nativeOrder()).asDoubleBuffer();
+            }
+        } catch (IOException e) {
+            if (scratch != null) scratch.run();
+            throw new UncheckedIOException("Cannot map a state file in " + directory, e);
+        }
+        this.cleanable = CLEANER.register(this, scratch);
+        regions[0].put(0, 1.0);
+    }
+
+    @Override
+    public double real(long index) {return regions[(int) (index >>> regionQubits)].get(offset(index));}
+
+    @Override
+    public double imaginary(long index) {return regions[(int) (index >>> regionQubits)].get(offset(index) + 1);}
+
+    @Override
+    public void set(long index, double real, double imaginary) {
+        DoubleBuffer region = regions[(int) (index >>> regionQubits)];
+        region.put(offset(index), real);
+        region.put(offset(index) + 1, imaginary);
+    }
+
+    private int offset(long index) {return (int) ((index & ((1L << regionQubits) - 1)) << 1);}
+
+    @Override
+    public MappedStateVector copy() {
+        MappedStateVector copy = new MappedStateVector(numQubits, chunkQubits, directory);
+        for (int r = 0; r < regions.length; r++) copy.regions[r].put(0, regions[r], 0, regions[r].capacity());
+        copy.setExecutor(getExecutor());
+        return copy;
+    }
+
+    // Closes and deletes the scratch file; the mappings themselves go away with the buffers.
+    @Override
+    public void release() {
+        cleanable.clean();
+        Arrays.fill(regions, null);
+        for (int qubits = 0; qubits < buffers.length(); qubits++) buffers.set(qubits, null);
+    }
+
+    public int getChunkQubits() {return chunkQubits;}
+
+    /**
+     * Runs {@code gates} once per group of chunks spanned by the qubits of {@code highQubits} at or
+     * above {@link #getChunkQubits()}. The gates may mix amplitudes along low qubits and those high
+     * qubits only; each group is read once before and written once after them.
+     */
+    public void applyStreamed(long highQubits, Runnable gates) {
+        if (activeGroup.get() != null) {
+            gates.run();
+            return;
+        }
+        long resident = highQubits & ~((1L << chunkQubits) - 1);
+        int width = Long.bitCount(resident);
+        if (chunkQubits + width > DenseStateVector.MAX_QUBITS) throw new IllegalArgumentException("A pass over " + width + " high qubits does not fit in one buffer");
+        int bufferQubits = chunkQubits + width;
+        DenseStateVector buffer = acquireBuffer(bufferQubits);
+        long chunkResident = resident >>> chunkQubits;
+        long groups = dimension >> bufferQubits;
+        try {
+            for (long g = 0; g < groups; g++) {
+                long baseChunk = Long.expand(g, ~chunkResident);
+                transfer(buffer, baseChunk, chunkResident, true);
+                activeGroup.set(new Group(buffer, baseChunk << chunkQubits, resident));
+                try {
+                    gates.run();
+                } finally {
+                    activeGroup.remove();
+                }
+                transfer(buffer, baseChunk, chunkResident, false);
+            }
+        } finally {
+            buffers.set(bufferQubits, buffer);
+        }
+    }
+
+    private DenseStateVector acquireBuffer(int qubits) {
+        DenseStateVector buffer = buffers.getAndSet(qubits, null);
+        if (buffer == null) buffer = new DenseStateVector(qubits, new double[2 << qubits]);
+        buffer.setExecutor(getExecutor());
+        return buffer;
+    }
+
+    // Member m of the group is chunk baseChunk | expand(m, chunkResident) and fills slot m of the buffer.
+    private void transfer(DenseStateVector buffer, long baseChunk, long chunkResident, boolean load) {
+        int chunkDoubles = 2 << chunkQubits;
+        int chunksPerRegion = 1 << (regionQubits - chunkQubits);
+        for (int m = 0, members = 1 << Long.bitCount(chunkResident); m < members; m++) {
+            long chunk = baseChunk | Long.expand(m, chunkResident);
+            DoubleBuffer region = regions[(int) (chunk / chunksPerRegion)];
+            int regionOffset = (int) (chunk % chunksPerRegion) * chunkDoubles;
+            if (load) region.get(regionOffset, buffer.amplitudes, m * chunkDoubles, chunkDoubles);
+            else region.put(regionOffset, buffer.amplitudes, m * chunkDoubles, chunkDoubles);
+        }
+    }
+
+    private Group group() {return activeGroup.get();}
+
+    private int local(Group group, int qubit) {
+        if (qubit < chunkQubits) return qubit;
+        long bit = 1L << qubit;
+        if ((group.resident & bit) == 0) throw new IllegalStateException("Qubit " + qubit + " is not resident in this streamed pass");
+        return chunkQubits + Long.bitCount(group.resident & (bit - 1));
+    }
+
+    // High qubits outside the pass have one fixed value per group.
+    private long fixedQubits(Group group, long mask) {return mask & ~((1L << chunkQubits) - 1) & ~group.resident;}
+
+    private long localMask(Group group, long mask) {
+        long local = 0;
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            local |= 1L << local(group, Long.numberOfTrailingZeros(remaining));
+        }
+        return local;
+    }
+
+    // Local control mask, or -1 when a control fixed by this group is |0⟩ and the gate is skipped.
+    private long localControls(Group group, long controlMask) {
+        long fixed = fixedQubits(group, controlMask);
+        if ((group.base & fixed) != fixed) return -1;
+        return localMask(group, controlMask & ~fixed);
+    }
+
+    @Override
+    public void applyMatrix(int target, double m00r, double m00i, double m01r, double m01i,
+                            double m10r, double m10i, double m11r, double m11i) {
+        Group group = group();
+        if (group == null) applyStreamed(1L << target, () -> applyMatrix(target, m00r, m00i, m01r, m01i, m10r, m10i, m11r, m11i));
+        else group.buffer.applyMatrix(local(group, target), m00r, m00i, m01r, m01i, m10r, m10i, m11r, m11i);
+    }
+
+    @Override
+    public void applyTwoQubitMatrix(int highQubit, int lowQubit, double[] matrix) {
+        Group group = group();
+        if (group == null) applyStreamed((1L << highQubit) | (1L << lowQubit), () -> applyTwoQubitMatrix(highQubit, lowQubit, matrix));
+        else group.buffer.applyTwoQubitMatrix(local(group, highQubit), local(group, lowQubit), matrix);
+    }
+
+    @Override
+    public void applyControlledMatrix(int target, long controlMask, double m00r, double m00i, double m01r, double m01i,
+                                      double m10r, double m10i, double m11r, double m11i) {
+        Group group = group();
+        if (group == null) {
+            applyStreamed(1L << target, () -> applyControlledMatrix(target, controlMask, m00r, m00i, m01r, m01i, m10r, m10i, m11r, m11i));
+            return;
+        }
+        long controls = localControls(group, controlMask);
+        if (controls == 0) group.buffer.applyMatrix(local(group, target), m00r, m00i, m01r, m01i, m10r, m10i, m11r, m11i);
+        else if (controls > 0) group.buffer.applyControlledMatrix(local(group, target), controls, m00r, m00i, m01r, m01i, m10r, m10i, m11r, m11i);
+    }
+
+    @Override
+    public void applyMultiQubitMatrix(int[] targets, long controlMask, double[] matrix) {
+        Group group = group();
+        if (group == null) {
+            long moved = 0;
+            for (int target : targets) moved |= 1L << target;
+            applyStreamed(moved, () -> applyMultiQubitMatrix(targets, controlMask, matrix));
+            return;
+        }
+        long controls = localControls(group, controlMask);
+        if (controls < 0) return;
+        int[] localTargets = new int[targets.length];
+        for (int i = 0; i < targets.length; i++) localTargets[i] = local(group, targets[i]);
+        group.buffer.applyMultiQubitMatrix(localTargets, controls, matrix);
+    }
+
+    @Override
+    public void applyDiagonal(int target, double d0r, double d0i, double d1r, double d1i) {
+        Group group = group();
+        if (group == null) applyStreamed(0L, () -> applyDiagonal(target, d0r, d0i, d1r, d1i));
+        else if (fixedQubits(group, 1L << target) == 0) group.buffer.applyDiagonal(local(group, target), d0r, d0i, d1r, d1i);
+        else if ((group.base & (1L << target)) == 0) group.buffer.applyDiagonal(0, d0r, d0i, d0r, d0i);
+        else group.buffer.applyDiagonal(0, d1r, d1i, d1r, d1i);
+    }
+
+    // Fixed qubits select a slice of the phase table; the resident qubits keep their ascending
+    // order locally, so the slice is indexed the same way by the buffer's table kernel.
+    @Override
+    public void applyDiagonalTable(long qubitMask, double[] phases) {
+        Group group = group();
+        if (group == null) {
+            applyStreamed(0L, () -> applyDiagonalTable(qubitMask, phases));
+            return;
+        }
+        long fixed = fixedQubits(group, qubitMask);
+        long resident = qubitMask & ~fixed;
+        double[] slice = new double[2 << Long.bitCount(resident)];
+        for (int j = 0; j < slice.length >> 1; j++) {
+            int t = (int) Long.compress(Long.expand(j, resident) | (group.base & fixed), qubitMask) << 1;
+            slice[2 * j] = phases[t];
+            slice[2 * j + 1] = phases[t + 1];
+        }
+        long local = localMask(group, resident);
+        if (local == 0) group.buffer.applyDiagonal(0, slice[0], slice[1], slice[0], slice[1]);
+        else group.buffer.applyDiagonalTable(local, slice);
+    }
+
+    @Override
+    public void applyNot(int target, long controlMask) {
+        Group group = group();
+        if (group == null) {
+            applyStreamed(1L << target, () -> applyNot(target, controlMask));
+            return;
+        }
+        long controls = localControls(group, controlMask);
+        if (controls >= 0) group.buffer.applyNot(local(group, target), controls);
+    }
+
+    @Override
+    public void applySwap(int qubit1, int qubit2) {
+        Group group = group();
+        if (group == null) applyStreamed((1L << qubit1) | (1L << qubit2), () -> applySwap(qubit1, qubit2));
+        else group.buffer.applySwap(local(group, qubit1), local(group, qubit2));
+    }
+
+    // The chunk groups stand in for tiles: gates below tileQubits stay within a pass.
+    @Override
+    public void forEachTile(int tileQubits, Runnable gates) {
+        applyStreamed((1L << Math.max(tileQubits, chunkQubits)) - 1, gates);
+    }
+
+    @Override
+    public void scale(double factor) {
+        Group group = group();
+        if (group == null) applyStreamed(0L, () -> scale(factor));
+        else group.buffer.scale(factor);
+    }
+
+    @Override
+    public double normSquared() {
+        double sum = 0.0;
+        for (DoubleBuffer region : regions) {
+            for (int i = 0, n = region.capacity(); i < n; i++) {
+                double value = region.get(i);
+                sum += value * value;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,119 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumState.stateVector;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Admission control for state allocation. A state of {@code n} qubits needs {@code 2^n} amplitudes
+ * times the bytes per amplitude of its {@link StorageMode}; it is admitted only if that footprint
+ * fits in the budget for that kind of memory and the mode can address that many qubits. Heap
+ * states are charged against a heap budget, off-heap states against a native budget and mapped
+ * states against a disk budget. Sparse states start from a small table and are charged as they
+ * grow, see {@link SparseStateVector}. Each budget is a fixed number of bytes or a fraction of the
+ * maximum heap, of physical memory or of the usable space in the temporary directory, leaving the
+ * rest for working copies such as the ones kept by the simulation and the undo history.
+ */
+public final class MemoryBudget {
+    public static final double DEFAULT_HEAP_FRACTION = 0.5;
+    private static volatile MemoryBudget defaultBudget = ofHeapFraction(DEFAULT_HEAP_FRACTION);
+
+    private final long budgetBytes;
+    private final long offHeapBudgetBytes;
+    private final long diskBudgetBytes;
+
+    public MemoryBudget(long budgetBytes) {
+        this(budgetBytes, budgetBytes, budgetBytes);
+    }
+
+    public MemoryBudget(long budgetBytes, long offHeapBudgetBytes, long diskBudgetBytes) {
+        if (budgetBytes <= 0) throw new IllegalArgumentException("Memory budget must be positive, got: " + budgetBytes);
+        if (offHeapBudgetBytes <= 0) throw new IllegalArgumentException("Off-heap memory budget must be positive, got: " + offHeapBudgetBytes);
+        if (diskBudgetBytes <= 0) throw new IllegalArgumentException("Disk budget must be positive, got: " + diskBudgetBytes);
+        this.budgetBytes = budgetBytes;
+        this.offHeapBudgetBytes = offHeapBudgetBytes;
+        this.diskBudgetBytes = diskBudgetBytes;
+    }
+
+    // The same fraction of the maximum heap, of physical memory and of temporary disk space.
+    public static MemoryBudget ofHeapFraction(double fraction) {
+        if (!(fraction > 0 && fraction <= 1)) throw new IllegalArgumentException("Heap fraction must be in (0, 1], got: " + fraction);
+        return new MemoryBudget(Math.max(1, (long) (Runtime.getRuntime().maxMemory() * fraction)),
+                Math.max(1, (long) (physicalMemory() * fraction)),
+                Math.max(1, (long) (new File(System.getProperty("java.io.tmpdir")).getUsableSpace() * fraction)));
+    }
+
+    private static long physicalMemory() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) return os.getTotalMemorySize();
+        return Runtime.getRuntime().maxMemory();
+    }
+
+    public static MemoryBudget getDefault() {return defaultBudget;}
+
+    public static void setDefault(MemoryBudget budget) {
+        if (budget == null) throw new IllegalArgumentException("Memory budget cannot be null");
+        defaultBudget = budget;
+    }
+
+    public static long footprint(int numQubits, StorageMode mode) {
+        if (numQubits < 1 || numQubits > StateVector.MAX_QUBITS) throw new IllegalArgumentException("Number of qubits must be between 1 and " + StateVector.MAX_QUBITS + ", got: " + numQubits);
+        long amplitudes = mode == StorageMode.SPARSE ? SparseStateVector.INITIAL_CAPACITY : 1L << numQubits;
+        return amplitudes > Long.MAX_VALUE / mode.getBytesPerAmplitude() ? Long.MAX_VALUE : amplitudes * mode.getBytesPerAmplitude();
+    }
+
+    public boolean admits(int numQubits, StorageMode mode) {
+        return numQubits <= mode.getMaxQubits() && footprint(numQubits, mode) <= budgetFor(mode);
+    }
+
+    public void checkAdmission(int numQubits, StorageMode mode) {
+        if (!admits(numQubits, mode)) {
+            throw new InsufficientCapacityException(numQubits, mode, footprint(numQubits, mode), budgetFor(mode), maxQubits(mode));
+        }
+    }
+
+    // Largest register the budget admits in the given mode, or 0 if not even one qubit fits.
+    public int maxQubits(StorageMode mode) {
+        int qubits = 0;
+        while (qubits < mode.getMaxQubits() && footprint(qubits + 1, mode) <= budgetFor(mode)) qubits++;
+        return qubits;
+    }
+
+    public long budgetFor(StorageMode mode) {
+        return switch (mode.getMedium()) {
+            case HEAP -> budgetBytes;
+            case NATIVE -> offHeapBudgetBytes;
+            case DISK -> diskBudgetBytes;
+        };
+    }
+
+    public long getBudgetBytes() {return budgetBytes;}
+
+    public long getOffHeapBudgetBytes() {return offHeapBudgetBytes;}
+
+    public long getDiskBudgetBytes() {return diskBudgetBytes;}
+
+    static String format(long bytes) {
+        if (bytes == Long.MAX_VALUE) return "more than 8 EiB";
+        String[] units = {"B", "KiB", "MiB", "GiB", "TiB", "PiB", "EiB"};
+        double value = bytes;
+        int unit = 0;
+        while (value >= 1024 && unit < units.length - 1) {
+            value /= 1024;
+            unit++;
+        }
+        return unit == 0 ? bytes + " B" : String.format("%.1f %s", value, units[unit]);
+    }
+}
@@ -0,0 +1,297 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumState.stateVector;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.ref.Cleaner;
+
+/**
+ * State vector stored outside the Java heap in a {@link MemorySegment} owned by a shared
+ * {@link Arena}, with the same interleaved layout as {@link DenseStateVector}. The kernels run
+ * straight against the segment and use long indices, so states are not bound by array length and
+ * never have to be traced or moved by the GC. {@link #release()} frees the memory immediately;
+ * a vector that becomes unreachable without being released is freed by a cleaner instead.
+ *
+ * <p>This is the only class that touches {@code java.lang.foreign}, which is a preview API on
+ * Java 21, so it is loaded only when off-heap storage is selected (see {@link StateVectors}).
+ */
+final class OffHeapStateVector extends StateVector {
+    private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE;
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final MemorySegment amplitudes;
+    private final Cleaner.Cleanable cleanable;
+
+    private OffHeapStateVector(int numQubits) {
+        super(numQubits);
+        Arena arena = Arena.ofShared();
+        this.amplitudes = arena.allocate(DOUBLE.byteSize() << (numQubits + 1), DOUBLE.byteAlignment());
+        this.cleanable = CLEANER.register(this, arena::close);
+    }
+
+    static StateVector allocate(int numQubits) {
+        OffHeapStateVector vector = new OffHeapStateVector(numQubits);
+        vector.amplitudes.setAtIndex(DOUBLE, 0, 1.0);
+        return vector;
+    }
+
+    @Override
+    public double real(long index) {return amplitudes.getAtIndex(DOUBLE, index << 1);}
+
+    @Override
+    public double imaginary(long index) {return amplitudes.getAtIndex(DOUBLE, (index << 1) + 1);}
+
+    @Override
+    public void set(long index, double real, double imaginary) {
+        amplitudes.setAtIndex(DOUBLE, index << 1, real);
+        amplitudes.setAtIndex(DOUBLE, (index << 1) + 1, imaginary);
+    }
+
+    @Override
+    public OffHeapStateVector copy() {
+        OffHeapStateVector copy = new OffHeapStateVector(numQubits);
+        MemorySegment.copy(amplitudes, 0, copy.amplitudes, 0, amplitudes.byteSize());
+        copy.setExecutor(getExecutor());
+        return copy;
+    }
+
+    @Override
+    public void release() {cleanable.clean();}
+
+    @Override
+    public void applyMatrix(int target, double m00r, double m00i, double m01r, double m01i,
+                            double m10r, double m10i, double m11r, double m11i) {
+        forEachBlock(dimension >> 1, (from, to) -> matrixRange(target, m00r, m00i, m01r, m01i, m10r, m10i, m11r, m11i, from, to));
+    }
+
+    @Override
+    public void applyTwoQubitMatrix(int highQubit, int lowQubit, double[] matrix) {
+        forEachBlock(dimension >> 2, (from, to) -> twoQubitRange(highQubit, lowQubit, matrix, from, to));
+    }
+
+    @Override
+    public void applyControlledMatrix(int target, long controlMask, double m00r, double m00i, double m01r, double m01i,
+                                      double m10r, double m10i, double m11r, double m11i) {
+        int[] bits = ascendingBits(new int[]{target}, controlMask);
+        forEachBlock(dimension >> bits.length, (from, to) ->
+                controlledMatrixRange(target, bits, controlMask, m00r, m00i, m01r, m01i, m10r, m10i, m11r, m11i, from, to));
+    }
+
+    @Override
+    public void applyMultiQubitMatrix(int[] targets, long controlMask, double[] matrix) {
+        long[] offsets = new long[1 << targets.length];
+        for (int j = 0; j < offsets.length; j++) {
+            for (int m = 0; m < targets.length; m++) {
+                if ((j & (1 << (targets.length - 1 - m))) != 0) offsets[j] |= 1L << targets[m];
+            }
+        }
+        int[] bits = ascendingBits(targets, controlMask);
+        forEachBlock(dimension >> bits.length, (from, to) -> multiQubitRange(bits, controlMask, offsets, matrix, from, to));
+    }
+
+    @Override
+    public void applyDiagonal(int target, double d0r, double d0i, double d1r, double d1i) {
+        forEachBlock(dimension >> 1, (from, to) -> diagonalRange(target, d0r, d0i, d1r, d1i, from, to));
+    }
+
+    @Override
+    public void applyDiagonalTable(long qubitMask, double[] phases) {
+        forEachBlock(dimension, (from, to) -> diagonalTableRange(qubitMask, phases, from, to));
+    }
+
+    @Override
+    public void applyNot(int target, long controlMask) {
+        forEachBlock(dimension >> 1, (from, to) -> notRange(target, controlMask, from, to));
+    }
+
+    @Override
+    public void applySwap(int qubit1, int qubit2) {
+        forEachBlock(dimension, (from, to) -> swapRange(qubit1, qubit2, from, to));
+    }
+
+    // Same iteration spaces as the DenseStateVector kernels, with offsets counted in doubles.
+    private void matrixRange(int target, double m00r, double m00i, double m01r, double m01i,
+                             double m10r, double m10i, double m11r, double m11i, long from, long to) {
+        final MemorySegment a = amplitudes;
+        final long mask = 1L << target;
+        final long stride = mask << 1;
+        for (long p = from; p < to; ) {
+            long run = Math.min(to, (p | (mask - 1)) + 1) - p;
+            long start = insertZeroBit(p, target) << 1;
+            for (long j = start, end = start + (run << 1); j < end; j += 2) {
+                long k = j + stride;
+                double a0r = a.getAtIndex(DOUBLE, j), a0i = a.getAtIndex(DOUBLE, j + 1);
+                double a1r = a.getAtIndex(DOUBLE, k), a1i = a.getAtIndex(DOUBLE, k + 1);
+                a.setAtIndex(DOUBLE, j, m00r * a0r - m00i * a0i + m01r * a1r - m01i * a1i);
+                a.setAtIndex(DOUBLE, j + 1, m00r * a0i + m00i * a0r + m01r * a1i + m01i * a1r);
+                a.setAtIndex(DOUBLE, k, m10r * a0r - m10i * a0i + m11r * a1r - m11i * a1i);
+                a.setAtIndex(DOUBLE, k + 1, m10r * a0i + m10i * a0r + m11r * a1i + m11i * a1r);
+            }
+            p += run;
+        }
+    }
+
+    private void twoQubitRange(int highQubit, int lowQubit, double[] m, long from, long to) {
+        final MemorySegment a = amplitudes;
+        final long highMask = 1L << highQubit;
+        final long lowMask = 1L << lowQubit;
+        final int first = Math.min(highQubit, lowQubit);
+        final int second = Math.max(highQubit, lowQubit);
+        for (long q = from; q < to; q++) {
+            long i0 = insertZeroBit(insertZeroBit(q, first), second);
+            long o0 = i0 << 1;
+            long o1 = (i0 | lowMask) << 1;
+            long o2 = (i0 | highMask) << 1;
+            long o3 = (i0 | highMask | lowMask) << 1;
+            double x0r = a.getAtIndex(DOUBLE, o0), x0i = a.getAtIndex(DOUBLE, o0 + 1);
+            double x1r = a.getAtIndex(DOUBLE, o1), x1i = a.getAtIndex(DOUBLE, o1 + 1);
+            double x2r = a.getAtIndex(DOUBLE, o2), x2i = a.getAtIndex(DOUBLE, o2 + 1);
+            double x3r = a.getAtIndex(DOUBLE, o3), x3i = a.getAtIndex(DOUBLE, o3 + 1);
+            for (int r = 0; r < 4; r++) {
+                int row = r << 3;
+                long o = r == 0 ? o0 : r == 1 ? o1 : r == 2 ? o2 : o3;
+                a.setAtIndex(DOUBLE, o, m[row] * x0r - m[row + 1] * x0i + m[row + 2] * x1r - m[row + 3] * x1i
+                        + m[row + 4] * x2r - m[row + 5] * x2i + m[row + 6] * x3r - m[row + 7] * x3i);
+                a.setAtIndex(DOUBLE, o + 1, m[row] * x0i + m[row + 1] * x0r + m[row + 2] * x1i + m[row + 3] * x1r
+                        + m[row + 4] * x2i + m[row + 5] * x2r + m[row + 6] * x3i + m[row + 7] * x3r);
+            }
+        }
+    }
+
+    private void controlledMatrixRange(int target, int[] bits, long controlMask, double m00r, double m00i, double m01r, double m01i,
+                                       double m10r, double m10i, double m11r, double m11i, long from, long to) {
+        final MemorySegment a = amplitudes;
+        final long stride = 2L << target;
+        for (long c = from; c < to; c++) {
+            long j = (insertZeroBits(c, bits) | controlMask) << 1;
+            long k = j + stride;
+            double a0r = a.getAtIndex(DOUBLE, j), a0i = a.getAtIndex(DOUBLE, j + 1);
+            double a1r = a.getAtIndex(DOUBLE, k), a1i = a.getAtIndex(DOUBLE, k + 1);
+            a.setAtIndex(DOUBLE, j, m00r * a0r - m00i * a0i + m01r * a1r - m01i * a1i);
+            a.setAtIndex(DOUBLE, j + 1, m00r * a0i + m00i * a0r + m01r * a1i + m01i * a1r);
+            a.setAtIndex(DOUBLE, k, m10r * a0r - m10i * a0i + m11r * a1r - m11i * a1i);
+            a.setAtIndex(DOUBLE, k + 1, m10r * a0i + m10i * a0r + m11r * a1i + m11i * a1r);
+        }
+    }
+
+    private void multiQubitRange(int[] bits, long controlMask, long[] offsets, double[] m, long from, long to) {
+        final MemorySegment a = amplitudes;
+        final int size = offsets.length;
+        final double[] gathered = new double[size << 1];
+        for (long b = from; b < to; b++) {
+            long base = insertZeroBits(b, bits) | controlMask;
+            for (int j = 0; j < size; j++) {
+                long o = (base | offsets[j]) << 1;
+                gathered[2 * j] = a.getAtIndex(DOUBLE, o);
+                gathered[2 * j + 1] = a.getAtIndex(DOUBLE, o + 1);
+            }
+            for (int r = 0, row = 0; r < size; r++) {
+                double re = 0.0, im = 0.0;
+                for (int j = 0; j < size; j++, row += 2) {
+                    double mr = m[row], mi = m[row + 1];
+                    double xr = gathered[2 * j], xi = gathered[2 * j + 1];
+                    re += mr * xr - mi * xi;
+                    im += mr * xi + mi * xr;
+                }
+                long o = (base | offsets[r]) << 1;
+                a.setAtIndex(DOUBLE, o, re);
+                a.setAtIndex(DOUBLE, o + 1, im);
+            }
+        }
+    }
+
+    private void diagonalRange(int target, double d0r, double d0i, double d1r, double d1i, long from, long to) {
+        final long mask = 1L << target;
+        final long stride = mask << 1;
+        boolean scaleLow = d0r != 1.0 || d0i != 0.0;
+        boolean scaleHigh = d1r != 1.0 || d1i != 0.0;
+        for (long p = from; p < to; ) {
+            long run = Math.min(to, (p | (mask - 1)) + 1) - p;
+            long start = insertZeroBit(p, target) << 1;
+            if (scaleLow) multiplyRange(start, start + (run << 1), d0r, d0i);
+            if (scaleHigh) multiplyRange(start + stride, start + stride + (run << 1), d1r, d1i);
+            p += run;
+        }
+    }
+
+    private void multiplyRange(long from, long to, double pr, double pi) {
+        final MemorySegment a = amplitudes;
+        for (long j = from; j < to; j += 2) {
+            double re = a.getAtIndex(DOUBLE, j), im = a.getAtIndex(DOUBLE, j + 1);
+            a.setAtIndex(DOUBLE, j, re * pr - im * pi);
+            a.setAtIndex(DOUBLE, j + 1, re * pi + im * pr);
+        }
+    }
+
+    private void diagonalTableRange(long qubitMask, double[] phases, long from, long to) {
+        final MemorySegment a = amplitudes;
+        for (long i = from; i < to; i++) {
+            int t = (int) Long.compress(i, qubitMask) << 1;
+            long j = i << 1;
+            double pr = phases[t], pi = phases[t + 1];
+            double re = a.getAtIndex(DOUBLE, j), im = a.getAtIndex(DOUBLE, j + 1);
+            a.setAtIndex(DOUBLE, j, re * pr - im * pi);
+            a.setAtIndex(DOUBLE, j + 1, re * pi + im * pr);
+        }
+    }
+
+    private void notRange(int target, long controlMask, long from, long to) {
+        final long mask = 1L << target;
+        final long stride = mask << 1;
+        for (long p = from; p < to; ) {
+            long run = Math.min(to, (p | (mask - 1)) + 1) - p;
+            long i0 = insertZeroBit(p, target);
+            for (long i = i0, end = i0 + run; i < end; i++) {
+                if ((i & controlMask) == controlMask) swapAmplitudes(i << 1, (i << 1) + stride);
+            }
+            p += run;
+        }
+    }
+
+    private void swapRange(int qubit1, int qubit2, long from, long to) {
+        final long mask1 = 1L << qubit1;
+        final long mask2 = 1L << qubit2;
+        for (long i = from; i < to; i++) {
+            if ((i & mask1) == 0 || (i & mask2) != 0) continue;
+            swapAmplitudes(i << 1, (i ^ mask1 ^ mask2) << 1);
+        }
+    }
+
+    private void swapAmplitudes(long j, long k) {
+        final MemorySegment a = amplitudes;
+        double re = a.getAtIndex(DOUBLE, j), im = a.getAtIndex(DOUBLE, j + 1);
+        a.setAtIndex(DOUBLE, j, a.getAtIndex(DOUBLE, k));
+        a.setAtIndex(DOUBLE, j + 1, a.getAtIndex(DOUBLE, k + 1));
+        a.setAtIndex(DOUBLE, k, re);
+        a.setAtIndex(DOUBLE, k + 1, im);
+    }
+
+    @Override
+    public void scale(double factor) {
+        for (long i = 0, n = dimension << 1; i < n; i++) amplitudes.setAtIndex(DOUBLE, i, amplitudes.getAtIndex(DOUBLE, i) * factor);
+    }
+
+    @Override
+    public double normSquared() {
+        double sum = 0.0;
+        for (long i = 0, n = dimension << 1; i < n; i++) {
+            double value = amplitudes.getAtIndex(DOUBLE, i);
+            sum += value * value;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,445 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package model.quantumModel.quantumState.stateVector;
+
+/**
+ * State vector that stores only its non-zero amplitudes in an {@link AmplitudeTable}, for circuits
+ * that mostly permute basis states (X, CNOT, Toffoli, SWAP, reversible arithmetic) and so keep a
+ * handful of amplitudes at any register width. Permutations rewrite keys, diagonals scale values
+ * in place, and mixing gates write each group of amplitudes they combine once into a scratch table
+ * that then becomes the state; results below {@link #PRUNE_THRESHOLD} are dropped.
+ *
+ * <p>Before a gate that can spread amplitudes, the worst-case fill is estimated. Once it would pass
+ * {@code fillThreshold} of the dimension, and a dense state of this width fits the
+ * {@link MemoryBudget}, the amplitudes move to a dense vector and every later call is delegated to
+ * it. A sparse table that would outgrow the heap budget without a dense fallback fails with an
+ * {@link InsufficientCapacityException} before the gate runs.
+ */
+public class SparseStateVector extends StateVector {
+    public static final double DEFAULT_FILL_THRESHOLD = 1.0 / 16;
+    public static final int INITIAL_CAPACITY = 16;
+    // Squared magnitude below which an amplitude is treated as an exact zero.
+    public static final double PRUNE_THRESHOLD = 1e-30;
+
+    private final double fillThreshold;
+    private AmplitudeTable table;
+    private AmplitudeTable scratch;
+    private StateVector dense;
+
+    public SparseStateVector(int numQubits) {
+        this(numQubits, DEFAULT_FILL_THRESHOLD);
+    }
+
+    public SparseStateVector(int numQubits, double fillThreshold) {
+        this(numQubits, fillThreshold, new AmplitudeTable(INITIAL_CAPACITY));
+        table.put(0, 1.0, 0.0);
+    }
+
+    private SparseStateVector(int numQubits, double fillThreshold, AmplitudeTable table) {
+        super(numQubits);
+        if (!(fillThreshold > 0 && fillThreshold <= 1)) throw new IllegalArgumentException("Fill threshold must be in (0, 1], got: " + fillThreshold);
+        this.fillThreshold = fillThreshold;
+        this.table = table;
+        this.scratch = new AmplitudeTable(INITIAL_CAPACITY);
+    }
+
+    public boolean isDense() {return dense != null;}
+
+    // Amplitudes currently stored; the full dimension once the state has turned dense.
+    public long getNonZeroCount() {return dense != null ? dense.getDimension() : table.size();}
+
+    public double getFillThreshold() {return fillThreshold;}
+
+    // Visits the stored amplitudes in table order, or every amplitude once the state has turned dense.
+    public void forEachStored(AmplitudeVisitor visitor) {
+        if (dense != null) {
+            for (long index = 0; index < dimension; index++) visitor.visit(index, dense.real(index), dense.imaginary(index));
+            return;
+        }
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            long key = table.keyAt(slot);
+            if (key != AmplitudeTable.EMPTY) visitor.visit(key, table.realAt(slot), table.imaginaryAt(slot));
+        }
+    }
+
+    @Override
+    public double real(long index) {
+        if (dense != null) return dense.real(index);
+        int slot = table.slotOf(index);
+        return slot < 0 ? 0.0 : table.realAt(slot);
+    }
+
+    @Override
+    public double imaginary(long index) {
+        if (dense != null) return dense.imaginary(index);
+        int slot = table.slotOf(index);
+        return slot < 0 ? 0.0 : table.imaginaryAt(slot);
+    }
+
+    @Override
+    public long basisIndex() {
+        if (dense != null) return dense.basisIndex();
+        if (table.size() != 1) return -1;
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            if (table.keyAt(slot) != AmplitudeTable.EMPTY) return probability(table.keyAt(slot)) >= 1.0 - getNormTolerance() ? table.keyAt(slot) : -1;
+        }
+        return -1;
+    }
+
+    @Override
+    public void set(long index, double real, double imaginary) {
+        if (dense != null) dense.set(index, real, imaginary);
+        else if (real * real + imaginary * imaginary < PRUNE_THRESHOLD) table.remove(index);
+        else table.put(index, real, imaginary);
+    }
+
+    @Override
+    public SparseStateVector copy() {
+        SparseStateVector copy = new SparseStateVector(numQubits, fillThreshold, table.copy());
+        if (dense != null) copy.dense = dense.copy();
+        copy.setExecutor(getExecutor());
+        return copy;
+    }
+
+    @Override
+    public void setExecutor(KernelExecutor executor) {
+        super.setExecutor(executor);
+        if (dense != null) dense.setExecutor(executor);
+    }
+
+    @Override
+    public void release() {
+        if (dense != null) dense.release();
+    }
+
+    // Sparse kernels always sweep the whole table, so tiling only matters once the state is dense.
+    @Override
+    public void forEachTile(int tileQubits, Runnable gates) {
+        if (dense != null) dense.forEachTile(tileQubits, gates);
+        else gates.run();
+    }
+
+    /**
+     * Prepares for a gate that leaves at most {@code spread} amplitudes per stored one. Returns
+     * true when the state is (now) dense and the gate should be delegated.
+     */
+    private boolean goesDense(int spread) {
+        if (dense != null) return true;
+        long bound = Math.min(dimension, (long) table.size() * spread);
+        MemoryBudget budget = MemoryBudget.getDefault();
+        if (bound > fillThreshold * dimension && budget.admits(numQubits, StorageMode.DENSE)) {
+            densify();
+            return true;
+        }
+        long required = bound > Integer.MAX_VALUE >> 2 ? Long.MAX_VALUE : bound * StorageMode.SPARSE.getBytesPerAmplitude();
+        if (required > budget.budgetFor(StorageMode.SPARSE)) {
+            throw new InsufficientCapacityException(numQubits, StorageMode.SPARSE, required,
+                    budget.budgetFor(StorageMode.SPARSE), budget.maxQubits(StorageMode.DENSE));
+        }
+        return false;
+    }
+
+    private void densify() {
+        StateVector vector = StateVectors.zero(numQubits, StorageMode.DENSE);
+        vector.setExecutor(getExecutor());
+        vector.set(0, 0.0, 0.0);
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            long key = table.keyAt(slot);
+            if (key != AmplitudeTable.EMPTY) vector.set(key, table.realAt(slot), table.imaginaryAt(slot));
+        }
+        dense = vector;
+        table = new AmplitudeTable(INITIAL_CAPACITY);
+        scratch = new AmplitudeTable(INITIAL_CAPACITY);
+    }
+
+    private void swapTables() {
+        AmplitudeTable previous = table;
+        table = scratch;
+        scratch = previous;
+    }
+
+    private void putIfNonZero(long key, double real, double imaginary) {
+        if (real * real + imaginary * imaginary >= PRUNE_THRESHOLD) scratch.put(key, real, imaginary);
+    }
+
+    @Override
+    public void applyMatrix(int target, double m00r, double m00i, double m01r, double m01i,
+                            double m10r, double m10i, double m11r, double m11i) {
+        applyControlledMatrix(target, 0L, m00r, m00i, m01r, m01i, m10r, m10i, m11r, m11i);
+    }
+
+    // The lower member of a pair combines both amplitudes; the upper one only does so when its
+    // partner is absent. Pairs outside the controlled subspace are copied unchanged.
+    @Override
+    public void applyControlledMatrix(int target, long controlMask, double m00r, double m00i, double m01r, double m01i,
+                                      double m10r, double m10i, double m11r, double m11i) {
+        if (goesDense(2)) {
+            dense.applyControlledMatrix(target, controlMask, m00r, m00i, m01r, m01i, m10r, m10i, m11r, m11i);
+            return;
+        }
+        final long bit = 1L << target;
+        scratch.clear(table.size() << 1);
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            long key = table.keyAt(slot);
+            if (key == AmplitudeTable.EMPTY) continue;
+            if ((key & controlMask) != controlMask) {
+                scratch.put(key, table.realAt(slot), table.imaginaryAt(slot));
+                continue;
+            }
+            long low = key & ~bit;
+            int lowSlot = key == low ? slot : table.slotOf(low);
+            if (key != low && lowSlot >= 0) continue;
+            int highSlot = key == low ? table.slotOf(low | bit) : slot;
+            double a0r = lowSlot < 0 ? 0.0 : table.realAt(lowSlot), a0i = lowSlot < 0 ? 0.0 : table.imaginaryAt(lowSlot);
+            double a1r = highSlot < 0 ? 0.0 : table.realAt(highSlot), a1i = highSlot < 0 ? 0.0 : table.imaginaryAt(highSlot);
+            putIfNonZero(low, m00r * a0r - m00i * a0i + m01r * a1r - m01i * a1i,
+                    m00r * a0i + m00i * a0r + m01r * a1i + m01i * a1r);
+            putIfNonZero(low | bit, m10r * a0r - m10i * a0i + m11r * a1r - m11i * a1i,
+                    m10r * a0i + m10i * a0r + m11r * a1i + m11i * a1r);
+        }
+        swapTables();
+    }
+
+    @Override
+    public void applyTwoQubitMatrix(int highQubit, int lowQubit, double[] matrix) {
+        applyMultiQubitMatrix(new int[]{highQubit, lowQubit}, 0L, matrix);
+    }
+
+    // Each group of 2^k amplitudes that differ only in the target bits is handled by its first
+    // stored member, which gathers the group, multiplies it and scatters the non-zero results.
+    @Override
+    public void applyMultiQubitMatrix(int[] targets, long controlMask, double[] matrix) {
+        if (goesDense(1 << targets.length)) {
+            dense.applyMultiQubitMatrix(targets, controlMask, matrix);
+            return;
+        }
+        final int size = 1 << targets.length;
+        final long[] offsets = new long[size];
+        long targetMask = 0;
+        for (int j = 0; j < size; j++) {
+            for (int m = 0; m < targets.length; m++) {
+                if ((j & (1 << (targets.length - 1 - m))) != 0) offsets[j] |= 1L << targets[m];
+            }
+        }
+        for (int target : targets) targetMask |= 1L << target;
+        final int[] slots = new int[size];
+        scratch.clear(table.size() << 1);
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            long key = table.keyAt(slot);
+            if (key == AmplitudeTable.EMPTY) continue;
+            if ((key & controlMask) != controlMask) {
+                scratch.put(key, table.realAt(slot), table.imaginaryAt(slot));
+                continue;
+            }
+            long base = key & ~targetMask;
+            int first = -1;
+            for (int j = 0; j < size; j++) {
+                slots[j] = table.slotOf(base | offsets[j]);
+                if (first < 0 && slots[j] >= 0) first = slots[j];
+            }
+            if (first != slot) continue;
+            for (int r = 0, row = 0; r < size; r++) {
+                double re = 0.0, im = 0.0;
+                for (int j = 0; j < size; j++, row += 2) {
+                    if (slots[j] < 0) continue;
+                    double mr = matrix[row], mi = matrix[row + 1];
+                    double xr = table.realAt(slots[j]), xi = table.imaginaryAt(slots[j]);
+                    re += mr * xr - mi * xi;
+                    im += mr * xi + mi * xr;
+                }
+                putIfNonZero(base | offsets[r], re, im);
+            }
+        }
+        swapTables();
+    }
+
+    @Override
+    public void applyDiagonal(int target, double d0r, double d0i, double d1r, double d1i) {
+        if (dense != null) {
+            dense.applyDiagonal(target, d0r, d0i, d1r, d1i);
+            return;
+        }
+        boolean pruned = false;
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            long key = table.keyAt(slot);
+            if (key == AmplitudeTable.EMPTY) continue;
+            if ((key & (1L << target)) == 0) table.multiply(slot, d0r, d0i);
+            else table.multiply(slot, d1r, d1i);
+            pruned |= belowThreshold(slot);
+        }
+        if (pruned) pruneTable();
+    }
+
+    @Override
+    public void applyDiagonalTable(long qubitMask, double[] phases) {
+        if (dense != null) {
+            dense.applyDiagonalTable(qubitMask, phases);
+            return;
+        }
+        boolean pruned = false;
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            long key = table.keyAt(slot);
+            if (key == AmplitudeTable.EMPTY) continue;
+            int t = (int) Long.compress(key, qubitMask) << 1;
+            table.multiply(slot, phases[t], phases[t + 1]);
+            pruned |= belowThreshold(slot);
+        }
+        if (pruned) pruneTable();
+    }
+
+    private boolean belowThreshold(int slot) {
+        double re = table.realAt(slot), im = table.imaginaryAt(slot);
+        return re * re + im * im < PRUNE_THRESHOLD;
+    }
+
+    // Removal shifts later entries back into freed slots, so the keys are gathered before any goes.
+    private void pruneTable() {
+        long[] keys = new long[table.size()];
+        int count = 0;
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            if (table.keyAt(slot) != AmplitudeTable.EMPTY && belowThreshold(slot)) keys[count++] = table.keyAt(slot);
+        }
+        for (int k = 0; k < count; k++) table.remove(keys[k]);
+    }
+
+    // Pairs (k, k ^ x) are handled by k, the member without the lowest X bit, or by its partner
+    // when k is not stored, as in applyControlledMatrix.
+    @Override
+    public void applyPauliRotation(long xMask, long zMask, int power, double theta) {
+        if (xMask != 0 ? goesDense(2) : dense != null) {
+            dense.applyPauliRotation(xMask, zMask, power, theta);
+            return;
+        }
+        double[] factors = pauliRotationFactors(power, theta);
+        double c = factors[0], fr = factors[1], fi = factors[2];
+        if (xMask == 0) {
+            for (int slot = 0; slot < table.capacity(); slot++) {
+                long key = table.keyAt(slot);
+                if (key == AmplitudeTable.EMPTY) continue;
+                double sign = (Long.bitCount(key & zMask) & 1) == 0 ? 1.0 : -1.0;
+                table.multiply(slot, c + sign * fr, sign * fi);
+            }
+            return;
+        }
+        final long pivot = Long.lowestOneBit(xMask);
+        scratch.clear(table.size() << 1);
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            long key = table.keyAt(slot);
+            if (key == AmplitudeTable.EMPTY) continue;
+            long k = (key & pivot) == 0 ? key : key ^ xMask, j = k ^ xMask;
+            int kSlot = key == k ? slot : table.slotOf(k);
+            if (key != k && kSlot >= 0) continue;
+            int jSlot = key == j ? slot : table.slotOf(j);
+            double ar = kSlot < 0 ? 0.0 : table.realAt(kSlot), ai = kSlot < 0 ? 0.0 : table.imaginaryAt(kSlot);
+            double br = jSlot < 0 ? 0.0 : table.realAt(jSlot), bi = jSlot < 0 ? 0.0 : table.imaginaryAt(jSlot);
+            double sk = (Long.bitCount(k & zMask) & 1) == 0 ? 1.0 : -1.0;
+            double sj = (Long.bitCount(j & zMask) & 1) == 0 ? 1.0 : -1.0;
+            putIfNonZero(k, c * ar + sj * (fr * br - fi * bi), c * ai + sj * (fr * bi + fi * br));
+            putIfNonZero(j, c * br + sk * (fr * ar - fi * ai), c * bi + sk * (fr * ai + fi * ar));
+        }
+        swapTables();
+    }
+
+    @Override
+    public void applyNot(int target, long controlMask) {
+        if (dense != null) {
+            dense.applyNot(target, controlMask);
+            return;
+        }
+        final long bit = 1L << target;
+        scratch.clear(table.size());
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            long key = table.keyAt(slot);
+            if (key == AmplitudeTable.EMPTY) continue;
+            scratch.put((key & controlMask) == controlMask ? key ^ bit : key, table.realAt(slot), table.imaginaryAt(slot));
+        }
+        swapTables();
+    }
+
+    @Override
+    public void applySwap(int qubit1, int qubit2) {
+        if (dense != null) {
+            dense.applySwap(qubit1, qubit2);
+            return;
+        }
+        final long both = (1L << qubit1) | (1L << qubit2);
+        scratch.clear(table.size());
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            long key = table.keyAt(slot);
+            if (key == AmplitudeTable.EMPTY) continue;
+            long bits = key & both;
+            scratch.put(bits == 0 || bits == both ? key : key ^ both, table.realAt(slot), table.imaginaryAt(slot));
+        }
+        swapTables();
+    }
+
+    @Override
+    public void scale(double factor) {
+        if (dense != null) dense.scale(factor);
+        else table.scale(factor, 0.0);
+    }
+
+    @Override
+    public double normSquared() {
+        if (dense != null) return dense.normSquared();
+        double sum = 0.0;
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            if (table.keyAt(slot) == AmplitudeTable.EMPTY) continue;
+            double re = table.realAt(slot), im = table.imaginaryAt(slot);
+            sum += re * re + im * im;
+        }
+        return sum;
+    }
+
+    @Override
+    public double[] marginal(long qubitMask) {
+        if (dense != null) return dense.marginal(qubitMask);
+        double[] buckets = new double[1 << validateMarginalMask(qubitMask)];
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            long key = table.keyAt(slot);
+            if (key == AmplitudeTable.EMPTY) continue;
+            double re = table.realAt(slot), im = table.imaginaryAt(slot);
+            buckets[(int) Long.compress(key, qubitMask)] += re * re + im * im;
+        }
+        return buckets;
+    }
+
+    @Override
+    public long[] mostLikely(int count) {
+        if (dense != null) return dense.mostLikely(count);
+        TopOutcomes top = new TopOutcomes(count);
+        forEachStored((index, real, imaginary) -> top.offer(index, real * real + imaginary * imaginary));
+        return top.outcomes();
+    }
+
+    @Override
+    public double[] probabilities() {
+        if (dense != null) return dense.probabilities();
+        double[] probabilities = new double[Math.toIntExact(dimension)];
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            long key = table.keyAt(slot);
+            if (key == AmplitudeTable.EMPTY) continue;
+            double re = table.realAt(slot), im = table.imaginaryAt(slot);
+            probabilities[(int) key] = re * re + im * im;
+        }
+        return probabilities;
+    }
+
+    @FunctionalInterface
+    public interface AmplitudeVisitor {
+        void visit(long index, double real, double imaginary);
+    }
+}
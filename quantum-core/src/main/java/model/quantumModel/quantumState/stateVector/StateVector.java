@@ -0,0 +1,308 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumState.stateVector;
+
+import model.mathModel.Complex;
+
+import java.util.Arrays;
+
+public abstract class StateVector {
+    public static final int MAX_QUBITS = 62;
+    public static final int MAX_MARGINAL_QUBITS = 30;
+    private static final int MARGINAL_BLOCK_BITS = 6;
+
+    protected final int numQubits;
+    protected final long dimension;
+    private final ThreadLocal<long[]> activeTile = new ThreadLocal<>();
+    private KernelExecutor executor = KernelExecutor.getDefault();
+
+    protected StateVector(int numQubits) {
+        if (numQubits < 1 || numQubits > MAX_QUBITS) throw new IllegalArgumentException("Number of qubits must be between 1 and " + MAX_QUBITS + ", got: " + numQubits);
+        this.numQubits = numQubits;
+        this.dimension = 1L << numQubits;
+    }
+
+    public abstract double real(long index);
+
+    public abstract double imaginary(long index);
+
+    public abstract void set(long index, double real, double imaginary);
+
+    public abstract StateVector copy();
+
+    public abstract void applyMatrix(int target, double m00r, double m00i, double m01r, double m01i,
+                                     double m10r, double m10i, double m11r, double m11i);
+
+    public abstract void applyTwoQubitMatrix(int highQubit, int lowQubit, double[] matrix);
+
+    public abstract void applyControlledMatrix(int target, long controlMask, double m00r, double m00i, double m01r, double m01i,
+                                               double m10r, double m10i, double m11r, double m11i);
+
+    public void applyMultiQubitMatrix(int[] targets, double[] matrix) {applyMultiQubitMatrix(targets, 0L, matrix);}
+
+    public abstract void applyMultiQubitMatrix(int[] targets, long controlMask, double[] matrix);
+
+    public abstract void applyDiagonal(int target, double d0r, double d0i, double d1r, double d1i);
+
+    public abstract void applyDiagonalTable(long qubitMask, double[] phases);
+
+    public abstract void applyNot(int target, long controlMask);
+
+    public abstract void applySwap(int qubit1, int qubit2);
+
+    public abstract void scale(double factor);
+
+    public abstract double normSquared();
+
+    // Frees storage the GC does not manage; the vector must not be used afterwards. Heap-backed
+    // vectors have nothing to free.
+    public void release() {}
+
+    // How far the squared norm may stray from 1 and still count as normalized.
+    public double getNormTolerance() {return Complex.EPSILON;}
+
+    public double probability(long index) {
+        double re = real(index);
+        double im = imaginary(index);
+        return re * re + im * im;
+    }
+
+    public double[] probabilities() {
+        double[] probabilities = new double[Math.toIntExact(dimension)];
+        for (int i = 0; i < probabilities.length; i++) probabilities[i] = probability(i);
+        return probabilities;
+    }
+
+    // Index of the computational basis state holding all of the weight, or -1 when the state is
+    // spread over several of them.
+    public long basisIndex() {
+        for (long i = 0; i < dimension; i++) {
+            double probability = probability(i);
+            if (probability > Complex.EPSILON) return Math.abs(probability - 1.0) <= getNormTolerance() ? i : -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Applies {@code exp(-iθP)} in place for the Hermitian Pauli string {@code P = i^power X^x Z^z},
+     * using {@code P² = I}: {@code exp(-iθP) = cos θ - i sin θ P}. {@code P} maps {@code |k⟩} to
+     * {@code ±|k ^ x⟩}, so each amplitude pair {@code (k, k ^ x)} mixes only with itself; with no X
+     * part the rotation is a phase per amplitude.
+     */
+    public void applyPauliRotation(long xMask, long zMask, int power, double theta) {
+        double[] factors = pauliRotationFactors(power, theta);
+        double c = factors[0], fr = factors[1], fi = factors[2];
+        if (xMask == 0) {
+            forEachBlock(dimension, (from, to) -> pauliPhaseRange(zMask, c, fr, fi, from, to));
+            return;
+        }
+        int pivot = Long.numberOfTrailingZeros(xMask);
+        forEachBlock(dimension >> 1, (from, to) -> pauliRotationRange(xMask, zMask, pivot, c, fr, fi, from, to));
+    }
+
+    // {cos θ, Re, Im} of -i sin θ · i^power, the weight of P in the rotation.
+    protected static double[] pauliRotationFactors(int power, double theta) {
+        double s = Math.sin(theta);
+        int f = (power + 3) & 3;
+        return new double[]{Math.cos(theta), f == 0 ? s : f == 2 ? -s : 0.0, f == 1 ? s : f == 3 ? -s : 0.0};
+    }
+
+    // Amplitude k picks up c + (-1)^|k & z| (fr + i fi).
+    protected void pauliPhaseRange(long zMask, double c, double fr, double fi, long from, long to) {
+        for (long k = from; k < to; k++) {
+            double sign = (Long.bitCount(k & zMask) & 1) == 0 ? 1.0 : -1.0;
+            double pr = c + sign * fr, pi = sign * fi;
+            double re = real(k), im = imaginary(k);
+            set(k, pr * re - pi * im, pr * im + pi * re);
+        }
+    }
+
+    // Pair indices expand to k by inserting a zero at the lowest X bit; the partner is k ^ x.
+    protected void pauliRotationRange(long xMask, long zMask, int pivot, double c, double fr, double fi, long from, long to) {
+        for (long p = from; p < to; p++) {
+            long k = insertZeroBit(p, pivot), j = k ^ xMask;
+            double sk = (Long.bitCount(k & zMask) & 1) == 0 ? 1.0 : -1.0;
+            double sj = (Long.bitCount(j & zMask) & 1) == 0 ? 1.0 : -1.0;
+            double ar = real(k), ai = imaginary(k), br = real(j), bi = imaginary(j);
+            set(k, c * ar + sj * (fr * br - fi * bi), c * ai + sj * (fr * bi + fi * br));
+            set(j, c * br + sk * (fr * ar - fi * ai), c * bi + sk * (fr * ai + fi * ar));
+        }
+    }
+
+    /**
+     * Marginal distribution of the qubits in {@code qubitMask}, in one pass over the amplitudes:
+     * the probability of basis state {@code i} lands in bucket {@code Long.compress(i, qubitMask)},
+     * so bit {@code j} of a bucket is the {@code j}-th selected qubit in ascending order. Vectors
+     * with blocks well above the bucket count are cut into a fixed number of blocks with private
+     * buckets, summed in block order; the executor's threshold only decides whether the blocks run
+     * in parallel, so the result does not depend on the executor.
+     */
+    public double[] marginal(long qubitMask) {
+        int selected = validateMarginalMask(qubitMask);
+        int blockQubits = numQubits - MARGINAL_BLOCK_BITS;
+        if (blockQubits < selected + 2) {
+            double[] buckets = new double[1 << selected];
+            accumulateMarginal(qubitMask, 0, dimension, buckets);
+            return buckets;
+        }
+        double[][] partials = new double[1 << MARGINAL_BLOCK_BITS][];
+        executor.runBlocks(numQubits, partials.length, (from, to) -> {
+            for (long block = from; block < to; block++) {
+                double[] buckets = new double[1 << selected];
+                accumulateMarginal(qubitMask, block << blockQubits, (block + 1) << blockQubits, buckets);
+                partials[(int) block] = buckets;
+            }
+        });
+        double[] buckets = partials[0];
+        for (int block = 1; block < partials.length; block++) {
+            double[] partial = partials[block];
+            for (int b = 0; b < buckets.length; b++) buckets[b] += partial[b];
+        }
+        return buckets;
+    }
+
+    // Number of qubits in a valid marginal mask.
+    protected int validateMarginalMask(long qubitMask) {
+        if (qubitMask == 0 || (qubitMask >>> numQubits) != 0) throw new IllegalArgumentException("Qubit mask must select qubits of the state, got: " + Long.toBinaryString(qubitMask));
+        int selected = Long.bitCount(qubitMask);
+        if (selected > MAX_MARGINAL_QUBITS) throw new IllegalArgumentException("Marginals cover at most " + MAX_MARGINAL_QUBITS + " qubits, got: " + selected);
+        return selected;
+    }
+
+    // Adds the probabilities of basis states [from, to) into their marginal buckets.
+    protected void accumulateMarginal(long qubitMask, long from, long to, double[] buckets) {
+        for (long i = from; i < to; i++) buckets[(int) Long.compress(i, qubitMask)] += probability(i);
+    }
+
+    // The count most probable basis states, most probable first, from one pass that allocates nothing per amplitude.
+    public long[] mostLikely(int count) {
+        TopOutcomes top = new TopOutcomes(count);
+        for (long i = 0; i < dimension; i++) top.offer(i, probability(i));
+        return top.outcomes();
+    }
+
+    // Keeps the most probable outcomes offered so far, sorted by descending probability.
+    protected static final class TopOutcomes {
+        private final long[] outcomes;
+        private final double[] probabilities;
+        private int size;
+
+        protected TopOutcomes(int count) {
+            if (count < 1) throw new IllegalArgumentException("Outcome count must be positive, got: " + count);
+            this.outcomes = new long[count];
+            this.probabilities = new double[count];
+        }
+
+        protected void offer(long outcome, double probability) {
+            if (probability == 0 || (size == outcomes.length && probability <= probabilities[size - 1])) return;
+            int slot = size < outcomes.length ? size++ : size - 1;
+            for (; slot > 0 && probabilities[slot - 1] < probability; slot--) {
+                outcomes[slot] = outcomes[slot - 1];
+                probabilities[slot] = probabilities[slot - 1];
+            }
+            outcomes[slot] = outcome;
+            probabilities[slot] = probability;
+        }
+
+        protected long[] outcomes() {return Arrays.copyOf(outcomes, size);}
+    }
+
+    // Overwrites this vector with the amplitudes of {@code source} without allocating, so a buffer can be reused.
+    public void copyFrom(StateVector source) {
+        if (source.numQubits != numQubits) throw new IllegalArgumentException("Source must have " + numQubits + " qubits, got: " + source.numQubits);
+        for (long i = 0; i < dimension; i++) set(i, source.real(i), source.imaginary(i));
+    }
+
+    public Complex get(long index) {return new Complex(real(index), imaginary(index));}
+
+    public Complex[] toComplexArray() {
+        Complex[] amplitudes = new Complex[Math.toIntExact(dimension)];
+        for (int i = 0; i < amplitudes.length; i++) amplitudes[i] = get(i);
+        return amplitudes;
+    }
+
+    public void load(Complex[] amplitudes) {
+        if (amplitudes.length != dimension) throw new IllegalArgumentException("Expected " + dimension + " amplitudes, got: " + amplitudes.length);
+        for (int i = 0; i < amplitudes.length; i++) set(i, amplitudes[i].getRealPart(), amplitudes[i].getImaginaryPart());
+    }
+
+    /**
+     * Runs {@code gates} once per tile of {@code 2^tileQubits} consecutive amplitudes, with every
+     * kernel it triggers confined to that tile. Only gates that move amplitudes along qubits below
+     * {@code tileQubits} may run this way; tiles are spread over the executor.
+     */
+    public void forEachTile(int tileQubits, Runnable gates) {
+        if (tileQubits < 2 || tileQubits > numQubits) throw new IllegalArgumentException("Tile must span between 2 and " + numQubits + " qubits, got: " + tileQubits);
+        long tileSize = 1L << tileQubits;
+        executor.runBlocks(numQubits, dimension >> tileQubits, (from, to) -> {
+            for (long tile = from; tile < to; tile++) {
+                activeTile.set(new long[]{tile * tileSize, (tile + 1) * tileSize});
+                try {
+                    gates.run();
+                } finally {
+                    activeTile.remove();
+                }
+            }
+        });
+    }
+
+    protected boolean isInTile() {return activeTile.get() != null;}
+
+    // Kernels iterate over dimension >> k compressed indices (k = bits they insert); inside a tile
+    // the same shift maps the tile's amplitude range onto the kernel's index range.
+    protected void forEachBlock(long count, KernelExecutor.RangeKernel kernel) {
+        long[] tile = activeTile.get();
+        if (tile == null) {
+            executor.run(numQubits, count, kernel);
+            return;
+        }
+        int shift = Long.numberOfTrailingZeros(dimension) - Long.numberOfTrailingZeros(count);
+        kernel.apply(tile[0] >> shift, tile[1] >> shift);
+    }
+
+    protected static long insertZeroBit(long index, int bit) {
+        long lowMask = (1L << bit) - 1;
+        return ((index & ~lowMask) << 1) | (index & lowMask);
+    }
+
+    protected static long insertZeroBits(long index, int[] ascendingBits) {
+        for (int bit : ascendingBits) index = insertZeroBit(index, bit);
+        return index;
+    }
+
+    // Ascending positions of the target and control bits a controlled kernel compresses away.
+    protected static int[] ascendingBits(int[] targets, long controlMask) {
+        int[] bits = new int[targets.length + Long.bitCount(controlMask)];
+        System.arraycopy(targets, 0, bits, 0, targets.length);
+        long remaining = controlMask;
+        for (int k = targets.length; k < bits.length; k++) {
+            bits[k] = Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+        }
+        Arrays.sort(bits);
+        return bits;
+    }
+
+    public KernelExecutor getExecutor() {return executor;}
+
+    public void setExecutor(KernelExecutor executor) {
+        if (executor == null) throw new IllegalArgumentException("Executor cannot be null");
+        this.executor = executor;
+    }
+
+    public int getNumQubits() {return numQubits;}
+
+    public long getDimension() {return dimension;}
+}
@@ -0,0 +1,89 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumState.stateVector;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Free list of state vectors of one width and storage mode, for work that runs a circuit many
+ * times over, such as noise trajectories or measurement branches. A returned buffer is handed out
+ * again instead of allocating and admitting a fresh {@code 2^n} vector; buffers beyond
+ * {@code capacity} are released. Acquire and release are lock-free and safe from any thread.
+ */
+public final class StateVectorPool {
+    private final int numQubits;
+    private final StorageMode mode;
+    private final int capacity;
+    private final ConcurrentLinkedQueue<StateVector> free;
+    private final AtomicInteger freeCount;
+    private final AtomicInteger allocated;
+
+    public StateVectorPool(int numQubits, int capacity) {
+        this(numQubits, StateVectors.getStorageMode(numQubits), capacity);
+    }
+
+    public StateVectorPool(int numQubits, StorageMode mode, int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Pool capacity must be positive, got: " + capacity);
+        this.numQubits = numQubits;
+        this.mode = mode;
+        this.capacity = capacity;
+        this.free = new ConcurrentLinkedQueue<>();
+        this.freeCount = new AtomicInteger();
+        this.allocated = new AtomicInteger();
+    }
+
+    // A buffer with unspecified contents; callers overwrite it, e.g. through copyFrom.
+    public StateVector acquire() {
+        StateVector vector = free.poll();
+        if (vector != null) {
+            freeCount.decrementAndGet();
+            return vector;
+        }
+        allocated.incrementAndGet();
+        return StateVectors.zero(numQubits, mode);
+    }
+
+    public StateVector acquireCopyOf(StateVector source) {
+        StateVector vector = acquire();
+        vector.copyFrom(source);
+        return vector;
+    }
+
+    public void release(StateVector vector) {
+        if (vector.getNumQubits() != numQubits) throw new IllegalArgumentException("Pool holds " + numQubits + "-qubit vectors, got: " + vector.getNumQubits());
+        if (freeCount.incrementAndGet() <= capacity) free.offer(vector);
+        else {
+            freeCount.decrementAndGet();
+            vector.release();
+        }
+    }
+
+    // Releases every pooled buffer; vectors still in use stay valid.
+    public void clear() {
+        StateVector vector;
+        while ((vector = free.poll()) != null) {
+            freeCount.decrementAndGet();
+            vector.release();
+        }
+    }
+
+    public int getNumQubits() {return numQubits;}
+
+    public int getCapacity() {return capacity;}
+
+    // Vectors this pool has allocated over its lifetime, which stays small when buffers are reused.
+    public int getAllocatedCount() {return allocated.get();}
+}
@@ -0,0 +1,114 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumState.stateVector;
+
+import model.mathModel.Complex;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public final class StateVectors {
+    private static final boolean VECTOR_API_AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    private static volatile boolean vectorizedKernels = false;
+    private static volatile StorageMode storageMode = StorageMode.DENSE;
+    private static volatile Boolean offHeapAvailable;
+    private static volatile Path mappedDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+    private static volatile int mappedChunkQubits = MappedStateVector.DEFAULT_CHUNK_QUBITS;
+    private static volatile double floatDriftTolerance = FloatStateVector.DEFAULT_DRIFT_TOLERANCE;
+    private static volatile double sparseFillThreshold = SparseStateVector.DEFAULT_FILL_THRESHOLD;
+
+    private StateVectors() {}
+
+    public static StateVector zero(int numQubits) {return zero(numQubits, getStorageMode(numQubits));}
+
+    public static StateVector zero(int numQubits, StorageMode mode) {
+        if (mode == StorageMode.OFF_HEAP && !isOffHeapAvailable()) mode = StorageMode.DENSE;
+        MemoryBudget.getDefault().checkAdmission(numQubits, mode);
+        if (mode == StorageMode.OFF_HEAP) return OffHeapStateVector.allocate(numQubits);
+        if (mode == StorageMode.MAPPED) return new MappedStateVector(numQubits, mappedChunkQubits, mappedDirectory);
+        if (mode == StorageMode.SPARSE) return new SparseStateVector(numQubits, sparseFillThreshold);
+        if (mode == StorageMode.FLOAT32) return new FloatStateVector(numQubits, floatDriftTolerance, FloatStateVector.DEFAULT_CHECK_INTERVAL);
+        return isVectorized() ? new VectorizedStateVector(numQubits) : new DenseStateVector(numQubits);
+    }
+
+    public static StateVector of(Complex[] amplitudes, int numQubits) {
+        StateVector vector = zero(numQubits);
+        vector.load(amplitudes);
+        return vector;
+    }
+
+    public static boolean isVectorApiAvailable() {return VECTOR_API_AVAILABLE;}
+
+    public static boolean isVectorized() {return vectorizedKernels && VECTOR_API_AVAILABLE;}
+
+    public static void setVectorizedKernels(boolean enabled) {vectorizedKernels = enabled;}
+
+    // The foreign memory API is a preview feature on Java 21: the off-heap class only links when
+    // the JVM runs with --enable-preview, so probe it once instead of failing on first use.
+    public static boolean isOffHeapAvailable() {
+        Boolean available = offHeapAvailable;
+        if (available == null) {
+            try {
+                Class.forName("model.quantumModel.quantumState.stateVector.OffHeapStateVector", false, StateVectors.class.getClassLoader());
+                available = true;
+            } catch (ClassNotFoundException | LinkageError e) {
+                available = false;
+            }
+            offHeapAvailable = available;
+        }
+        return available;
+    }
+
+    // Storage used by zero(int); off-heap falls back to dense when the JVM cannot link it.
+    public static StorageMode getStorageMode() {
+        StorageMode mode = storageMode;
+        return mode == StorageMode.OFF_HEAP && !isOffHeapAvailable() ? StorageMode.DENSE : mode;
+    }
+
+    // Storage for a state of this width: mapped only once the heap budget cannot hold it densely, so
+    // small states, copies and scratch vectors get no scratch file or pass buffer.
+    public static StorageMode getStorageMode(int numQubits) {
+        StorageMode mode = getStorageMode();
+        return mode == StorageMode.MAPPED && MemoryBudget.getDefault().admits(numQubits, StorageMode.DENSE) ? StorageMode.DENSE : mode;
+    }
+
+    public static void setStorageMode(StorageMode mode) {
+        if (mode == null) throw new IllegalArgumentException("Storage mode cannot be null");
+        storageMode = mode;
+    }
+
+    public static void setMappedStorage(Path directory, int chunkQubits) {
+        if (directory == null || !Files.isDirectory(directory)) throw new IllegalArgumentException("Mapped state directory does not exist: " + directory);
+        if (chunkQubits < 1 || chunkQubits > MappedStateVector.MAX_CHUNK_QUBITS) throw new IllegalArgumentException("Chunk must span between 1 and " + MappedStateVector.MAX_CHUNK_QUBITS + " qubits, got: " + chunkQubits);
+        mappedDirectory = directory;
+        mappedChunkQubits = chunkQubits;
+    }
+
+    public static double getFloatDriftTolerance() {return floatDriftTolerance;}
+
+    // How far the squared norm of a float32 state may drift before it is renormalized.
+    public static void setFloatDriftTolerance(double tolerance) {
+        if (!(tolerance > 0 && tolerance < 1)) throw new IllegalArgumentException("Drift tolerance must be between 0 and 1, got: " + tolerance);
+        floatDriftTolerance = tolerance;
+    }
+
+    public static double getSparseFillThreshold() {return sparseFillThreshold;}
+
+    // Fraction of the dimension a sparse state may fill before it turns dense.
+    public static void setSparseFillThreshold(double threshold) {
+        if (!(threshold > 0 && threshold <= 1)) throw new IllegalArgumentException("Fill threshold must be in (0, 1], got: " + threshold);
+        sparseFillThreshold = threshold;
+    }
+}
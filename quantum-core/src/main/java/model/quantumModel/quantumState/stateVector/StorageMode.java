@@ -0,0 +1,49 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumState.stateVector;
+
+/**
+ * How the amplitudes of a state vector are stored. Each mode knows how many bytes one amplitude
+ * takes, how many qubits its layout can address and which kind of memory it lives in, which is
+ * all {@link MemoryBudget} needs to decide whether a state fits before it is allocated.
+ */
+public enum StorageMode {
+    DENSE(16, DenseStateVector.MAX_QUBITS, Medium.HEAP),
+    FLOAT32(8, FloatStateVector.MAX_QUBITS, Medium.HEAP),
+    OFF_HEAP(16, StateVector.MAX_QUBITS - 4, Medium.NATIVE),
+    MAPPED(16, StateVector.MAX_QUBITS - 4, Medium.DISK),
+    // Per stored amplitude: a key and a complex value in a table kept at most half full.
+    SPARSE(2 * AmplitudeTable.BYTES_PER_SLOT, StateVector.MAX_QUBITS, Medium.HEAP);
+
+    public enum Medium {HEAP, NATIVE, DISK}
+
+    private final int bytesPerAmplitude;
+    private final int maxQubits;
+    private final Medium medium;
+
+    StorageMode(int bytesPerAmplitude, int maxQubits, Medium medium) {
+        this.bytesPerAmplitude = bytesPerAmplitude;
+        this.maxQubits = maxQubits;
+        this.medium = medium;
+    }
+
+    public int getBytesPerAmplitude() {return bytesPerAmplitude;}
+
+    public int getMaxQubits() {return maxQubits;}
+
+    public Medium getMedium() {return medium;}
+
+    public boolean isOffHeap() {return medium != Medium.HEAP;}
+}
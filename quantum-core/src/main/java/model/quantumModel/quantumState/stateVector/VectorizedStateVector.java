@@ -0,0 +1,153 @@
+// Copyright 2025 D4rk-h
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package model.quantumModel.quantumState.stateVector;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Dense state vector whose pair kernels run on {@link DoubleVector} lanes. Only load this class
+ * through {@link StateVectors}, which checks that the incubator module is present.
+ */
+final class VectorizedStateVector extends DenseStateVector {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final VectorShuffle<Double> SWAP_PARTS = VectorShuffle.fromOp(SPECIES, lane -> lane ^ 1);
+    private static final DoubleVector I_SIGNS = DoubleVector.fromArray(SPECIES, alternatingSigns(), 0);
+
+    VectorizedStateVector(int numQubits) {
+        super(numQubits);
+    }
+
+    private VectorizedStateVector(int numQubits, double[] amplitudes) {
+        super(numQubits, amplitudes);
+    }
+
+    private static double[] alternatingSigns() {
+        double[] signs = new double[LANES];
+        for (int lane = 0; lane < LANES; lane++) signs[lane] = (lane & 1) == 0 ? -1.0 : 1.0;
+        return signs;
+    }
+
+    // Multiplies every interleaved complex lane pair by i: (re, im) -> (-im, re).
+    private static DoubleVector timesI(DoubleVector v) {return v.rearrange(SWAP_PARTS).mul(I_SIGNS);}
+
+    @Override
+    public VectorizedStateVector copy() {
+        VectorizedStateVector copy = new VectorizedStateVector(numQubits, amplitudes.clone());
+        copy.setExecutor(getExecutor());
+        return copy;
+    }
+
+    @Override
+    protected void matrixRange(int target, double m00r, double m00i, double m01r, double m01i,
+                               double m10r, double m10i, double m11r, double m11i, int from, int to) {
+        final int mask = 1 << target;
+        final int stride = mask << 1;
+        if (stride < LANES) {
+            super.matrixRange(target, m00r, m00i, m01r, m01i, m10r, m10i, m11r, m11i, from, to);
+            return;
+        }
+        final double[] a = amplitudes;
+        for (int p = from; p < to; ) {
+            int run = Math.min(to, (p | (mask - 1)) + 1) - p;
+            int start = (int) insertZeroBit(p, target) << 1;
+            int length = run << 1;
+            int bound = SPECIES.loopBound(length);
+            for (int offset = 0; offset < bound; offset += LANES) {
+                int j = start + offset;
+                DoubleVector a0 = DoubleVector.fromArray(SPECIES, a, j);
+                DoubleVector a1 = DoubleVector.fromArray(SPECIES, a, j + stride);
+                DoubleVector ia0 = timesI(a0);
+                DoubleVector ia1 = timesI(a1);
+                a0.mul(m00r).add(ia0.mul(m00i)).add(a1.mul(m01r)).add(ia1.mul(m01i)).intoArray(a, j);
+                a0.mul(m10r).add(ia0.mul(m10i)).add(a1.mul(m11r)).add(ia1.mul(m11i)).intoArray(a, j + stride);
+            }
+            if (bound < length) {
+                int tailPair = p + (bound >> 1);
+                super.matrixRange(target, m00r, m00i, m01r, m01i, m10r, m10i, m11r, m11i, tailPair, p + run);
+            }
+            p += run;
+        }
+    }
+
+    @Override
+    protected void diagonalRange(int target, double d0r, double d0i, double d1r, double d1i, int from, int to) {
+        final int mask = 1 << target;
+        final int stride = mask << 1;
+        if (stride < LANES) {
+            super.diagonalRange(target, d0r, d0i, d1r, d1i, from, to);
+            return;
+        }
+        final double[] a = amplitudes;
+        boolean scaleLow = d0r != 1.0 || d0i != 0.0;
+        boolean scaleHigh = d1r != 1.0 || d1i != 0.0;
+        for (int p = from; p < to; ) {
+            int run = Math.min(to, (p | (mask - 1)) + 1) - p;
+            int start = (int) insertZeroBit(p, target) << 1;
+            if (scaleLow) multiplyRange(a, start, start + (run << 1), d0r, d0i);
+            if (scaleHigh) multiplyRange(a, start + stride, start + stride + (run << 1), d1r, d1i);
+            p += run;
+        }
+    }
+
+    private static void multiplyRange(double[] a, int from, int to, double pr, double pi) {
+        int bound = from + SPECIES.loopBound(to - from);
+        int j = from;
+        for (; j < bound; j += LANES) {
+            DoubleVector v = DoubleVector.fromArray(SPECIES, a, j);
+            v.mul(pr).add(timesI(v).mul(pi)).intoArray(a, j);
+        }
+        for (; j < to; j += 2) {
+            double re = a[j], im = a[j + 1];
+            a[j] = re * pr - im * pi;
+            a[j + 1] = re * pi + im * pr;
+        }
+    }
+
+    @Override
+    protected void notRange(int target, int controlMask, int from, int to) {
+        final int mask = 1 << target;
+        final int stride = mask << 1;
+        if (stride < LANES || (controlMask & (mask - 1)) != 0) {
+            super.notRange(target, controlMask, from, to);
+            return;
+        }
+        final double[] a = amplitudes;
+        for (int p = from; p < to; ) {
+            int run = Math.min(to, (p | (mask - 1)) + 1) - p;
+            int i0 = (int) insertZeroBit(p, target);
+            if ((i0 & controlMask) == controlMask) swapBlocks(a, i0 << 1, (i0 << 1) + stride, run << 1);
+            p += run;
+        }
+    }
+
+    private static void swapBlocks(double[] a, int first, int second, int length) {
+        int bound = SPECIES.loopBound(length);
+        int offset = 0;
+        for (; offset < bound; offset += LANES) {
+            DoubleVector low = DoubleVector.fromArray(SPECIES, a, first + offset);
+            DoubleVector high = DoubleVector.fromArray(SPECIES, a, second + offset);
+            high.intoArray(a, first + offset);
+            low.intoArray(a, second + offset);
+        }
+        for (; offset < length; offset++) {
+            double value = a[first + offset];
+            a[first + offset] = a[second + offset];
+            a[second + offset] = value;
+        }
+    }
+}